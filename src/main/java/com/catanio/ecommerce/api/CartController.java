@@ -0,0 +1,54 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.api.dto.cart.CartResponse;
+import com.catanio.ecommerce.api.dto.cart.CartTotalsResponse;
+import com.catanio.ecommerce.api.dto.cart.SetCartItemRequest;
+import com.catanio.ecommerce.application.cart.CartService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+// um carrinho por usuário; servido da memória (CartStore), nunca bloqueia em escrita no Postgres
+@RestController
+@RequestMapping("/api/v1/users/{userId}/cart")
+@RequiredArgsConstructor
+public class CartController {
+
+    private final CartService cartService;
+
+    @GetMapping
+    public ResponseEntity<CartResponse> get(@PathVariable UUID userId) {
+        return ResponseEntity.ok(CartResponse.from(cartService.get(userId)));
+    }
+
+    // resumo para o ícone do carrinho / cabeçalho do checkout, sem as linhas
+    @GetMapping("/totals")
+    public ResponseEntity<CartTotalsResponse> totals(@PathVariable UUID userId) {
+        return ResponseEntity.ok(CartTotalsResponse.from(cartService.totals(userId)));
+    }
+
+    // idempotente: define a quantidade do produto no carrinho (inclui se ainda não está)
+    @PutMapping("/items/{productId}")
+    public ResponseEntity<CartResponse> setItem(
+        @PathVariable UUID userId,
+        @PathVariable UUID productId,
+        @Valid @RequestBody SetCartItemRequest request
+    ) {
+        return ResponseEntity.ok(CartResponse.from(cartService.setItem(userId, productId, request.quantity())));
+    }
+
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<CartResponse> removeItem(@PathVariable UUID userId, @PathVariable UUID productId) {
+        return ResponseEntity.ok(CartResponse.from(cartService.removeItem(userId, productId)));
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void clear(@PathVariable UUID userId) {
+        cartService.clear(userId);
+    }
+}
@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
@@ -31,10 +32,20 @@ public class CategoryController {
         return ResponseEntity.created(uri).body(CategoryResponse.from(category));
     }
 
+    // categoria vem do cache (CategoryService); 304 sai sem serializar
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponse> findById(@PathVariable UUID id) {
+    public ResponseEntity<CategoryResponse> findById(@PathVariable UUID id, WebRequest webRequest) {
         var category = categoryService.findById(id);
-        return ResponseEntity.ok(CategoryResponse.from(category));
+        var validators = new Validators(
+            Validators.etag(category.getId(), category.getUpdatedAt()), category.getUpdatedAt()
+        );
+        if (validators.notModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(validators.etag())
+            .lastModified(validators.lastModified())
+            .body(CategoryResponse.from(category));
     }
 
     @GetMapping
@@ -43,7 +54,11 @@ public class CategoryController {
             .stream()
             .map(CategoryResponse::from)
             .toList();
-        return ResponseEntity.ok(categories);
+        // o Spring compara com If-None-Match antes de escrever o corpo
+        var versions = categories.stream().map(c -> c.id() + "@" + c.updatedAt()).toList();
+        return ResponseEntity.ok()
+            .eTag(Validators.etag(versions))
+            .body(categories);
     }
 
     @PutMapping("/{id}")
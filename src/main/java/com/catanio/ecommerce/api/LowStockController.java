@@ -0,0 +1,44 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.api.dto.PageResponse;
+import com.catanio.ecommerce.api.dto.inventory.LowStockItemResponse;
+import com.catanio.ecommerce.api.dto.inventory.LowStockThresholdRequest;
+import com.catanio.ecommerce.api.dto.inventory.LowStockThresholdResponse;
+import com.catanio.ecommerce.application.inventory.LowStockService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/inventory/low-stock")
+@RequiredArgsConstructor
+public class LowStockController {
+
+    private final LowStockService lowStockService;
+
+    // produtos ativos abaixo do limite da sua categoria, menor estoque primeiro; sem total
+    @GetMapping
+    public ResponseEntity<PageResponse<LowStockItemResponse>> findAll(
+        @RequestParam(required = false) UUID categoryId,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "50") int size
+    ) {
+        var slice = lowStockService.findLowStock(categoryId, page, Math.min(size, 200));
+        return ResponseEntity.ok(PageResponse.from(slice.map(LowStockItemResponse::from), null, null));
+    }
+
+    @PutMapping("/thresholds/{categoryId}")
+    public ResponseEntity<LowStockThresholdResponse> changeThreshold(
+        @PathVariable UUID categoryId,
+        @Valid @RequestBody LowStockThresholdRequest request
+    ) {
+        var category = lowStockService.changeThreshold(categoryId, request.threshold());
+        var override = category.getLowStockThreshold();
+        return ResponseEntity.ok(new LowStockThresholdResponse(
+            categoryId, override, override != null ? override : lowStockService.defaultThreshold()
+        ));
+    }
+}
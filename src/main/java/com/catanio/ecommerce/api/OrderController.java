@@ -0,0 +1,60 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.api.dto.PageResponse;
+import com.catanio.ecommerce.api.dto.order.OrderResponse;
+import com.catanio.ecommerce.api.dto.order.OrderSummaryResponse;
+import com.catanio.ecommerce.application.order.CheckoutService;
+import com.catanio.ecommerce.application.order.OrderCursor;
+import com.catanio.ecommerce.application.order.OrderHistoryService;
+import com.catanio.ecommerce.application.order.OrderPaymentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/users/{userId}/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+    private final CheckoutService checkoutService;
+    private final OrderHistoryService orderHistoryService;
+    private final OrderPaymentService orderPaymentService;
+
+    // checkout: o pedido nasce do carrinho atual do usuário, que fica sem as linhas compradas
+    @PostMapping
+    public ResponseEntity<OrderResponse> checkout(@PathVariable UUID userId) {
+        var order = checkoutService.checkout(userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.from(order));
+    }
+
+    // pagamento aprovado: confirma as reservas do pedido e baixa o estoque. 409 se já expiraram
+    @PostMapping("/{orderId}:pay")
+    public ResponseEntity<OrderResponse> pay(@PathVariable UUID userId, @PathVariable UUID orderId) {
+        return ResponseEntity.ok(OrderResponse.from(orderPaymentService.pay(userId, orderId)));
+    }
+
+    // pagamento recusado ou cancelamento: solta as reservas ativas do pedido
+    @PostMapping("/{orderId}:cancel")
+    public ResponseEntity<OrderResponse> cancel(@PathVariable UUID userId, @PathVariable UUID orderId) {
+        return ResponseEntity.ok(OrderResponse.from(orderPaymentService.cancel(userId, orderId)));
+    }
+
+    // histórico, mais recente primeiro, só por cursor (sem page/total): ?after=<nextCursor da página anterior>
+    @GetMapping
+    public ResponseEntity<PageResponse<OrderSummaryResponse>> history(
+        @PathVariable UUID userId,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        var cursor = after != null ? OrderCursor.decode(after) : null;
+        var slice = orderHistoryService.findHistory(userId, cursor, Math.clamp(size, 1, 100));
+        var nextCursor = slice.hasNext() ? OrderCursor.after(slice.getContent().getLast()).encode() : null;
+        var page = slice.map(OrderSummaryResponse::from);
+        return ResponseEntity.ok(cursor == null
+            ? PageResponse.from(page, null, nextCursor)
+            : PageResponse.fromCursor(page, nextCursor));
+    }
+}
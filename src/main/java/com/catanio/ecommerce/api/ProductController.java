@@ -3,28 +3,55 @@ package com.catanio.ecommerce.api;
 import com.catanio.ecommerce.api.dto.PageResponse;
 import com.catanio.ecommerce.api.dto.product.AdjustStockRequest;
 import com.catanio.ecommerce.api.dto.product.CreateProductRequest;
+import com.catanio.ecommerce.api.dto.product.ProductFacetsResponse;
+import com.catanio.ecommerce.api.dto.product.ProductListingResponse;
 import com.catanio.ecommerce.api.dto.product.ProductResponse;
+import com.catanio.ecommerce.api.dto.product.ProductSummaryResponse;
 import com.catanio.ecommerce.api.dto.product.UpdateProductRequest;
+import com.catanio.ecommerce.application.product.ProductCursor;
+import com.catanio.ecommerce.application.product.ProductExportFormat;
+import com.catanio.ecommerce.application.product.ProductExportProperties;
+import com.catanio.ecommerce.application.product.ProductExportService;
 import com.catanio.ecommerce.application.product.ProductFilter;
 import com.catanio.ecommerce.application.product.ProductService;
 import com.catanio.ecommerce.domain.shared.Money;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/products")
 @RequiredArgsConstructor
 public class ProductController {
 
+    // versão de cada item: na view, updated_at já é o maior entre produto e categoria
+    private static final Function<ProductSummaryResponse, String> SUMMARY_VERSION =
+        p -> p.id() + "@" + p.updatedAt();
+    private static final Function<ProductResponse, String> DETAIL_VERSION =
+        p -> p.id() + "@" + p.updatedAt() + "@" + p.category().updatedAt();
+
     private final ProductService productService;
+    private final ProductDetailView productDetailView;
+    private final ProductExportService productExportService;
+    private final ProductExportProperties exportProperties;
 
     @PostMapping
     public ResponseEntity<ProductResponse> create(
@@ -42,14 +69,24 @@ public class ProductController {
         return ResponseEntity.created(uri).body(ProductResponse.from(product));
     }
 
+    // corpo já serializado, vindo do cache quando possível (ProductDetailView).
+    // If-None-Match/If-Modified-Since batendo → 304 sem carregar o produto nem serializar
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> findById(@PathVariable UUID id) {
-        var product = productService.findById(id);
-        return ResponseEntity.ok(ProductResponse.from(product));
+    public ResponseEntity<byte[]> findById(@PathVariable UUID id, WebRequest webRequest) {
+        if (productDetailView.validators(id).notModified(webRequest)) {
+            return null;
+        }
+        var detail = productDetailView.render(id);
+        return ResponseEntity.ok()
+            .eTag(detail.validators().etag())
+            .lastModified(detail.validators().lastModified())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(detail.json());
     }
 
+    // listagem servida pelo read model (catalog_view): itens resumidos, sem description
     @GetMapping
-    public ResponseEntity<PageResponse<ProductResponse>> findAll(
+    public ResponseEntity<ProductListingResponse> findAll(
         @RequestParam(required = false) UUID categoryId,
         @RequestParam(required = false) String name,
         @RequestParam(required = false) BigDecimal minPrice,
@@ -57,19 +94,93 @@ public class ProductController {
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "20") int size,
         @RequestParam(defaultValue = "createdAt") String sortBy,
-        @RequestParam(defaultValue = "desc") String sortDir
+        @RequestParam(defaultValue = "desc") String sortDir,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "false") boolean includeTotal,
+        @RequestParam(defaultValue = "false") boolean facets,
+        @RequestParam(required = false) List<BigDecimal> priceBuckets
     ) {
-        var sort = sortDir.equalsIgnoreCase("asc")
-            ? Sort.by(sortBy).ascending()
-            : Sort.by(sortBy).descending();
-
-        var pageable = PageRequest.of(page, Math.min(size, 100), sort);
         var filter = new ProductFilter(categoryId, name, minPrice, maxPrice);
+        int pageSize = Math.min(size, 100);
+        // facets valem para o filtro inteiro, não para a página — mesma resposta com ou sem cursor
+        var facetCounts = facets
+            ? ProductFacetsResponse.from(productService.facets(filter, priceBuckets))
+            : null;
+
+        // keyset: a ordenação vem do próprio cursor, page/sortBy/sortDir são ignorados
+        if (after != null) {
+            var cursor = ProductCursor.decode(after);
+            var slice = productService.findAllAfter(filter, cursor, pageSize);
+            var nextCursor = slice.hasNext() ? cursor.next(slice.getContent().getLast()).encode() : null;
+            return listing(PageResponse.fromCursor(slice.map(ProductSummaryResponse::from), nextCursor), facetCounts);
+        }
+
+        var direction = sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        // id como desempate: ordem estável entre páginas e cursor válido a partir de qualquer página
+        var sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+
+        var pageable = PageRequest.of(page, pageSize, sort);
+        var entries = productService.findAll(filter, pageable);
+
+        String nextCursor = null;
+        if (entries.hasNext() && ProductCursor.supports(sortBy)) {
+            nextCursor = ProductCursor.after(entries.getContent().getLast(), sortBy, direction).encode();
+        }
+
+        // sem COUNT(*) por padrão — o total só é calculado quando pedido
+        Long total = includeTotal ? productService.countActive(filter) : null;
+
+        return listing(PageResponse.from(entries.map(ProductSummaryResponse::from), total, nextCursor), facetCounts);
+    }
 
-        var productPage = productService.findAll(filter, pageable)
-            .map(ProductResponse::from);
+    // busca por texto livre — ordenada por relevância, sem total (mesmo contrato de slice da listagem).
+    // Lê de products: o ranking usa search_vector (nome + description), que o read model não tem
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<ProductResponse>> search(
+        @RequestParam("q") String query,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        var results = productService.search(query, page, Math.min(size, 100));
+        var body = PageResponse.from(results.map(ProductResponse::from), null, null);
+        return ResponseEntity.ok().eTag(etagOf(body, DETAIL_VERSION)).body(body);
+    }
+
+    // catálogo ativo inteiro para geradores de feed, escrito direto do cursor na resposta.
+    // gzip quando o cliente aceita — comprime no mesmo fluxo, sem buffer intermediário.
+    // Assíncrono com timeout próprio (catalog.export.timeout): o default curto do container
+    // continua valendo para o resto da API
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(
+        @RequestParam(defaultValue = "ndjson") String format,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        HttpServletResponse response
+    ) {
+        var exportFormat = ProductExportFormat.parse(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        response.setContentType(exportFormat.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("products." + exportFormat.extension())
+            .build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
 
-        return ResponseEntity.ok(PageResponse.from(productPage));
+        Callable<Void> body = () -> {
+            var output = response.getOutputStream();
+            if (gzip) {
+                try (var compressed = new GZIPOutputStream(output, 64 * 1024)) {
+                    productExportService.export(exportFormat, compressed);
+                }
+            } else {
+                productExportService.export(exportFormat, output);
+                output.flush();
+            }
+            return null;
+        };
+        return new WebAsyncTask<>(exportProperties.timeout().toMillis(), body);
     }
 
     @PutMapping("/{id}")
@@ -102,4 +213,20 @@ public class ProductController {
         productService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    // facets entram no ETag: contagens mudam mesmo quando os itens da página não mudam
+    private static ResponseEntity<ProductListingResponse> listing(
+        PageResponse<ProductSummaryResponse> page, ProductFacetsResponse facets
+    ) {
+        return ResponseEntity.ok()
+            .eTag(etagOf(page, SUMMARY_VERSION, facets))
+            .body(ProductListingResponse.of(page, facets));
+    }
+
+    // ETag da página a partir das versões dos itens + metadados de paginação.
+    // O Spring compara com If-None-Match antes de escrever o corpo: 304 sai sem Jackson
+    private static <T> String etagOf(PageResponse<T> page, Function<T, String> version, Object... extra) {
+        var versions = page.data().stream().map(version).toList();
+        return Validators.etag(versions, page.pagination(), Arrays.asList(extra));
+    }
 }
@@ -0,0 +1,21 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.config.Weighted;
+import com.catanio.ecommerce.infrastructure.persistence.ProductVersion;
+
+import java.util.UUID;
+
+// Valor do cache productDetails: JSON pronto + validadores da versão que o gerou
+public record ProductDetail(Validators validators, byte[] json) implements Weighted {
+
+    // peso no cache: o JSON domina, validadores são poucos bytes fixos
+    @Override
+    public int weight() {
+        return json.length;
+    }
+
+    static Validators validators(UUID id, ProductVersion version) {
+        var etag = Validators.etag(id, version.productUpdatedAt(), version.categoryUpdatedAt());
+        return new Validators(etag, version.lastModified());
+    }
+}
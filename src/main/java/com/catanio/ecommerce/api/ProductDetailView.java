@@ -0,0 +1,47 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.api.dto.product.ProductResponse;
+import com.catanio.ecommerce.application.product.ProductService;
+import com.catanio.ecommerce.config.CacheConfig;
+import com.catanio.ecommerce.infrastructure.persistence.ProductVersion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// JSON do GET /products/{id}, cacheado já serializado junto com ETag/Last-Modified.
+// Invalidação: ProductService.update/adjustStock/delete e CategoryService.update (@CacheEvict).
+// Produto inexistente lança ResourceNotFoundException e não entra no cache.
+@Component
+@RequiredArgsConstructor
+public class ProductDetailView {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+
+    // validadores sem carregar o produto: do cache quando presente,
+    // senão uma query que lê só os dois updatedAt
+    public Validators validators(UUID id) {
+        var cached = cacheManager.getCache(CacheConfig.PRODUCT_DETAILS).get(id, ProductDetail.class);
+        if (cached != null) {
+            return cached.validators();
+        }
+        return ProductDetail.validators(id, productService.findVersion(id));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_DETAILS, key = "#id")
+    public ProductDetail render(UUID id) {
+        var response = ProductResponse.from(productService.findById(id));
+        var version = new ProductVersion(response.updatedAt(), response.category().updatedAt());
+        try {
+            return new ProductDetail(ProductDetail.validators(id, version), objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize product " + id, e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.api.dto.product.CreateProductRequest;
+import com.catanio.ecommerce.api.dto.product.ProductImportResponse;
+import com.catanio.ecommerce.application.product.ProductCsvReader;
+import com.catanio.ecommerce.application.product.ProductImportProperties;
+import com.catanio.ecommerce.application.product.ProductImportRow;
+import com.catanio.ecommerce.application.product.ProductImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+
+// Import em lote de produtos. Linhas inválidas não derrubam o request: voltam em errors
+// com a posição (1 = primeiro produto) e o restante é criado.
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class ProductImportController {
+
+    static final int MAX_BULK_ROWS = 10_000;
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ProductImporter productImporter;
+    private final ObjectMapper objectMapper;
+    private final ProductImportProperties importProperties;
+
+    // até MAX_BULK_ROWS produtos num array JSON; acima disso, POST /products:import com CSV
+    @PostMapping("/products:bulk")
+    public ResponseEntity<ProductImportResponse> bulk(@RequestBody List<CreateProductRequest> products) {
+        if (products.size() > MAX_BULK_ROWS) {
+            throw new IllegalArgumentException(
+                "At most %d products per bulk request; use /products:import for larger files".formatted(MAX_BULK_ROWS)
+            );
+        }
+        var rows = IntStream.range(0, products.size())
+            .mapToObj(i -> toRow(i + 1, products.get(i)))
+            .iterator();
+
+        var summary = productImporter.importRows(rows, progress -> {});
+        return ResponseEntity.ok(ProductImportResponse.from(summary, null));
+    }
+
+    // CSV de qualquer tamanho, lido do corpo conforme chega. A resposta é NDJSON:
+    // uma linha de progresso por lote (com os erros do lote) e uma linha final com done=true.
+    // Assíncrono com timeout próprio (catalog.import.timeout), como o export
+    @PostMapping(value = "/products:import", consumes = "text/csv")
+    public WebAsyncTask<Void> importCsv(InputStream body, HttpServletResponse response) {
+        // cabeçalho lido aqui, antes do streaming: cabeçalho inválido ainda vira 400
+        var rows = new ProductCsvReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        response.setContentType(NDJSON.toString());
+
+        Callable<Void> stream = () -> {
+            var output = response.getOutputStream();
+            var summary = productImporter.importRows(rows, progress ->
+                writeLine(output, ProductImportResponse.from(progress, false))
+            );
+            writeLine(output, new ProductImportResponse(
+                summary.processed(), summary.created(), summary.failed(), null, true
+            ));
+            return null;
+        };
+        return new WebAsyncTask<>(importProperties.timeout().toMillis(), stream);
+    }
+
+    private void writeLine(OutputStream output, ProductImportResponse line) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(line));
+            output.write('\n');
+            // progresso visível para o cliente a cada lote
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ProductImportRow toRow(long row, CreateProductRequest request) {
+        return new ProductImportRow(
+            row,
+            request.name(),
+            request.description(),
+            request.price(),
+            request.stockQuantity(),
+            request.categoryId()
+        );
+    }
+}
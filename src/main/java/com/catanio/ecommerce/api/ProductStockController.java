@@ -0,0 +1,39 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.api.dto.PageResponse;
+import com.catanio.ecommerce.api.dto.product.StockLevelResponse;
+import com.catanio.ecommerce.api.dto.product.StockMovementResponse;
+import com.catanio.ecommerce.application.inventory.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Auditoria de estoque: leituras do ledger (stock_movements + stock_snapshots), não de products.
+// O estoque atual continua em GET /products/{id}; aqui o ledger pode estar até um flush atrás
+@RestController
+@RequestMapping("/api/v1/products/{id}/stock")
+@RequiredArgsConstructor
+public class ProductStockController {
+
+    private final StockLedgerService stockLedgerService;
+
+    @GetMapping
+    public ResponseEntity<StockLevelResponse> stockAt(@PathVariable UUID id, @RequestParam Instant at) {
+        return ResponseEntity.ok(new StockLevelResponse(id, at, stockLedgerService.stockAt(id, at)));
+    }
+
+    // mais recente primeiro; until fixa o fim do histórico para a paginação não andar com movimentos novos
+    @GetMapping("/movements")
+    public ResponseEntity<PageResponse<StockMovementResponse>> movements(
+        @PathVariable UUID id,
+        @RequestParam(required = false) Instant until,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "50") int size
+    ) {
+        var slice = stockLedgerService.history(id, until != null ? until : Instant.now(), page, Math.min(size, 200));
+        return ResponseEntity.ok(PageResponse.from(slice.map(StockMovementResponse::from), null, null));
+    }
+}
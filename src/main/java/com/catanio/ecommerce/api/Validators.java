@@ -0,0 +1,24 @@
+package com.catanio.ecommerce.api;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Validadores HTTP (ETag forte + Last-Modified) derivados da versão do recurso (id + updatedAt),
+// nunca do corpo serializado: o 304 sai sem passar pelo Jackson.
+public record Validators(String etag, Instant lastModified) {
+
+    static String etag(Object... parts) {
+        var version = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // true → status 304 e headers já escritos na resposta; o handler não deve montar corpo
+    boolean notModified(WebRequest request) {
+        return request.checkNotModified(etag, lastModified.toEpochMilli());
+    }
+}
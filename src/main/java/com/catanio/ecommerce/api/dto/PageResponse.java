@@ -1,6 +1,7 @@
 package com.catanio.ecommerce.api.dto;
 
-import org.springframework.data.domain.Page;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -8,25 +9,50 @@ public record PageResponse<T>(
     List<T> data,
     PaginationMeta pagination
 ) {
+    // totalElements/totalPages só aparecem quando o total foi pedido (?includeTotal=true);
+    // page some em páginas por cursor (não há offset)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public record PaginationMeta(
-        int page,
+        Integer page,
         int size,
-        long totalElements,
-        int totalPages,
+        Long totalElements,
+        Integer totalPages,
         boolean first,
-        boolean last
+        boolean last,
+        String nextCursor
     ) {}
 
-    public static <T> PageResponse<T> from(Page<T> page) {
+    public static <T> PageResponse<T> from(Slice<T> slice, Long totalElements, String nextCursor) {
+        Integer totalPages = totalElements == null || slice.getSize() == 0
+            ? null
+            : (int) Math.ceil((double) totalElements / slice.getSize());
+
+        return new PageResponse<>(
+            slice.getContent(),
+            new PaginationMeta(
+                slice.getNumber(),
+                slice.getSize(),
+                totalElements,
+                totalPages,
+                slice.isFirst(),
+                !slice.hasNext(),
+                nextCursor
+            )
+        );
+    }
+
+    // página obtida via cursor: nunca é a primeira, e "last" vem do hasNext do Slice
+    public static <T> PageResponse<T> fromCursor(Slice<T> slice, String nextCursor) {
         return new PageResponse<>(
-            page.getContent(),
+            slice.getContent(),
             new PaginationMeta(
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isFirst(),
-                page.isLast()
+                null,
+                slice.getSize(),
+                null,
+                null,
+                false,
+                !slice.hasNext(),
+                nextCursor
             )
         );
     }
@@ -0,0 +1,43 @@
+package com.catanio.ecommerce.api.dto.cart;
+
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartSnapshot;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record CartResponse(
+    UUID userId,
+    List<Item> items,
+    int quantity,
+    BigDecimal total,
+    Instant updatedAt,
+    Instant expiresAt
+) {
+    public record Item(
+        UUID productId,
+        String productName,
+        BigDecimal unitPrice,
+        int quantity,
+        BigDecimal subtotal
+    ) {}
+
+    public static CartResponse from(CartSnapshot cart) {
+        var items = cart.items().stream()
+            .map(item -> new Item(
+                item.productId(),
+                item.productName(),
+                item.unitPrice(),
+                item.quantity(),
+                Money.of(item.unitPrice()).multiply(item.quantity()).amount()
+            ))
+            .toList();
+        // total corrente do carrinho, não a soma dos subtotais acima
+        var totals = cart.totals();
+        return new CartResponse(
+            cart.userId(), items, totals.quantity(), totals.total().amount(), cart.updatedAt(), cart.expiresAt()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.catanio.ecommerce.api.dto.cart;
+
+import com.catanio.ecommerce.domain.order.CartTotals;
+
+import java.math.BigDecimal;
+
+public record CartTotalsResponse(
+    int lines,
+    int quantity,
+    BigDecimal total
+) {
+    public static CartTotalsResponse from(CartTotals totals) {
+        return new CartTotalsResponse(totals.lines(), totals.quantity(), totals.total().amount());
+    }
+}
@@ -0,0 +1,13 @@
+package com.catanio.ecommerce.api.dto.cart;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record SetCartItemRequest(
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be between 1 and 99")
+    @Max(value = 99, message = "Quantity must be between 1 and 99")
+    Integer quantity
+) {}
@@ -0,0 +1,27 @@
+package com.catanio.ecommerce.api.dto.inventory;
+
+import com.catanio.ecommerce.infrastructure.persistence.LowStockRow;
+
+import java.util.UUID;
+
+public record LowStockItemResponse(
+    UUID productId,
+    String name,
+    UUID categoryId,
+    String categoryName,
+    int stockQuantity,
+    int reservedQuantity,
+    int threshold
+) {
+    public static LowStockItemResponse from(LowStockRow row) {
+        return new LowStockItemResponse(
+            row.productId(),
+            row.name(),
+            row.categoryId(),
+            row.categoryName(),
+            row.stockQuantity(),
+            row.reservedQuantity(),
+            row.threshold()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.catanio.ecommerce.api.dto.inventory;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+// threshold null remove o override: a categoria volta para o limite global
+public record LowStockThresholdRequest(
+
+    @Min(value = 0, message = "Threshold cannot be negative")
+    @Max(value = 100, message = "Threshold must not exceed 100")
+    Integer threshold
+) {}
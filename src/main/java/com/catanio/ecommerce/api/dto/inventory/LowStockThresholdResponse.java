@@ -0,0 +1,10 @@
+package com.catanio.ecommerce.api.dto.inventory;
+
+import java.util.UUID;
+
+// override: o que está gravado na categoria (null = sem override); effective: o limite em uso
+public record LowStockThresholdResponse(
+    UUID categoryId,
+    Integer override,
+    int effective
+) {}
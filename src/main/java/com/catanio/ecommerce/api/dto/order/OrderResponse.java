@@ -0,0 +1,41 @@
+package com.catanio.ecommerce.api.dto.order;
+
+import com.catanio.ecommerce.domain.order.Order;
+import com.catanio.ecommerce.domain.order.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record OrderResponse(
+    UUID id,
+    UUID userId,
+    OrderStatus status,
+    List<Item> items,
+    BigDecimal total,
+    Instant createdAt
+) {
+    public record Item(
+        UUID productId,
+        String productName,
+        BigDecimal unitPrice,
+        int quantity,
+        BigDecimal subtotal
+    ) {}
+
+    public static OrderResponse from(Order order) {
+        var items = order.getItems().stream()
+            .map(item -> new Item(
+                item.getProductId(),
+                item.getProductName(),
+                item.getUnitPrice(),
+                item.getQuantity(),
+                item.subtotal().amount()
+            ))
+            .toList();
+        return new OrderResponse(
+            order.getId(), order.getUserId(), order.getStatus(), items, order.calculateTotal().amount(), order.getCreatedAt()
+        );
+    }
+}
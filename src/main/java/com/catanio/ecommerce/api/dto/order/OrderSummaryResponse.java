@@ -0,0 +1,21 @@
+package com.catanio.ecommerce.api.dto.order;
+
+import com.catanio.ecommerce.domain.order.OrderStatus;
+import com.catanio.ecommerce.infrastructure.persistence.OrderSummary;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+// item do histórico: sem linhas, itemCount em unidades
+public record OrderSummaryResponse(
+    UUID id,
+    OrderStatus status,
+    BigDecimal total,
+    int itemCount,
+    Instant createdAt
+) {
+    public static OrderSummaryResponse from(OrderSummary order) {
+        return new OrderSummaryResponse(order.id(), order.status(), order.totalAmount(), order.itemCount(), order.createdAt());
+    }
+}
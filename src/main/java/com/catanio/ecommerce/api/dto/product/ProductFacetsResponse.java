@@ -0,0 +1,30 @@
+package com.catanio.ecommerce.api.dto.product;
+
+import com.catanio.ecommerce.application.product.ProductFacets;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record ProductFacetsResponse(
+    List<CategoryFacet> categories,
+    List<PriceBucketFacet> priceBuckets
+) {
+    public record CategoryFacet(UUID id, String name, long count) {}
+
+    // faixas abertas nas pontas: sem "from" na primeira, sem "to" na última
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record PriceBucketFacet(BigDecimal from, BigDecimal to, long count) {}
+
+    public static ProductFacetsResponse from(ProductFacets facets) {
+        return new ProductFacetsResponse(
+            facets.categories().stream()
+                .map(c -> new CategoryFacet(c.categoryId(), c.categoryName(), c.count()))
+                .toList(),
+            facets.priceBuckets().stream()
+                .map(b -> new PriceBucketFacet(b.from(), b.to(), b.count()))
+                .toList()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.catanio.ecommerce.api.dto.product;
+
+import com.catanio.ecommerce.application.product.ProductImportSummary;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Resultado (ou progresso) de import em lote. done só aparece no import por arquivo:
+// false nas linhas de progresso, true na linha final
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductImportResponse(
+    long processed,
+    long created,
+    long failed,
+    List<RowError> errors,
+    Boolean done
+) {
+    public record RowError(long row, String message) {}
+
+    public static ProductImportResponse from(ProductImportSummary summary, Boolean done) {
+        return new ProductImportResponse(
+            summary.processed(),
+            summary.created(),
+            summary.failed(),
+            summary.errors().stream().map(e -> new RowError(e.row(), e.message())).toList(),
+            done
+        );
+    }
+}
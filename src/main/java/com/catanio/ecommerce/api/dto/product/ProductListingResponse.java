@@ -0,0 +1,17 @@
+package com.catanio.ecommerce.api.dto.product;
+
+import com.catanio.ecommerce.api.dto.PageResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Página da listagem de produtos: mesmo formato de PageResponse + facets quando pedidos (?facets=true)
+public record ProductListingResponse(
+    List<ProductSummaryResponse> data,
+    PageResponse.PaginationMeta pagination,
+    @JsonInclude(JsonInclude.Include.NON_NULL) ProductFacetsResponse facets
+) {
+    public static ProductListingResponse of(PageResponse<ProductSummaryResponse> page, ProductFacetsResponse facets) {
+        return new ProductListingResponse(page.data(), page.pagination(), facets);
+    }
+}
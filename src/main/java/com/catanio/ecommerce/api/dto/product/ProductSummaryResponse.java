@@ -0,0 +1,35 @@
+package com.catanio.ecommerce.api.dto.product;
+
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+// Item da listagem do catálogo — só o que catalog_view guarda (sem description).
+// O detalhe completo continua em GET /products/{id}
+public record ProductSummaryResponse(
+    UUID id,
+    String name,
+    BigDecimal price,
+    Integer stockQuantity,
+    boolean available,
+    UUID categoryId,
+    String categoryName,
+    Instant createdAt,
+    Instant updatedAt
+) {
+    public static ProductSummaryResponse from(CatalogEntry entry) {
+        return new ProductSummaryResponse(
+            entry.getId(),
+            entry.getName(),
+            entry.getPrice(),
+            entry.getStockQuantity(),
+            entry.isAvailable(),
+            entry.getCategoryId(),
+            entry.getCategoryName(),
+            entry.getCreatedAt(),
+            entry.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.catanio.ecommerce.api.dto.product;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// estoque físico reconstruído do ledger em um instante
+public record StockLevelResponse(
+    UUID productId,
+    Instant at,
+    int stockQuantity
+) {}
@@ -0,0 +1,25 @@
+package com.catanio.ecommerce.api.dto.product;
+
+import com.catanio.ecommerce.domain.inventory.StockMovement;
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record StockMovementResponse(
+    Long id,
+    int delta,
+    StockMovementReason reason,
+    UUID reference,
+    Instant occurredAt
+) {
+    public static StockMovementResponse from(StockMovement movement) {
+        return new StockMovementResponse(
+            movement.getId(),
+            movement.getDelta(),
+            movement.getReason(),
+            movement.getReference(),
+            movement.getOccurredAt()
+        );
+    }
+}
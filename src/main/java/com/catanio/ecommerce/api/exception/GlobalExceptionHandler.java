@@ -2,6 +2,7 @@ package com.catanio.ecommerce.api.exception;
 
 import com.catanio.ecommerce.domain.exception.BusinessException;
 import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.exception.StockWriteUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -77,6 +78,17 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    // 503 — ajuste de estoque não concluído agora; detail diz se foi aplicado ou se é desconhecido
+    @ExceptionHandler(StockWriteUnavailableException.class)
+    public ProblemDetail handleStockWriteUnavailable(StockWriteUnavailableException ex) {
+        log.warn("Stock write unavailable: {}", ex.getMessage());
+        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        problem.setType(URI.create("/errors/stock-write-unavailable"));
+        problem.setTitle("Stock Write Unavailable");
+        problem.setProperty("timestamp", Instant.now());
+        return problem;
+    }
+
     // 500 — fallback para erros inesperados
     @ExceptionHandler(Exception.class)
     public ProblemDetail handleUnexpected(Exception ex) {
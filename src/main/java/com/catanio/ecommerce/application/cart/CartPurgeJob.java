@@ -0,0 +1,72 @@
+package com.catanio.ecommerce.application.cart;
+
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Apaga carrinhos expirados (e seus itens) em lotes, ver CartPurgeOperations.
+// Só uma réplica limpa por vez (advisory lock); as demais pulam a execução.
+// cart.purge.lag.seconds: idade do carrinho expirado mais antigo ainda no banco —
+// crescendo sem parar, a limpeza não acompanha a expiração
+@Component
+public class CartPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CartPurgeJob.class);
+
+    private final CartRepository cartRepository;
+    private final CartPurgeProperties properties;
+    private final Counter purgedCarts;
+    private final Counter purgedItems;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public CartPurgeJob(CartRepository cartRepository, CartPurgeProperties properties, MeterRegistry meterRegistry) {
+        this.cartRepository = cartRepository;
+        this.properties = properties;
+        this.purgedCarts = Counter.builder("cart.purge.carts")
+                .description("Expired carts deleted")
+                .register(meterRegistry);
+        this.purgedItems = Counter.builder("cart.purge.items")
+                .description("Items of expired carts deleted")
+                .register(meterRegistry);
+        Gauge.builder("cart.purge.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest expired cart still stored")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${cart.purge.interval:10m}",
+            fixedDelayString = "${cart.purge.interval:10m}"
+    )
+    public void purge() {
+        var started = Instant.now();
+        var result = cartRepository.purgeExpired(started, properties.batchSize(), properties.pause());
+        if (result.acquired()) {
+            purgedCarts.increment(result.carts());
+            purgedItems.increment(result.items());
+            log.info("Expired carts purged: carts={}, items={}, took={}ms",
+                    result.carts(), result.items(), Duration.between(started, Instant.now()).toMillis());
+        } else {
+            log.debug("Cart purge skipped, another instance holds the lock");
+        }
+        updateLag();
+    }
+
+    private void updateLag() {
+        var now = Instant.now();
+        long lag = cartRepository.oldestExpiration()
+                .filter(now::isAfter)
+                .map(oldest -> Duration.between(oldest, now).toSeconds())
+                .orElse(0L);
+        lagSeconds.set(lag);
+    }
+}
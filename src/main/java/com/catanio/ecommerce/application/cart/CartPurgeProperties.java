@@ -0,0 +1,16 @@
+package com.catanio.ecommerce.application.cart;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// interval: entre o fim de uma limpeza e o início da próxima.
+// batchSize/pause: carrinhos apagados por transação e folga entre lotes — transações curtas,
+// sem segurar locks nem gerar um pico de WAL/replicação numa limpeza atrasada
+@ConfigurationProperties(prefix = "cart.purge")
+public record CartPurgeProperties(
+        @DefaultValue("10m") Duration interval,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("100ms") Duration pause
+) {}
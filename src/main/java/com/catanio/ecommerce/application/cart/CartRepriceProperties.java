@@ -0,0 +1,15 @@
+package com.catanio.ecommerce.application.cart;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// interval: atraso máximo entre a mudança de preço e o repreço dos carrinhos;
+// mudanças do mesmo produto dentro dele viram uma só (vale o último preço).
+// batchSize: produtos por UPDATE em cart_items
+@ConfigurationProperties(prefix = "cart.reprice")
+public record CartRepriceProperties(
+        @DefaultValue("1s") Duration interval,
+        @DefaultValue("500") int batchSize
+) {}
@@ -0,0 +1,120 @@
+package com.catanio.ecommerce.application.cart;
+
+import com.catanio.ecommerce.domain.catalog.events.ProductPriceChangedEvent;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Propaga mudanças de preço do catálogo para os carrinhos abertos, fora da requisição que alterou o produto.
+// Mudanças acumulam por produto (vale o último preço) e são aplicadas em lotes de batchSize produtos:
+//   1. Postgres: um UPDATE set-based em cart_items para o lote (idx_cart_items_product_id)
+//   2. memória: carrinhos residentes com os produtos, achados pelo índice invertido do CartStore
+// Nessa ordem: carrinho carregado depois do passo 1 já vem com o preço novo, e o residente antes
+// dele é corrigido no passo 2 e regravado pelo write-behind — o flush de um estado antigo nunca fica por último.
+// O preço da linha continua sendo o do momento da inclusão até o lote rodar (no máximo interval)
+@Component
+public class CartRepricer {
+
+    private static final Logger log = LoggerFactory.getLogger(CartRepricer.class);
+
+    private final CartStore cartStore;
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CartRepriceProperties properties;
+    private final ConcurrentHashMap<UUID, Money> pending = new ConcurrentHashMap<>();
+    private final Counter repricedLines;
+    private final Counter repricedResident;
+
+    public CartRepricer(CartStore cartStore,
+                        CartRepository cartRepository,
+                        TransactionTemplate transactionTemplate,
+                        CartRepriceProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.cartStore = cartStore;
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.repricedLines = Counter.builder("cart.reprice.lines")
+                .description("Stored cart lines updated to a new product price")
+                .register(meterRegistry);
+        this.repricedResident = Counter.builder("cart.reprice.resident")
+                .description("In-memory carts updated to a new product price")
+                .register(meterRegistry);
+    }
+
+    // AFTER_COMMIT: preço de uma alteração desfeita não chega aos carrinhos
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ProductPriceChangedEvent event) {
+        pending.put(event.productId(), event.price());
+    }
+
+    @Scheduled(
+            initialDelayString = "${cart.reprice.interval:1s}",
+            fixedDelayString = "${cart.reprice.interval:1s}"
+    )
+    public void repricePeriodically() {
+        repriceSafely();
+    }
+
+    synchronized void reprice() {
+        while (!pending.isEmpty()) {
+            var batch = new HashMap<UUID, Money>();
+            for (var productId : pending.keySet()) {
+                if (batch.size() >= properties.batchSize()) {
+                    break;
+                }
+                // remove atômico: um preço que chegar depois fica para o próximo lote
+                var price = pending.remove(productId);
+                if (price != null) {
+                    batch.put(productId, price);
+                }
+            }
+            apply(batch);
+        }
+    }
+
+    // aplica o que ficou pendente; um ciclo agendado ainda rodando termina antes (reprice é synchronized)
+    @PreDestroy
+    public void shutdown() {
+        repriceSafely();
+    }
+
+    private void apply(Map<UUID, Money> batch) {
+        var prices = new HashMap<UUID, BigDecimal>(batch.size());
+        batch.forEach((productId, price) -> prices.put(productId, price.amount()));
+        int lines;
+        try {
+            lines = transactionTemplate.execute(status -> cartRepository.repriceItems(prices));
+        } catch (RuntimeException e) {
+            // devolve o lote sem sobrescrever um preço mais novo que já chegou
+            batch.forEach(pending::putIfAbsent);
+            throw e;
+        }
+        int resident = cartStore.reprice(batch);
+        repricedLines.increment(lines);
+        repricedResident.increment(resident);
+        log.debug("Carts repriced: products={}, storedLines={}, residentCarts={}", batch.size(), lines, resident);
+    }
+
+    private void repriceSafely() {
+        try {
+            reprice();
+        } catch (RuntimeException e) {
+            log.warn("Cart repricing failed, retrying next cycle", e);
+        }
+    }
+}
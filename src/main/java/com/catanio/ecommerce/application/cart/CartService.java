@@ -0,0 +1,53 @@
+package com.catanio.ecommerce.application.cart;
+
+import com.catanio.ecommerce.application.product.ProductService;
+import com.catanio.ecommerce.domain.order.Cart;
+import com.catanio.ecommerce.domain.order.CartTotals;
+import com.catanio.ecommerce.infrastructure.persistence.CartSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+// Carrinho do usuário (CartStore em memória, gravado por write-behind).
+// Cada operação devolve a cópia do estado resultante, tirada sob o mesmo lock da mudança
+@Service
+@RequiredArgsConstructor
+public class CartService {
+
+    private final CartStore cartStore;
+    private final ProductService productService;
+
+    public CartSnapshot get(UUID userId) {
+        return cartStore.read(userId, CartSnapshot::of);
+    }
+
+    // só os totais correntes: nem percorre nem copia as linhas
+    public CartTotals totals(UUID userId) {
+        return cartStore.read(userId, Cart::totals);
+    }
+
+    // nome e preço vêm do produto ativo no momento da inclusão; 404 se não existe.
+    // Produto já no carrinho: só a quantidade muda
+    public CartSnapshot setItem(UUID userId, UUID productId, int quantity) {
+        var product = productService.findById(productId);
+        return cartStore.update(userId, cart -> {
+            cart.addOrUpdateItem(productId, product.getName(), product.getPrice(), quantity);
+            return CartSnapshot.of(cart);
+        });
+    }
+
+    public CartSnapshot removeItem(UUID userId, UUID productId) {
+        return cartStore.update(userId, cart -> {
+            cart.removeItem(productId);
+            return CartSnapshot.of(cart);
+        });
+    }
+
+    public void clear(UUID userId) {
+        cartStore.update(userId, cart -> {
+            cart.clear();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,301 @@
+package com.catanio.ecommerce.application.cart;
+
+import com.catanio.ecommerce.domain.order.Cart;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CartSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Working set dos carrinhos em memória, fonte da verdade enquanto o carrinho está residente.
+// Particionado em shards pelo userId: operações do mesmo usuário serializam no lock do shard,
+// usuários de shards diferentes não disputam nada. Mudanças marcam o carrinho como sujo;
+// o CartWriteBehind grava os sujos em lote em carts/cart_items.
+// Cache miss (primeiro acesso, despejo ou restart): o carrinho é reconstruído do Postgres fora do
+// lock do shard — a leitura não segura os outros usuários do shard. Uma carga por usuário por vez
+// (Shard.loading): quem chega durante a carga espera a mesma, e enquanto ela está pendente o usuário
+// não tem carrinho residente, então nada o altera entre a leitura e a entrada no mapa.
+// Só carrinhos limpos e sem flush em andamento são despejados: o Postgres nunca está
+// atrás de um carrinho que não está em memória.
+// Índice invertido produto → usuários com o produto no carrinho residente, mantido a cada
+// carga, mudança e despejo: o repreço encontra os carrinhos afetados sem varrer os shards.
+// Multi-réplica: pressupõe afinidade por usuário no balanceador; duas réplicas com o mesmo
+// carrinho residente divergem
+@Component
+public class CartStore {
+
+    private final CartRepository cartRepository;
+    private final TransactionTemplate readTransaction;
+    private final Shard[] shards;
+    private final int maxCartsPerShard;
+    private final ConcurrentHashMap<UUID, Set<UUID>> cartsByProduct = new ConcurrentHashMap<>();
+
+    public CartStore(CartRepository cartRepository,
+                     TransactionTemplate transactionTemplate,
+                     CartStoreProperties properties,
+                     MeterRegistry meterRegistry) {
+        this.cartRepository = cartRepository;
+        this.readTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readTransaction.setReadOnly(true);
+        this.shards = new Shard[properties.shards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        this.maxCartsPerShard = Math.max(1, properties.maxCarts() / properties.shards());
+
+        Gauge.builder("cart.store.resident", this, store -> store.count(shard -> shard.carts.size()))
+                .description("Carts held in memory")
+                .register(meterRegistry);
+        Gauge.builder("cart.store.dirty", this, store -> store.count(shard -> shard.dirty.size()))
+                .description("Carts changed in memory and not yet written")
+                .register(meterRegistry);
+    }
+
+    // leitura: o carrinho não escapa do lock, só o que reader extrai dele
+    public <T> T read(UUID userId, Function<Cart, T> reader) {
+        return withCart(userId, (shard, cart) -> reader.apply(cart));
+    }
+
+    // mutação: se mutation lançar exceção o carrinho não é marcado como sujo
+    // (as regras do Cart validam antes de alterar)
+    public <T> T update(UUID userId, Function<Cart, T> mutation) {
+        return withCart(userId, (shard, cart) -> {
+            var before = Set.copyOf(cart.productIds());
+            try {
+                var result = mutation.apply(cart);
+                shard.dirty.add(userId);
+                return result;
+            } finally {
+                reindex(userId, before, cart.productIds());
+            }
+        });
+    }
+
+    // novo preço nos carrinhos residentes que têm o produto; alterados ficam sujos.
+    // Não carrega carrinhos: os que não estão em memória são repreçados direto no Postgres.
+    // Devolve quantos carrinhos mudaram
+    public int reprice(Map<UUID, Money> prices) {
+        var userIds = new HashSet<UUID>();
+        prices.keySet().forEach(productId -> userIds.addAll(cartsByProduct.getOrDefault(productId, Set.of())));
+        int repriced = 0;
+        for (var userId : userIds) {
+            boolean changed = withShard(userId, shard -> {
+                var cart = shard.carts.get(userId);
+                if (cart == null) {
+                    return false;
+                }
+                boolean any = false;
+                for (var entry : prices.entrySet()) {
+                    any |= cart.reprice(entry.getKey(), entry.getValue());
+                }
+                if (any) {
+                    shard.dirty.add(userId);
+                }
+                return any;
+            });
+            if (changed) {
+                repriced++;
+            }
+        }
+        return repriced;
+    }
+
+    // até limit carrinhos sujos, copiados; passam a "em flush" até complete/retry
+    public List<CartSnapshot> drainDirty(int limit) {
+        var snapshots = new ArrayList<CartSnapshot>();
+        for (var shard : shards) {
+            if (snapshots.size() >= limit) {
+                break;
+            }
+            shard.lock.lock();
+            try {
+                var iterator = shard.dirty.iterator();
+                while (iterator.hasNext() && snapshots.size() < limit) {
+                    var userId = iterator.next();
+                    iterator.remove();
+                    snapshots.add(CartSnapshot.of(shard.carts.get(userId)));
+                    shard.flushing.add(userId);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return snapshots;
+    }
+
+    // gravados: podem voltar a ser despejados (a não ser que tenham sujado de novo)
+    public void complete(Collection<CartSnapshot> flushed) {
+        flushed.forEach(cart -> withShard(cart.userId(), shard -> shard.flushing.remove(cart.userId())));
+    }
+
+    // falha na gravação: sujos de novo, entram no próximo ciclo com o estado mais recente
+    public void retry(Collection<CartSnapshot> failed) {
+        failed.forEach(cart -> withShard(cart.userId(), shard -> {
+            shard.flushing.remove(cart.userId());
+            return shard.dirty.add(cart.userId());
+        }));
+    }
+
+    public boolean hasDirty() {
+        return count(shard -> shard.dirty.size()) > 0;
+    }
+
+    // action roda com o lock do shard e o carrinho residente do usuário, carregado se preciso
+    private <T> T withCart(UUID userId, BiFunction<Shard, Cart, T> action) {
+        var shard = shardOf(userId);
+        while (true) {
+            CompletableFuture<Cart> load;
+            shard.lock.lock();
+            try {
+                var cart = shard.carts.get(userId);
+                // expirado em memória: a linha pode já ter saído no CartPurgeJob, recomeça vazio
+                if (cart != null && cart.isExpired()) {
+                    reindex(userId, cart.productIds(), Set.of());
+                    cart = install(shard, Cart.create(userId));
+                }
+                if (cart != null) {
+                    return action.apply(shard, cart);
+                }
+                load = shard.loading.get(userId);
+                if (load == null) {
+                    shard.loading.put(userId, new CompletableFuture<>());
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+
+            if (load == null) {
+                return loadAndApply(shard, userId, action);
+            }
+            // outra thread carregando o mesmo usuário: espera e tenta de novo (já residente)
+            awaitLoad(load);
+        }
+    }
+
+    // leitura no Postgres sem o lock; entrada no mapa e action na mesma seção crítica
+    private <T> T loadAndApply(Shard shard, UUID userId, BiFunction<Shard, Cart, T> action) {
+        Cart loaded;
+        try {
+            loaded = readTransaction.execute(status -> cartRepository.findByUserIdWithItems(userId))
+                    .filter(persisted -> !persisted.isExpired())
+                    .orElseGet(() -> Cart.create(userId));
+        } catch (RuntimeException e) {
+            withLock(shard, locked -> locked.loading.remove(userId)).completeExceptionally(e);
+            throw e;
+        }
+        shard.lock.lock();
+        try {
+            var cart = install(shard, loaded);
+            shard.loading.remove(userId).complete(cart);
+            return action.apply(shard, cart);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private static void awaitLoad(CompletableFuture<Cart> load) {
+        try {
+            load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // chamado com o lock do shard
+    private Cart install(Shard shard, Cart cart) {
+        shard.carts.put(cart.getUserId(), cart);
+        reindex(cart.getUserId(), Set.of(), cart.productIds());
+        evictIfFull(shard, cart.getUserId());
+        return cart;
+    }
+
+    // menos usados primeiro (LinkedHashMap em ordem de acesso), pulando sujos, em flush e o que
+    // acabou de entrar. Tudo sujo: o shard passa do limite até o próximo flush
+    private void evictIfFull(Shard shard, UUID installed) {
+        var iterator = shard.carts.entrySet().iterator();
+        while (shard.carts.size() > maxCartsPerShard && iterator.hasNext()) {
+            var entry = iterator.next();
+            var userId = entry.getKey();
+            if (!userId.equals(installed) && !shard.dirty.contains(userId) && !shard.flushing.contains(userId)) {
+                iterator.remove();
+                reindex(userId, entry.getValue().productIds(), Set.of());
+            }
+        }
+    }
+
+    // chamado com o lock do shard do usuário; entradas vazias saem do índice
+    private void reindex(UUID userId, Set<UUID> before, Set<UUID> after) {
+        for (var productId : before) {
+            if (!after.contains(productId)) {
+                cartsByProduct.computeIfPresent(productId, (key, users) -> {
+                    users.remove(userId);
+                    return users.isEmpty() ? null : users;
+                });
+            }
+        }
+        for (var productId : after) {
+            if (!before.contains(productId)) {
+                cartsByProduct.compute(productId, (key, users) -> {
+                    var set = users != null ? users : ConcurrentHashMap.<UUID>newKeySet();
+                    set.add(userId);
+                    return set;
+                });
+            }
+        }
+    }
+
+    private <T> T withShard(UUID userId, Function<Shard, T> action) {
+        return withLock(shardOf(userId), action);
+    }
+
+    private Shard shardOf(UUID userId) {
+        return shards[Math.floorMod(userId.hashCode(), shards.length)];
+    }
+
+    private int count(Function<Shard, Integer> size) {
+        int total = 0;
+        for (var shard : shards) {
+            total += withLock(shard, size);
+        }
+        return total;
+    }
+
+    private static <T> T withLock(Shard shard, Function<Shard, T> action) {
+        shard.lock.lock();
+        try {
+            return action.apply(shard);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<UUID, Cart> carts = new LinkedHashMap<>(16, 0.75f, true);
+        final Set<UUID> dirty = new LinkedHashSet<>();
+        final Set<UUID> flushing = new HashSet<>();
+        final Map<UUID, CompletableFuture<Cart>> loading = new HashMap<>();
+    }
+}
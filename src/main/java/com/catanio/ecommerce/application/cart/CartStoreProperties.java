@@ -0,0 +1,17 @@
+package com.catanio.ecommerce.application.cart;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// shards: partições do working set, cada uma com seu lock — o usuário cai sempre no mesmo shard.
+// maxCarts: carrinhos em memória somando todos os shards; acima disso saem os limpos menos usados.
+// flushInterval/batchSize: frequência do write-behind e carrinhos por transação
+@ConfigurationProperties(prefix = "cart.store")
+public record CartStoreProperties(
+        @DefaultValue("64") int shards,
+        @DefaultValue("100000") int maxCarts,
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("500") int batchSize
+) {}
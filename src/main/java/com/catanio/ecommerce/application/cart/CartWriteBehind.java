@@ -0,0 +1,117 @@
+package com.catanio.ecommerce.application.cart;
+
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CartSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Grava os carrinhos sujos do CartStore em lotes de batchSize, cada lote numa transação.
+// Lote que falha por violação de integridade (ex.: usuário inexistente) é refeito carrinho a
+// carrinho para isolar o culpado, que é descartado; falha de outro tipo (banco fora) devolve
+// o lote inteiro como sujo para o próximo ciclo.
+// Não é durável: mudanças ainda não gravadas se perdem numa queda do processo (até flushInterval)
+@Component
+public class CartWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(CartWriteBehind.class);
+
+    private final CartStore cartStore;
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CartStoreProperties properties;
+    private final Counter written;
+    private final Counter discarded;
+
+    public CartWriteBehind(CartStore cartStore,
+                           CartRepository cartRepository,
+                           TransactionTemplate transactionTemplate,
+                           CartStoreProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.cartStore = cartStore;
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.written = Counter.builder("cart.store.written")
+                .description("Cart states written to Postgres")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("cart.store.discarded")
+                .description("Cart states rejected by Postgres and dropped")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${cart.store.flush-interval:1s}",
+            fixedDelayString = "${cart.store.flush-interval:1s}"
+    )
+    public void flushPeriodically() {
+        flushSafely();
+    }
+
+    // drena em lotes até não sobrar sujo; para no primeiro lote que falhar por outro motivo
+    synchronized void flush() {
+        List<CartSnapshot> batch;
+        while (!(batch = cartStore.drainDirty(properties.batchSize())).isEmpty()) {
+            if (!write(batch)) {
+                return;
+            }
+        }
+    }
+
+    // último flush; um ciclo agendado ainda rodando termina antes (flush é synchronized)
+    @PreDestroy
+    public void shutdown() {
+        flushSafely();
+        if (cartStore.hasDirty()) {
+            log.error("Carts not written on shutdown, changes since the last flush are lost");
+        }
+    }
+
+    private boolean write(List<CartSnapshot> batch) {
+        try {
+            save(batch);
+            cartStore.complete(batch);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            batch.forEach(this::writeAlone);
+            return true;
+        } catch (RuntimeException e) {
+            cartStore.retry(batch);
+            throw e;
+        }
+    }
+
+    private void writeAlone(CartSnapshot cart) {
+        try {
+            save(List.of(cart));
+        } catch (DataIntegrityViolationException e) {
+            discarded.increment();
+            log.error("Cart discarded, rejected by the database: userId={}", cart.userId(), e);
+        } catch (RuntimeException e) {
+            cartStore.retry(List.of(cart));
+            return;
+        }
+        cartStore.complete(List.of(cart));
+    }
+
+    private void save(List<CartSnapshot> batch) {
+        transactionTemplate.executeWithoutResult(status -> cartRepository.writeAll(batch));
+        written.increment(batch.size());
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Cart flush failed, retrying next cycle", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.catanio.ecommerce.application.catalog;
+
+import com.catanio.ecommerce.domain.catalog.events.CategoryChangedEvent;
+import com.catanio.ecommerce.domain.catalog.events.ProductChangedEvent;
+import com.catanio.ecommerce.domain.catalog.events.ProductsImportedEvent;
+import com.catanio.ecommerce.domain.catalog.events.ProductsStockChangedEvent;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Mantém catalog_view a partir das escritas em products/categories.
+// Listener síncrono: roda dentro da transação de quem publicou — a linha do read model
+// é gravada (ou desfeita no rollback) junto com a escrita, sem janela de inconsistência.
+@Component
+@RequiredArgsConstructor
+public class CatalogViewProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogViewProjector.class);
+
+    private final CatalogViewRepository catalogViewRepository;
+
+    // upsert cobre criação/alteração/estoque; produto removido não casa o upsert e sai da view
+    @EventListener
+    public void on(ProductChangedEvent event) {
+        catalogViewRepository.upsertProduct(event.productId());
+        int removed = catalogViewRepository.deleteIfInactive(event.productId());
+        log.debug("Catalog view refreshed: productId={}, removed={}", event.productId(), removed > 0);
+    }
+
+    @EventListener
+    public void on(ProductsImportedEvent event) {
+        int rows = catalogViewRepository.upsertProducts(event.productIds());
+        log.debug("Catalog view refreshed for import batch: rows={}", rows);
+    }
+
+    // produtos ativos (o checkout só baixa estes): o upsert em lote basta
+    @EventListener
+    public void on(ProductsStockChangedEvent event) {
+        int rows = catalogViewRepository.upsertProducts(event.productIds());
+        log.debug("Catalog view refreshed for stock batch: rows={}", rows);
+    }
+
+    @EventListener
+    public void on(CategoryChangedEvent event) {
+        int rows = catalogViewRepository.refreshCategory(event.categoryId());
+        log.debug("Catalog view category refreshed: categoryId={}, rows={}", event.categoryId(), rows);
+    }
+}
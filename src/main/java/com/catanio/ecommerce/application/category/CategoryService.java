@@ -1,6 +1,8 @@
 package com.catanio.ecommerce.application.category;
 
+import com.catanio.ecommerce.config.CacheConfig;
 import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.catalog.events.CategoryChangedEvent;
 import com.catanio.ecommerce.domain.exception.BusinessException;
 import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
 import com.catanio.ecommerce.infrastructure.persistence.CategoryRepository;
@@ -8,6 +10,10 @@ import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +28,10 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher events;
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORY_LIST, allEntries = true)
     public Category create(String name, String description) {
         log.debug("Creating category: {}", name);
 
@@ -38,22 +46,32 @@ public class CategoryService {
         return saved;
     }
 
+    // Cacheado: chamado em toda escrita de produto. A instância devolvida é compartilhada
+    // entre requests — quem precisa alterar a categoria carrega do repositório (load)
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
     public Category findById(UUID id) {
-        return categoryRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Category", id));
+        return load(id);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_LIST, key = "'all'")
     public List<Category> findAll() {
-        return categoryRepository.findAllByOrderByNameAsc();
+        // imutável: a mesma lista é servida a todos os requests enquanto estiver no cache
+        return List.copyOf(categoryRepository.findAllByOrderByNameAsc());
     }
 
     @Transactional
+    // o detalhe de produto embute a categoria; renomear é raro, então limpa o cache inteiro
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.CATEGORY_LIST, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.PRODUCT_DETAILS, allEntries = true)
+    })
     public Category update(UUID id, String newName, String newDescription) {
         log.debug("Updating category: id={}", id);
 
-        var category = findById(id);
+        var category = load(id);
 
         boolean nameChanged = !category.getName().equalsIgnoreCase(newName);
         if (nameChanged && categoryRepository.existsByName(newName)) {
@@ -62,16 +80,22 @@ public class CategoryService {
 
         category.update(newName, newDescription);
         var updated = categoryRepository.save(category);
+        // catalog_view embute o nome da categoria
+        events.publishEvent(new CategoryChangedEvent(id));
 
         log.info("Category updated: id={}, name={}", updated.getId(), updated.getName());
         return updated;
     }
 
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.CATEGORY_LIST, allEntries = true)
+    })
     public void delete(UUID id) {
         log.debug("Deleting category: id={}", id);
 
-        var category = findById(id);
+        var category = load(id);
 
         long activeProducts = productRepository.countActiveByCategoryId(id);
         if (activeProducts > 0) {
@@ -84,4 +108,9 @@ public class CategoryService {
         categoryRepository.delete(category);
         log.info("Category deleted: id={}, name={}", id, category.getName());
     }
+
+    private Category load(UUID id) {
+        return categoryRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Category", id));
+    }
 }
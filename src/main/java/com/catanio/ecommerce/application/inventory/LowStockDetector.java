@@ -0,0 +1,80 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.inventory.events.LowStockDetectedEvent;
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+// Alerta de estoque baixo (RF05) a partir dos eventos de escrita de estoque, sem varrer products.
+// Dispara só na travessia: estoque antes >= limite e depois < limite. Ficar abaixo não realerta,
+// e um produto oscilando em volta do limite alerta no máximo uma vez por debounce.
+// Limite = override da categoria ou inventory.low-stock.threshold. Entradas e saídas que terminam
+// em 100+ (teto de qualquer limite) são descartadas sem query — só o estoque já baixo paga a leitura da regra
+@Component
+public class LowStockDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockDetector.class);
+
+    private final ProductRepository productRepository;
+    private final LowStockProperties properties;
+    private final ApplicationEventPublisher events;
+    // produtos que alertaram há menos de debounce
+    private final Cache<UUID, Boolean> recentAlerts;
+    private final Counter alerts;
+    private final Counter suppressed;
+
+    public LowStockDetector(ProductRepository productRepository,
+                            LowStockProperties properties,
+                            ApplicationEventPublisher events,
+                            MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.events = events;
+        this.recentAlerts = Caffeine.newBuilder()
+                .expireAfterWrite(properties.debounce())
+                .maximumSize(100_000)
+                .build();
+        this.alerts = Counter.builder("inventory.stock.low.alerts")
+                .description("Products that crossed their low stock threshold")
+                .register(meterRegistry);
+        this.suppressed = Counter.builder("inventory.stock.low.suppressed")
+                .description("Low stock crossings ignored inside the debounce window")
+                .register(meterRegistry);
+    }
+
+    // AFTER_COMMIT: ajuste desfeito não alerta
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(StockMovedEvent event) {
+        if (event.delta() >= 0 || event.stockAfter() >= Category.MAX_LOW_STOCK_THRESHOLD) {
+            return;
+        }
+        var rule = productRepository.findLowStockRule(event.productId()).orElse(null);
+        if (rule == null) {
+            return;
+        }
+        int threshold = rule.threshold() != null ? rule.threshold() : properties.threshold();
+        int before = event.stockAfter() - event.delta();
+        if (before < threshold || event.stockAfter() >= threshold) {
+            return;
+        }
+
+        if (recentAlerts.asMap().putIfAbsent(event.productId(), Boolean.TRUE) != null) {
+            suppressed.increment();
+            return;
+        }
+        alerts.increment();
+        log.warn("Low stock: productId={}, stock={}, threshold={}", event.productId(), event.stockAfter(), threshold);
+        events.publishEvent(new LowStockDetectedEvent(event.productId(), rule.categoryId(), event.stockAfter(), threshold));
+    }
+}
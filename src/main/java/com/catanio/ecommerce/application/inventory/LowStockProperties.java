@@ -0,0 +1,23 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.domain.catalog.Category;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// threshold: limite global de estoque baixo, para categorias sem override (categories.low_stock_threshold).
+// debounce: depois de um alerta, o mesmo produto não alerta de novo por esse tempo
+@ConfigurationProperties(prefix = "inventory.low-stock")
+public record LowStockProperties(
+        @DefaultValue("10") int threshold,
+        @DefaultValue("15m") Duration debounce
+) {
+    public LowStockProperties {
+        if (threshold < 0 || threshold > Category.MAX_LOW_STOCK_THRESHOLD) {
+            throw new IllegalArgumentException(
+                    "inventory.low-stock.threshold must be between 0 and " + Category.MAX_LOW_STOCK_THRESHOLD
+            );
+        }
+    }
+}
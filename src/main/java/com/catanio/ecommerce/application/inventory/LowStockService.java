@@ -0,0 +1,54 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.config.CacheConfig;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.infrastructure.persistence.CategoryRepository;
+import com.catanio.ecommerce.infrastructure.persistence.LowStockRow;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+// Consulta de estoque baixo (idx_products_low_stock) e override de limite por categoria
+@Service
+@RequiredArgsConstructor
+public class LowStockService {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockService.class);
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final LowStockProperties properties;
+
+    @Transactional(readOnly = true)
+    public Slice<LowStockRow> findLowStock(UUID categoryId, int page, int size) {
+        var pageable = PageRequest.of(page, size);
+        return categoryId == null
+                ? productRepository.findLowStock(properties.threshold(), pageable)
+                : productRepository.findLowStockInCategory(categoryId, properties.threshold(), pageable);
+    }
+
+    // null volta para o limite global. Vale para o próximo ajuste: o detector lê a regra a cada travessia
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#categoryId")
+    public Category changeThreshold(UUID categoryId, Integer threshold) {
+        var category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", categoryId));
+        category.changeLowStockThreshold(threshold);
+
+        log.info("Low stock threshold changed: categoryId={}, threshold={}", categoryId, threshold);
+        return categoryRepository.save(category);
+    }
+
+    public int defaultThreshold() {
+        return properties.threshold();
+    }
+}
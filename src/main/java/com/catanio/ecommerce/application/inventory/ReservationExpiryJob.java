@@ -0,0 +1,41 @@
+package com.catanio.ecommerce.application.inventory;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Solta reservas cujo TTL venceu sem confirmação.
+// Lotes de expiryBatchSize, cada um na sua transação: locks curtos e memória constante
+// mesmo depois de uma queda que acumulou milhares de reservas vencidas
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationExpiryJob.class);
+
+    private final StockReservationService reservationService;
+    private final ReservationProperties properties;
+
+    @Scheduled(
+            initialDelayString = "${inventory.reservations.expiry-interval:30s}",
+            fixedDelayString = "${inventory.reservations.expiry-interval:30s}"
+    )
+    public void expireDue() {
+        var now = Instant.now();
+        int limit = properties.expiryBatchSize();
+        int total = 0;
+        int expired;
+        do {
+            expired = reservationService.expireBatch(now, limit);
+            total += expired;
+        } while (expired == limit);
+
+        if (total > 0) {
+            log.info("Expired stock reservations released: count={}", total);
+        }
+    }
+}
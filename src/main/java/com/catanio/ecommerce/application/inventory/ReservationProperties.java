@@ -0,0 +1,15 @@
+package com.catanio.ecommerce.application.inventory;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// ttl: quanto tempo uma reserva segura o estoque sem confirmação de pagamento.
+// expiryInterval/expiryBatchSize: frequência do job de expiração e reservas soltas por transação
+@ConfigurationProperties(prefix = "inventory.reservations")
+public record ReservationProperties(
+        @DefaultValue("15m") Duration ttl,
+        @DefaultValue("30s") Duration expiryInterval,
+        @DefaultValue("500") int expiryBatchSize
+) {}
@@ -0,0 +1,38 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.inventory.StockMovement;
+import com.catanio.ecommerce.infrastructure.persistence.StockMovementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Leitura do ledger de estoque (RF05): estoque em qualquer instante e histórico de movimentos.
+// Movimentos chegam com até StockMovementProperties.flushInterval de atraso (StockMovementRecorder)
+@Service
+@RequiredArgsConstructor
+public class StockLedgerService {
+
+    private final StockMovementRepository movementRepository;
+
+    @Transactional(readOnly = true)
+    public int stockAt(UUID productId, Instant at) {
+        return movementRepository.stockAt(productId, at)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock history for product", productId));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<StockMovement> history(UUID productId, Instant until, int page, int size) {
+        return movementRepository.findHistory(productId, until, PageRequest.of(page, size));
+    }
+
+    @Transactional
+    public int takeSnapshot(Instant cutoff) {
+        return movementRepository.takeSnapshot(cutoff);
+    }
+}
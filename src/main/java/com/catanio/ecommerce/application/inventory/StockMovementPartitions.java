@@ -0,0 +1,37 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.infrastructure.persistence.StockMovementRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+// Mantém partitionsAhead meses de stock_movements criados à frente: os inserts nunca caem
+// na partição DEFAULT. Roda na subida e uma vez por dia; criar uma partição existente é no-op
+@Component
+@RequiredArgsConstructor
+public class StockMovementPartitions {
+
+    private static final Logger log = LoggerFactory.getLogger(StockMovementPartitions.class);
+
+    private final StockMovementRepository movementRepository;
+    private final StockMovementProperties properties;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "24h")
+    public void createAhead() {
+        var current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= properties.partitionsAhead(); i++) {
+            var month = current.plusMonths(i);
+            try {
+                movementRepository.createMonthlyPartition(month);
+            } catch (RuntimeException e) {
+                // outra réplica criando a mesma partição, ou linhas do mês já na DEFAULT
+                log.warn("Could not create stock_movements partition: month={}", month, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.catanio.ecommerce.application.inventory;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// queueCapacity/enqueueTimeout: buffer do StockMovementRecorder e quanto um request espera quando ele enche.
+// flushInterval/batchSize: frequência do flush e linhas por batch JDBC.
+// snapshotInterval/snapshotGrace: frequência dos snapshots e atraso do cutoff em relação a agora,
+// folga para os movimentos ainda no buffer entrarem antes do snapshot que os cobre.
+// partitionsAhead: meses futuros de stock_movements criados com antecedência
+@ConfigurationProperties(prefix = "inventory.movements")
+public record StockMovementProperties(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("1s") Duration enqueueTimeout,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1h") Duration snapshotInterval,
+        @DefaultValue("5m") Duration snapshotGrace,
+        @DefaultValue("2") int partitionsAhead
+) {}
@@ -0,0 +1,112 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import com.catanio.ecommerce.infrastructure.persistence.StockMovementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Grava o ledger de estoque (stock_movements) fora do caminho do request.
+// Depois do commit do ajuste, o movimento só entra numa fila em memória; uma thread drena a fila
+// a cada flushInterval em batches JDBC de até batchSize linhas. O PATCH de estoque não paga o INSERT.
+// Fila cheia (banco lento ou fora): o request espera até enqueueTimeout — backpressure em vez de
+// memória sem limite — e depois o movimento é descartado e contado em inventory.stock.movements.dropped.
+// Batch que falha fica retido e é tentado de novo no próximo ciclo, na mesma ordem.
+// Não é durável: movimentos ainda no buffer se perdem numa queda do processo.
+@Component
+public class StockMovementRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(StockMovementRecorder.class);
+
+    private final StockMovementRepository movementRepository;
+    private final StockMovementProperties properties;
+    private final BlockingQueue<StockMovedEvent> queue;
+    // batch em andamento; só a thread de flush mexe nele (e o shutdown, depois que ela parou)
+    private final List<StockMovedEvent> batch = new ArrayList<>();
+    private final Counter recorded;
+    private final Counter dropped;
+    private final ScheduledExecutorService flusher;
+
+    public StockMovementRecorder(StockMovementRepository movementRepository,
+                                 StockMovementProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.movementRepository = movementRepository;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.recorded = Counter.builder("inventory.stock.movements.recorded")
+                .description("Stock movements written to the ledger")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("inventory.stock.movements.dropped")
+                .description("Stock movements discarded because the buffer stayed full")
+                .register(meterRegistry);
+        Gauge.builder("inventory.stock.movements.queued", queue, BlockingQueue::size)
+                .description("Stock movements waiting to be written")
+                .register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("stock-movements").factory());
+        long intervalMillis = properties.flushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // AFTER_COMMIT: ajuste desfeito não vira movimento. fallbackExecution: publicado fora de transação também grava
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(StockMovedEvent event) {
+        try {
+            if (!queue.offer(event, properties.enqueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                dropped.increment();
+                log.error("Stock movement dropped, ledger buffer full: productId={}, delta={}, reason={}",
+                        event.productId(), event.delta(), event.reason());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    // drena a fila em batches até esvaziar; para no primeiro erro, mantendo o batch para o próximo ciclo
+    synchronized void flush() {
+        while (true) {
+            if (batch.isEmpty() && queue.drainTo(batch, properties.batchSize()) == 0) {
+                return;
+            }
+            movementRepository.insertAll(batch);
+            recorded.increment(batch.size());
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        if (!batch.isEmpty() || !queue.isEmpty()) {
+            log.error("Stock movements lost on shutdown: count={}", batch.size() + queue.size());
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Stock movement flush failed, retrying next cycle: pending={}", batch.size() + queue.size(), e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.config.CacheConfig;
+import com.catanio.ecommerce.domain.catalog.events.ProductChangedEvent;
+import com.catanio.ecommerce.domain.exception.BusinessException;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+import com.catanio.ecommerce.domain.inventory.StockReservation;
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.catanio.ecommerce.infrastructure.persistence.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Reservas de estoque (RF05): reservar na criação do pedido, confirmar no pagamento,
+// soltar na falha/cancelamento, expirar pelo TTL (ReservationExpiryJob).
+// O checkout reserva todas as linhas num UPDATE em lote (ProductRepository.reserveAll) e grava aqui
+// o ledger do pedido (recordForOrder); OrderPaymentService confirma ou solta pelo id do pedido.
+// O ledger é stock_reservations; products.reserved_quantity é o índice por produto, atualizado
+// no mesmo UPDATE condicional que aceita a reserva: reservar/soltar custa O(1) statements,
+// e o lock da linha do produto dura só a transação curta — nunca a janela do pagamento.
+// Toda mudança de reserved_quantity muda a disponibilidade (estoque - reservas): cada operação
+// reprojeta catalog_view e tira o detalhe do cache (productChanged).
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductRepository productRepository;
+    private final ReservationProperties properties;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher events;
+
+    // ledger das reservas do checkout: reserved_quantity já subiu no UPDATE em lote, na mesma
+    // transação — aqui só os INSERTs (batch JDBC), sem reprojetar nada (o checkout já o faz)
+    @Transactional
+    public List<StockReservation> recordForOrder(UUID orderId, Map<UUID, Integer> quantities) {
+        var expiresAt = Instant.now().plus(properties.ttl());
+        var reservations = quantities.entrySet().stream()
+                .map(line -> StockReservation.create(line.getKey(), orderId, line.getValue(), expiresAt))
+                .toList();
+        return reservationRepository.saveAll(reservations);
+    }
+
+    // pagamento do pedido aprovado: confirma uma reserva ativa por produto do pedido. Se alguma já
+    // expirou (ou foi solta), nada é confirmado — o estoque pode ter ido para outro pedido
+    @Transactional
+    public void confirmForOrder(UUID orderId, Collection<UUID> productIds) {
+        var reservations = reservationRepository.findActiveByOrderIdForUpdate(orderId);
+        var reserved = reservations.stream().map(StockReservation::getProductId).collect(Collectors.toSet());
+        if (!reserved.containsAll(productIds)) {
+            throw new BusinessException("Stock reservations for order %s are no longer active".formatted(orderId));
+        }
+
+        // mesma ordem de id do checkout e das liberações em lote: sem deadlock entre elas
+        reservations.stream().sorted(Comparator.comparing(StockReservation::getProductId)).forEach(reservation -> {
+            reservation.confirm();
+            int stockAfter = productRepository.consumeReserved(reservation.getProductId(), reservation.getQuantity())
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", reservation.getProductId()));
+            productChanged(reservation.getProductId());
+            events.publishEvent(new StockMovedEvent(
+                    reservation.getProductId(), -reservation.getQuantity(), stockAfter,
+                    StockMovementReason.RESERVATION_CONFIRMED, reservation.getId()
+            ));
+        });
+
+        log.info("Stock reservations confirmed for order: orderId={}, reservations={}", orderId, reservations.size());
+    }
+
+    // pagamento recusado ou pedido cancelado. Idempotente: reservas já encerradas ficam de fora
+    @Transactional
+    public int releaseForOrder(UUID orderId) {
+        var reservations = reservationRepository.findActiveByOrderIdForUpdate(orderId);
+        reservations.forEach(StockReservation::release);
+        releaseByProduct(reservations);
+
+        log.info("Stock reservations released for order: orderId={}, reservations={}", orderId, reservations.size());
+        return reservations.size();
+    }
+
+    // um lote de reservas vencidas em uma transação; devolve quantas expiraram
+    @Transactional
+    public int expireBatch(Instant now, int limit) {
+        var expired = reservationRepository.lockExpired(now, limit);
+        expired.forEach(StockReservation::expire);
+        releaseByProduct(expired);
+        return expired.size();
+    }
+
+    // um UPDATE por produto, em ordem de id: transações soltando lotes ao mesmo tempo
+    // travam as linhas de products na mesma ordem, sem deadlock
+    private void releaseByProduct(List<StockReservation> reservations) {
+        Map<UUID, Integer> totals = new TreeMap<>();
+        reservations.forEach(r -> totals.merge(r.getProductId(), r.getQuantity(), Integer::sum));
+        totals.forEach((productId, quantity) -> {
+            productRepository.releaseReserved(productId, quantity);
+            productChanged(productId);
+        });
+    }
+
+    // read model e detalhe cacheado (evict só após o commit — TransactionAware)
+    private void productChanged(UUID productId) {
+        events.publishEvent(new ProductChangedEvent(productId));
+        cacheManager.getCache(CacheConfig.PRODUCT_DETAILS).evict(productId);
+    }
+}
@@ -0,0 +1,32 @@
+package com.catanio.ecommerce.application.inventory;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Snapshot periódico do estoque: limita quantos movimentos StockLedgerService.stockAt soma.
+// Cutoff atrasado em snapshotGrace para não fechar um período com movimentos ainda no buffer.
+// Réplicas rodando juntas só gravam snapshots redundantes — cada um é absoluto, nenhum soma em dobro
+@Component
+@RequiredArgsConstructor
+public class StockSnapshotJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockSnapshotJob.class);
+
+    private final StockLedgerService ledgerService;
+    private final StockMovementProperties properties;
+
+    @Scheduled(
+            initialDelayString = "${inventory.movements.snapshot-interval:1h}",
+            fixedDelayString = "${inventory.movements.snapshot-interval:1h}"
+    )
+    public void snapshot() {
+        var cutoff = Instant.now().minus(properties.snapshotGrace());
+        int products = ledgerService.takeSnapshot(cutoff);
+        log.info("Stock snapshot taken: cutoff={}, products={}", cutoff, products);
+    }
+}
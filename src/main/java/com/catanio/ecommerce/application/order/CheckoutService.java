@@ -0,0 +1,187 @@
+package com.catanio.ecommerce.application.order;
+
+import com.catanio.ecommerce.application.cart.CartStore;
+import com.catanio.ecommerce.application.inventory.StockReservationService;
+import com.catanio.ecommerce.application.outbox.Outbox;
+import com.catanio.ecommerce.config.CacheConfig;
+import com.catanio.ecommerce.domain.catalog.events.ProductsStockChangedEvent;
+import com.catanio.ecommerce.domain.exception.BusinessException;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.order.Cart;
+import com.catanio.ecommerce.domain.order.Order;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CartSnapshot;
+import com.catanio.ecommerce.infrastructure.persistence.OrderRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ReservedStock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Pedido a partir do carrinho (RF03), atômico: ou o pedido sai com todas as linhas e o estoque
+// de todas reservado (RF05), ou nada muda. Uma transação curta com statements fixos, independente do
+// número de linhas:
+//   1. UPDATE único que trava os produtos em ordem de id, reserva o estoque e devolve nome/preço atuais
+//   2. INSERT do pedido + order_items em batch JDBC (hibernate.jdbc.batch_size)
+//   3. pedido confirmado: OrderCreatedEvent vai para o outbox (Outbox), entregue depois pela OutboxRelay
+//   4. ledger das reservas do pedido em batch (StockReservationService.recordForOrder)
+//   5. catalog_view numa só instrução (ProductsStockChangedEvent)
+//   6. DELETE das linhas do carrinho em cart_items: pedido e carrinho vazio commitam juntos
+// O físico só baixa quando o pagamento confirma as reservas; falha, cancelamento ou TTL as soltam
+// (OrderPaymentService, ReservationExpiryJob).
+// O carrinho residente (CartStore) perde as linhas depois do commit, sob o lock do shard, e só as
+// que ainda têm a quantidade do pedido — linha alterada durante o checkout fica e o write-behind
+// a grava de novo.
+// O pedido usa o preço atual do catálogo, não o guardado no carrinho (CartRepricer o mantém próximo).
+// checkout.duration: latência com p99, tag outcome=placed|rejected
+@Service
+public class CheckoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckoutService.class);
+
+    private final CartStore cartStore;
+    private final CartRepository cartRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final StockReservationService reservationService;
+    private final Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher events;
+    private final Timer placed;
+    private final Timer rejected;
+    // um checkout por usuário por vez nesta instância: duplo clique não gera dois pedidos
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public CheckoutService(CartStore cartStore,
+                           CartRepository cartRepository,
+                           ProductRepository productRepository,
+                           OrderRepository orderRepository,
+                           StockReservationService reservationService,
+                           Outbox outbox,
+                           TransactionTemplate transactionTemplate,
+                           CacheManager cacheManager,
+                           ApplicationEventPublisher events,
+                           MeterRegistry meterRegistry) {
+        this.cartStore = cartStore;
+        this.cartRepository = cartRepository;
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.reservationService = reservationService;
+        this.outbox = outbox;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.events = events;
+        this.placed = timer(meterRegistry, "placed");
+        this.rejected = timer(meterRegistry, "rejected");
+    }
+
+    // BusinessException: carrinho vazio ou checkout do mesmo usuário em andamento.
+    // IllegalArgumentException: estoque insuficiente; ResourceNotFoundException: produto removido
+    public Order checkout(UUID userId) {
+        if (!inFlight.add(userId)) {
+            throw new BusinessException("Checkout already in progress for user " + userId);
+        }
+        long start = System.nanoTime();
+        var outcome = rejected;
+        try {
+            var cart = cartStore.read(userId, CartSnapshot::of);
+            if (cart.items().isEmpty()) {
+                throw new BusinessException("Cart is empty");
+            }
+
+            var order = transactionTemplate.execute(status -> place(userId, cart.items()));
+
+            cartStore.update(userId, current -> {
+                cart.items().forEach(item -> removeIfUnchanged(current, item));
+                return null;
+            });
+            outcome = placed;
+            log.info("Order placed from cart: orderId={}, userId={}, lines={}, total={}",
+                    order.getId(), userId, order.getItems().size(), order.calculateTotal().amount());
+            return order;
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            inFlight.remove(userId);
+        }
+    }
+
+    private Order place(UUID userId, List<CartSnapshot.Item> lines) {
+        Map<UUID, Integer> quantities = new TreeMap<>();
+        lines.forEach(line -> quantities.merge(line.productId(), line.quantity(), Integer::sum));
+
+        var reserved = new HashMap<UUID, ReservedStock>();
+        productRepository.reserveAll(quantities).forEach(row -> reserved.put(row.productId(), row));
+        if (reserved.size() < quantities.size()) {
+            // exceção desfaz a transação: o que coube também volta
+            throw rejection(quantities, reserved);
+        }
+
+        var order = Order.create(userId);
+        for (var line : lines) {
+            var product = reserved.get(line.productId());
+            order.addItem(product.productId(), product.name(), Money.of(product.price()), line.quantity());
+        }
+        var saved = orderRepository.save(order);
+        // confirm depois do save: o evento precisa do id gerado no persist
+        saved.confirm();
+        outbox.append("Order", saved.getId(), saved.pullDomainEvents());
+        reservationService.recordForOrder(saved.getId(), quantities);
+
+        var productIds = List.copyOf(quantities.keySet());
+        events.publishEvent(new ProductsStockChangedEvent(productIds));
+        // evict só após o commit (cache TransactionAware)
+        var details = cacheManager.getCache(CacheConfig.PRODUCT_DETAILS);
+        productIds.forEach(details::evict);
+
+        cartRepository.deleteItems(userId);
+        return saved;
+    }
+
+    // chamado com o lock do shard do usuário (CartStore.update)
+    private static void removeIfUnchanged(Cart cart, CartSnapshot.Item ordered) {
+        cart.getItems().stream()
+                .filter(item -> item.getProductId().equals(ordered.productId()))
+                .filter(item -> item.getQuantity() == ordered.quantity())
+                .findFirst()
+                .ifPresent(item -> cart.removeItem(item.getProductId()));
+    }
+
+    // só no caminho de falha: descobre qual produto recusou a reserva
+    private RuntimeException rejection(Map<UUID, Integer> quantities, Map<UUID, ReservedStock> reserved) {
+        var productId = quantities.keySet().stream()
+                .filter(id -> !reserved.containsKey(id))
+                .findFirst()
+                .orElseThrow();
+        var level = productRepository.findStockLevel(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", productId));
+        return new IllegalArgumentException(
+                "Insufficient stock for product %s. Available: %d, Requested: %d"
+                        .formatted(productId, level.available(), quantities.get(productId))
+        );
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("checkout.duration")
+                .description("Cart checkout latency, from cart read to cart cleared")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.catanio.ecommerce.application.order;
+
+import com.catanio.ecommerce.infrastructure.persistence.OrderSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// Posição no histórico de pedidos (created_at DESC, id DESC) como token opaco, no formato do ProductCursor
+public record OrderCursor(Instant createdAt, UUID id) {
+
+    public OrderCursor {
+        if (createdAt == null || id == null) {
+            throw new IllegalArgumentException("Cursor requires createdAt and id");
+        }
+    }
+
+    public static OrderCursor after(OrderSummary lastOfPage) {
+        return new OrderCursor(lastOfPage.createdAt(), lastOfPage.id());
+    }
+
+    public String encode() {
+        var raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new OrderCursor(Instant.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
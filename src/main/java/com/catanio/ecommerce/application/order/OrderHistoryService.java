@@ -0,0 +1,30 @@
+package com.catanio.ecommerce.application.order;
+
+import com.catanio.ecommerce.infrastructure.persistence.OrderRepository;
+import com.catanio.ecommerce.infrastructure.persistence.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+// Histórico de pedidos do usuário (RF03) por keyset: custo por página constante, em qualquer
+// profundidade, e um pedido novo não desloca as páginas seguintes como o OFFSET faria
+@Service
+@RequiredArgsConstructor
+public class OrderHistoryService {
+
+    private final OrderRepository orderRepository;
+
+    // cursor null = primeira página
+    @Transactional(readOnly = true)
+    public Slice<OrderSummary> findHistory(UUID userId, OrderCursor cursor, int size) {
+        var page = PageRequest.ofSize(size);
+        if (cursor == null) {
+            return orderRepository.findHistory(userId, page);
+        }
+        return orderRepository.findHistoryAfter(userId, cursor.createdAt(), cursor.id(), page);
+    }
+}
@@ -0,0 +1,78 @@
+package com.catanio.ecommerce.application.order;
+
+import com.catanio.ecommerce.application.inventory.StockReservationService;
+import com.catanio.ecommerce.application.outbox.Outbox;
+import com.catanio.ecommerce.domain.exception.BusinessException;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.order.Order;
+import com.catanio.ecommerce.domain.order.OrderItem;
+import com.catanio.ecommerce.domain.order.OrderStatus;
+import com.catanio.ecommerce.infrastructure.persistence.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Desfecho do pagamento de um pedido criado pelo checkout (RF05), sobre as reservas que ele gravou:
+//   pago      → reservas confirmadas, o estoque físico baixa; OrderPaidEvent vai para o outbox
+//   cancelado → reservas ativas soltas, a quantidade volta a ficar disponível
+// Reserva vencida antes do pagamento (ReservationExpiryJob) recusa o pagamento com 409: o estoque
+// pode já estar com outro pedido, e o pedido só pode ser cancelado.
+@Service
+@RequiredArgsConstructor
+public class OrderPaymentService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPaymentService.class);
+
+    // pedido enviado já saiu do estoque: devolução é outro fluxo
+    private static final Set<OrderStatus> NOT_CANCELLABLE = Set.of(OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+
+    private final OrderRepository orderRepository;
+    private final StockReservationService reservationService;
+    private final Outbox outbox;
+
+    @Transactional
+    public Order pay(UUID userId, UUID orderId) {
+        var order = lock(userId, orderId);
+        if (order.getStatus() != OrderStatus.PAYMENT_PROCESSING) {
+            throw new BusinessException("Order %s is %s and cannot be paid".formatted(orderId, order.getStatus()));
+        }
+
+        var productIds = order.getItems().stream().map(OrderItem::getProductId).collect(Collectors.toSet());
+        reservationService.confirmForOrder(orderId, productIds);
+        order.markAsPaid();
+        outbox.append("Order", orderId, order.pullDomainEvents());
+
+        log.info("Order paid: orderId={}, userId={}", orderId, userId);
+        return order;
+    }
+
+    // pagamento recusado ou desistência. Pedido já pago: as reservas foram confirmadas e não há o que
+    // soltar — o estoque vendido não volta sozinho
+    @Transactional
+    public Order cancel(UUID userId, UUID orderId) {
+        var order = lock(userId, orderId);
+        if (NOT_CANCELLABLE.contains(order.getStatus())) {
+            throw new BusinessException("Order %s is %s and cannot be cancelled".formatted(orderId, order.getStatus()));
+        }
+
+        order.cancel();
+        int released = reservationService.releaseForOrder(orderId);
+
+        log.info("Order cancelled: orderId={}, userId={}, reservationsReleased={}", orderId, userId, released);
+        return order;
+    }
+
+    // items carregados ainda na transação (getItems devolve a view, não a coleção lazy): a resposta lista as linhas
+    private Order lock(UUID userId, UUID orderId) {
+        var order = orderRepository.findByIdAndUserIdForUpdate(orderId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+        order.getItems().size();
+        return order;
+    }
+}
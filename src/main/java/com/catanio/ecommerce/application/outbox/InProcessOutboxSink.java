@@ -0,0 +1,31 @@
+package com.catanio.ecommerce.application.outbox;
+
+import com.catanio.ecommerce.domain.outbox.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Sink padrão: republica os eventos para os listeners desta aplicação.
+// Publicado dentro da transação da relay: @TransactionalEventListener só roda depois que o lote
+// saiu do outbox, @EventListener que falha devolve o lote
+@Component
+@RequiredArgsConstructor
+public class InProcessOutboxSink implements OutboxSink {
+
+    public static final String NAME = "in-process";
+
+    private final Outbox outbox;
+    private final ApplicationEventPublisher events;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(message -> events.publishEvent(outbox.read(message)));
+    }
+}
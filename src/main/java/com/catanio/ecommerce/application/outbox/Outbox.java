@@ -0,0 +1,70 @@
+package com.catanio.ecommerce.application.outbox;
+
+import com.catanio.ecommerce.domain.order.events.OrderCreatedEvent;
+import com.catanio.ecommerce.domain.order.events.OrderPaidEvent;
+import com.catanio.ecommerce.domain.outbox.OutboxMessage;
+import com.catanio.ecommerce.infrastructure.persistence.NewOutboxMessage;
+import com.catanio.ecommerce.infrastructure.persistence.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Grava eventos de domínio no outbox na transação de quem mudou o agregado:
+// o evento existe se e só se a mudança foi commitada, e sobrevive a um crash até a OutboxRelay entregar.
+// Só tipos registrados em EVENT_TYPES — o nome vai para event_type e é o que os sinks usam para ler o payload
+@Component
+@RequiredArgsConstructor
+public class Outbox {
+
+    static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            "OrderCreatedEvent", OrderCreatedEvent.class,
+            "OrderPaidEvent", OrderPaidEvent.class
+    );
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, UUID aggregateId, List<Object> events) {
+        var messages = events.stream()
+                .map(event -> new NewOutboxMessage(aggregateType, aggregateId, typeOf(event), write(event)))
+                .toList();
+        outboxRepository.append(messages);
+    }
+
+    // evento de volta a partir da linha do outbox
+    public Object read(OutboxMessage message) {
+        var type = EVENT_TYPES.get(message.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown outbox event type: " + message.getEventType());
+        }
+        try {
+            return objectMapper.readValue(message.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox message " + message.getId(), e);
+        }
+    }
+
+    private static String typeOf(Object event) {
+        var name = event.getClass().getSimpleName();
+        if (EVENT_TYPES.get(name) != event.getClass()) {
+            throw new IllegalArgumentException("Event type not registered for the outbox: " + event.getClass().getName());
+        }
+        return name;
+    }
+
+    private String write(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event cannot be serialized: " + event.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.catanio.ecommerce.application.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// sinks: OutboxSink.name() dos destinos ativos, todos recebem cada lote.
+// batchSize: mensagens retiradas e entregues por transação.
+// pollInterval: drenagem sem notificação — rede de segurança para NOTIFY perdido
+// (relay reconectando) e retentativa depois de falha de entrega
+@ConfigurationProperties(prefix = "outbox")
+public record OutboxProperties(
+        @DefaultValue("in-process") List<String> sinks,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("10s") Duration pollInterval
+) {}
@@ -0,0 +1,196 @@
+package com.catanio.ecommerce.application.outbox;
+
+import com.catanio.ecommerce.domain.outbox.OutboxMessage;
+import com.catanio.ecommerce.infrastructure.persistence.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Entrega o outbox aos sinks em lotes de batchSize, uma transação por lote (claimBatch + publish).
+// Sem polling curto: uma thread mantém uma conexão em LISTEN outbox e drena quando o trigger
+// do V13 notifica o commit de novas linhas; a cada pollInterval drena mesmo sem notificação.
+// Várias instâncias podem rodar juntas (SKIP LOCKED), mas aí a ordem só vale dentro de cada lote.
+// A conexão do LISTEN fica presa enquanto a aplicação roda: o pool tem uma a menos para requests.
+// outbox.published: vazão; outbox.delivery.lag: do commit do evento à entrega;
+// outbox.lag.seconds: idade da mensagem mais antiga ainda pendente (cresce se a entrega parar)
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    static final String CHANNEL = "outbox";
+    // getNotifications bloqueia no máximo isso: shutdown e pollInterval conferidos nesse passo
+    private static final int LISTEN_TIMEOUT_MILLIS = 1000;
+
+    private final DataSource dataSource;
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final List<OutboxSink> sinks;
+    private final Counter published;
+    private final Timer deliveryLag;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private volatile boolean running;
+    private Thread listener;
+
+    public OutboxRelay(DataSource dataSource,
+                       OutboxRepository outboxRepository,
+                       TransactionTemplate transactionTemplate,
+                       OutboxProperties properties,
+                       List<OutboxSink> availableSinks,
+                       MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.sinks = properties.sinks().stream()
+                .map(name -> availableSinks.stream()
+                        .filter(sink -> sink.name().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Unknown outbox sink: " + name)))
+                .toList();
+        this.published = Counter.builder("outbox.published")
+                .description("Outbox messages delivered to the sinks")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from outbox insert to delivery")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest outbox message not yet delivered")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // só depois do contexto pronto: antes disso os @EventListener ainda não estão registrados
+    // e o sink in-process entregaria a ninguém
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().name("outbox-relay").start(this::listen);
+    }
+
+    // drena até o outbox ficar sem lote cheio; devolve quantas mensagens entregou
+    synchronized int relay() {
+        int total = 0;
+        while (true) {
+            var batch = transactionTemplate.execute(status -> {
+                var messages = new ArrayList<>(outboxRepository.claimBatch(properties.batchSize()));
+                if (!messages.isEmpty()) {
+                    // RETURNING não garante ordem
+                    messages.sort(Comparator.comparing(OutboxMessage::getId));
+                    sinks.forEach(sink -> sink.publish(messages));
+                }
+                return messages;
+            });
+            var now = Instant.now();
+            batch.forEach(message -> deliveryLag.record(Duration.between(message.getCreatedAt(), now)));
+            published.increment(batch.size());
+            total += batch.size();
+            if (batch.size() < properties.batchSize()) {
+                updateLag();
+                return total;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.join(LISTEN_TIMEOUT_MILLIS * 5L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (var connection = dataSource.getConnection()) {
+                var pg = connection.unwrap(PGConnection.class);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // o que entrou antes do LISTEN (ou com a relay parada) não vai notificar
+                relaySafely();
+                long nextPoll = System.nanoTime() + properties.pollInterval().toNanos();
+                while (running) {
+                    var notifications = pg.getNotifications(LISTEN_TIMEOUT_MILLIS);
+                    boolean notified = notifications != null && notifications.length > 0;
+                    if (notified || System.nanoTime() - nextPoll >= 0) {
+                        relaySafely();
+                        nextPoll = System.nanoTime() + properties.pollInterval().toNanos();
+                    }
+                }
+                // a conexão volta ao pool: sem isso continuaria recebendo notificações
+                try (var statement = connection.createStatement()) {
+                    statement.execute("UNLISTEN " + CHANNEL);
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Outbox listener connection failed, reconnecting in {}", properties.pollInterval(), e);
+                    pause(properties.pollInterval());
+                }
+            }
+        }
+    }
+
+    private void relaySafely() {
+        try {
+            int delivered = relay();
+            if (delivered > 0) {
+                log.debug("Outbox relayed: messages={}", delivered);
+            }
+        } catch (RuntimeException e) {
+            // lote devolvido pelo rollback; nova tentativa na próxima notificação ou no pollInterval
+            log.warn("Outbox delivery failed, retrying later", e);
+            updateLagSafely();
+        }
+    }
+
+    private void updateLag() {
+        var now = Instant.now();
+        long lag = outboxRepository.oldestCreatedAt()
+                .filter(now::isAfter)
+                .map(oldest -> Duration.between(oldest, now).toSeconds())
+                .orElse(0L);
+        lagSeconds.set(lag);
+    }
+
+    private void updateLagSafely() {
+        try {
+            updateLag();
+        } catch (RuntimeException e) {
+            log.debug("Outbox lag not updated", e);
+        }
+    }
+
+    private static void pause(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
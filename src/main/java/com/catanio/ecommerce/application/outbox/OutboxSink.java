@@ -0,0 +1,16 @@
+package com.catanio.ecommerce.application.outbox;
+
+import com.catanio.ecommerce.domain.outbox.OutboxMessage;
+
+import java.util.List;
+
+// Destino das mensagens drenadas pela OutboxRelay; os ativos são escolhidos por outbox.sinks (name()).
+// publish roda dentro da transação que retirou o lote: exceção devolve o lote inteiro ao outbox
+// e ele é reentregue — entrega at-least-once, o consumidor precisa ser idempotente
+public interface OutboxSink {
+
+    String name();
+
+    // mensagens em ordem de gravação
+    void publish(List<OutboxMessage> messages);
+}
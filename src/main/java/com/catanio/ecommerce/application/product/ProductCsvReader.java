@@ -0,0 +1,144 @@
+package com.catanio.ecommerce.application.product;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Lê o CSV do import em lote registro a registro (RFC 4180: aspas, "" escapado, quebra de linha
+// dentro de aspas) — nunca carrega o arquivo inteiro. A primeira linha é o cabeçalho;
+// colunas por nome: name, description, price, stock_quantity, category_id.
+// Valor ilegível não interrompe a leitura: vira ProductImportRow.unreadable com a mensagem.
+public class ProductCsvReader implements Iterator<ProductImportRow> {
+
+    static final List<String> REQUIRED_COLUMNS = List.of("name", "price", "stock_quantity", "category_id");
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private List<String> next;
+    private long row;
+
+    public ProductCsvReader(Reader reader) {
+        // mark/reset para olhar um caractere à frente depois de aspas
+        this.reader = reader.markSupported() ? reader : new BufferedReader(reader);
+        var header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV is empty: header row is required");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        var missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        this.next = readRecord();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public ProductImportRow next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        var record = next;
+        next = readRecord();
+        return toRow(++row, record);
+    }
+
+    private ProductImportRow toRow(long row, List<String> record) {
+        try {
+            return new ProductImportRow(
+                    row,
+                    value(record, "name"),
+                    value(record, "description"),
+                    parse(value(record, "price"), BigDecimal::new, "price"),
+                    parse(value(record, "stock_quantity"), Integer::valueOf, "stock_quantity"),
+                    parse(value(record, "category_id"), UUID::fromString, "category_id")
+            );
+        } catch (IllegalArgumentException e) {
+            return ProductImportRow.unreadable(row, e.getMessage());
+        }
+    }
+
+    private String value(List<String> record, String column) {
+        var index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        var value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for %s: %s".formatted(column, value));
+        }
+    }
+
+    // próximo registro, ou null no fim da entrada; linhas em branco são ignoradas
+    private List<String> readRecord() {
+        try {
+            var fields = new ArrayList<String>();
+            var field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    if (fields.isEmpty() && field.isEmpty()) {
+                        any = false;
+                        continue;
+                    }
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
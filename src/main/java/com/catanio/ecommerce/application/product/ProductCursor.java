@@ -0,0 +1,78 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+// Posição de keyset pagination: valor da chave de ordenação + id como desempate.
+// Serializado como token opaco (base64url) — o cliente só devolve o que recebeu em nextCursor.
+public record ProductCursor(
+        String sortBy,
+        Sort.Direction direction,
+        Comparable<?> key,
+        UUID id
+) {
+    private static final Set<String> SEEKABLE_SORTS = Set.of("createdAt", "price");
+
+    public ProductCursor {
+        if (!supports(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination is not supported for sort: " + sortBy);
+        }
+        if (direction == null || key == null || id == null) {
+            throw new IllegalArgumentException("Cursor requires direction, key and id");
+        }
+    }
+
+    public static boolean supports(String sortBy) {
+        return sortBy != null && SEEKABLE_SORTS.contains(sortBy);
+    }
+
+    public static ProductCursor after(CatalogEntry entry, String sortBy, Sort.Direction direction) {
+        Comparable<?> key = switch (sortBy) {
+            case "createdAt" -> entry.getCreatedAt();
+            case "price" -> entry.getPrice();
+            default -> throw new IllegalArgumentException("Cursor pagination is not supported for sort: " + sortBy);
+        };
+        return new ProductCursor(sortBy, direction, key, entry.getId());
+    }
+
+    public ProductCursor next(CatalogEntry lastOfPage) {
+        return after(lastOfPage, sortBy, direction);
+    }
+
+    public Sort sort() {
+        return Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+    }
+
+    public String encode() {
+        var keyText = key instanceof BigDecimal decimal ? decimal.toPlainString() : key.toString();
+        var raw = String.join("|", sortBy, direction.name(), keyText, id.toString());
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            Comparable<?> key = switch (parts[0]) {
+                case "createdAt" -> Instant.parse(parts[2]);
+                case "price" -> new BigDecimal(parts[2]);
+                default -> throw new IllegalArgumentException("Unknown cursor sort");
+            };
+            return new ProductCursor(parts[0], Sort.Direction.valueOf(parts[1]), key, UUID.fromString(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
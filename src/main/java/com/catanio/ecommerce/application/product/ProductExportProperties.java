@@ -0,0 +1,13 @@
+package com.catanio.ecommerce.application.product;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// timeout: tempo máximo de um GET /products/export. Só do export — o import tem o seu
+// (ProductImportProperties) e os demais endpoints assíncronos ficam no default do container
+@ConfigurationProperties(prefix = "catalog.export")
+public record ProductExportProperties(
+        @DefaultValue("30m") Duration timeout
+) {}
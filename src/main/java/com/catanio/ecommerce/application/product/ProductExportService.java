@@ -0,0 +1,96 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.infrastructure.persistence.ProductExportRow;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+// Export do catálogo ativo inteiro para geradores de feed (NDJSON ou CSV).
+// Memória constante: cada linha é lida do cursor, escrita e descartada —
+// nem lista, nem entidades gerenciadas, nem página materializada.
+@Service
+@RequiredArgsConstructor
+public class ProductExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductExportService.class);
+    private static final String CSV_HEADER =
+            "id,name,description,price,stock_quantity,available,category_id,category_name,created_at,updated_at";
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    // Transação aberta durante todo o export: o cursor do Postgres só existe dentro dela,
+    // e o snapshot é consistente do começo ao fim. Segura 1 conexão do pool enquanto escreve.
+    @Transactional(readOnly = true)
+    public long export(ProductExportFormat format, OutputStream output) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long rows = 0;
+
+        if (format == ProductExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        var json = objectMapper.writerFor(ProductExportRow.class);
+
+        try (Stream<ProductExportRow> stream = productRepository.streamActiveForExport()) {
+            var iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                var row = iterator.next();
+                switch (format) {
+                    case NDJSON -> writeJson(writer, json, row);
+                    case CSV -> writeCsv(writer, row);
+                }
+                rows++;
+            }
+        }
+
+        writer.flush();
+        log.info("Catalog exported: format={}, rows={}", format, rows);
+        return rows;
+    }
+
+    private static void writeJson(Writer writer, ObjectWriter json, ProductExportRow row) throws IOException {
+        writer.write(json.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    private static void writeCsv(Writer writer, ProductExportRow row) throws IOException {
+        writer.write(String.join(",",
+                row.id().toString(),
+                csv(row.name()),
+                csv(row.description()),
+                row.price().toPlainString(),
+                String.valueOf(row.stockQuantity()),
+                String.valueOf(row.available()),
+                row.categoryId().toString(),
+                csv(row.categoryName()),
+                row.createdAt().toString(),
+                row.updatedAt().toString()
+        ));
+        writer.write('\n');
+    }
+
+    // RFC 4180: aspas só quando o campo tem vírgula, aspas ou quebra de linha
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
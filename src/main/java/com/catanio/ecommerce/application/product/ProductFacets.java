@@ -0,0 +1,16 @@
+package com.catanio.ecommerce.application.product;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+// Contagens por categoria e por faixa de preço para um ProductFilter
+public record ProductFacets(
+        List<CategoryCount> categories,
+        List<PriceBucketCount> priceBuckets
+) {
+    public record CategoryCount(UUID categoryId, String categoryName, long count) {}
+
+    // [from, to) — from null na primeira faixa, to null na última
+    public record PriceBucketCount(BigDecimal from, BigDecimal to, long count) {}
+}
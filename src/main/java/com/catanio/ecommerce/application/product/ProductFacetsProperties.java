@@ -0,0 +1,16 @@
+package com.catanio.ecommerce.application.product;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+// priceBuckets: limites do histograma de preço — N limites geram N + 1 faixas
+@ConfigurationProperties(prefix = "catalog.facets")
+public record ProductFacetsProperties(
+        @DefaultValue({"50", "100", "250", "500", "1000"}) List<BigDecimal> priceBuckets,
+        @DefaultValue("30s") Duration maxStaleness,
+        @DefaultValue("10000") long maxEntries
+) {}
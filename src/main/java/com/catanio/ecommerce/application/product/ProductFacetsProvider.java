@@ -0,0 +1,102 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.application.product.ProductFacets.CategoryCount;
+import com.catanio.ecommerce.application.product.ProductFacets.PriceBucketCount;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogFacetRow;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+// Facets da listagem (?facets=true): contagem por categoria e histograma de preço
+// para o filtro atual, numa única consulta agregada sobre catalog_view.
+// Memorizados por (filtro, faixas) como os totais — podem estar defasados em até maxStaleness.
+@Component
+public class ProductFacetsProvider {
+
+    static final int MAX_PRICE_BUCKETS = 20;
+
+    private final CatalogViewRepository catalogViewRepository;
+    private final List<BigDecimal> defaultBoundaries;
+    private final Cache<FacetsKey, ProductFacets> facets;
+
+    public ProductFacetsProvider(CatalogViewRepository catalogViewRepository, ProductFacetsProperties properties) {
+        this.catalogViewRepository = catalogViewRepository;
+        this.defaultBoundaries = validated(properties.priceBuckets());
+        this.facets = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfterWrite(properties.maxStaleness())
+                .build();
+    }
+
+    // priceBoundaries null/vazio → faixas configuradas em catalog.facets.price-buckets
+    public ProductFacets facetsFor(ProductFilter filter, List<BigDecimal> priceBoundaries) {
+        var boundaries = priceBoundaries == null || priceBoundaries.isEmpty()
+                ? defaultBoundaries
+                : validated(priceBoundaries);
+        return facets.get(new FacetsKey(filter, boundaries), this::load);
+    }
+
+    private ProductFacets load(FacetsKey key) {
+        var rows = catalogViewRepository.countByCategoryAndPriceBucket(
+                key.filter().toSpecification(), key.boundaries()
+        );
+        return new ProductFacets(categoryCounts(rows), bucketCounts(rows, key.boundaries()));
+    }
+
+    private static List<CategoryCount> categoryCounts(List<CatalogFacetRow> rows) {
+        var byCategory = new LinkedHashMap<UUID, CategoryCount>();
+        for (var row : rows) {
+            byCategory.merge(
+                    row.categoryId(),
+                    new CategoryCount(row.categoryId(), row.categoryName(), row.count()),
+                    (a, b) -> new CategoryCount(a.categoryId(), a.categoryName(), a.count() + b.count())
+            );
+        }
+        return byCategory.values().stream()
+                .sorted(Comparator.comparingLong(CategoryCount::count).reversed()
+                        .thenComparing(CategoryCount::categoryName))
+                .toList();
+    }
+
+    // todas as faixas aparecem, inclusive as vazias — o histograma tem forma fixa
+    private static List<PriceBucketCount> bucketCounts(List<CatalogFacetRow> rows, List<BigDecimal> boundaries) {
+        var counts = new long[boundaries.size() + 1];
+        rows.forEach(row -> counts[row.bucket()] += row.count());
+
+        var buckets = new ArrayList<PriceBucketCount>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            var from = i == 0 ? null : boundaries.get(i - 1);
+            var to = i == boundaries.size() ? null : boundaries.get(i);
+            buckets.add(new PriceBucketCount(from, to, counts[i]));
+        }
+        return List.copyOf(buckets);
+    }
+
+    private static List<BigDecimal> validated(List<BigDecimal> boundaries) {
+        if (boundaries.size() > MAX_PRICE_BUCKETS) {
+            throw new IllegalArgumentException(
+                    "At most %d price bucket boundaries are allowed".formatted(MAX_PRICE_BUCKETS)
+            );
+        }
+        for (int i = 1; i < boundaries.size(); i++) {
+            if (boundaries.get(i).compareTo(boundaries.get(i - 1)) <= 0) {
+                throw new IllegalArgumentException("Price bucket boundaries must be strictly ascending");
+            }
+        }
+        // normaliza a escala: 100 e 100.00 são a mesma chave de cache (sem virar 1E+2)
+        return boundaries.stream()
+                .map(BigDecimal::stripTrailingZeros)
+                .map(b -> b.scale() < 0 ? b.setScale(0) : b)
+                .toList();
+    }
+
+    private record FacetsKey(ProductFilter filter, List<BigDecimal> boundaries) {}
+}
@@ -1,5 +1,9 @@
 package com.catanio.ecommerce.application.product;
 
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewSpecifications;
+import org.springframework.data.jpa.domain.Specification;
+
 import java.math.BigDecimal;
 import java.util.UUID;
 
@@ -17,7 +21,30 @@ public record ProductFilter(
         return name != null && !name.isBlank();
     }
 
+    // qualquer um dos limites basta: minPrice sozinho = "a partir de", maxPrice sozinho = "até"
     public boolean hasPriceFilter() {
-        return minPrice != null && maxPrice != null;
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean isUnfiltered() {
+        return !hasCategoryFilter() && !hasNameFilter() && !hasPriceFilter();
+    }
+
+    // filtros presentes combinados com AND sobre o read model (que só contém produtos ativos)
+    public Specification<CatalogEntry> toSpecification() {
+        Specification<CatalogEntry> spec = Specification.unrestricted();
+        if (hasCategoryFilter()) {
+            spec = spec.and(CatalogViewSpecifications.inCategory(categoryId));
+        }
+        if (hasNameFilter()) {
+            spec = spec.and(CatalogViewSpecifications.nameContains(name));
+        }
+        if (minPrice != null) {
+            spec = spec.and(CatalogViewSpecifications.priceAtLeast(minPrice));
+        }
+        if (maxPrice != null) {
+            spec = spec.and(CatalogViewSpecifications.priceAtMost(maxPrice));
+        }
+        return spec;
     }
 }
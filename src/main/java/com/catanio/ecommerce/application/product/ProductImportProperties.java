@@ -0,0 +1,13 @@
+package com.catanio.ecommerce.application.product;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// timeout: tempo máximo de um POST /products:import (CSV de qualquer tamanho, lido conforme chega).
+// Estourado, o import para no lote corrente: os lotes anteriores já estão commitados
+@ConfigurationProperties(prefix = "catalog.import")
+public record ProductImportProperties(
+        @DefaultValue("30m") Duration timeout
+) {}
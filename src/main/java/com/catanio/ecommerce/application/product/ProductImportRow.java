@@ -0,0 +1,43 @@
+package com.catanio.ecommerce.application.product;
+
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Uma linha de entrada do import em lote. row: posição na entrada (1 = primeiro produto),
+// usada nos erros. parseError: a linha nem chegou a ser lida (ex.: preço não numérico no CSV).
+// Constraints (e mensagens) iguais às de CreateProductRequest — o import valida com o mesmo Validator
+public record ProductImportRow(
+        long row,
+
+        @NotBlank(message = "Name is required")
+        @Size(min = 2, max = 200, message = "Name must be between 2 and 200 characters")
+        String name,
+
+        @Size(max = 2000, message = "Description must not exceed 2000 characters")
+        String description,
+
+        @NotNull(message = "Price is required")
+        @DecimalMin(value = "0.01", message = "Price must be greater than zero")
+        @Digits(integer = 17, fraction = 2, message = "Price must have at most 2 decimal places")
+        BigDecimal price,
+
+        @NotNull(message = "Stock quantity is required")
+        @Min(value = 0, message = "Stock quantity cannot be negative")
+        Integer stockQuantity,
+
+        @NotNull(message = "Category is required")
+        UUID categoryId,
+
+        String parseError
+) {
+    public ProductImportRow(long row, String name, String description,
+                            BigDecimal price, Integer stockQuantity, UUID categoryId) {
+        this(row, name, description, price, stockQuantity, categoryId, null);
+    }
+
+    public static ProductImportRow unreadable(long row, String parseError) {
+        return new ProductImportRow(row, null, null, null, null, null, parseError);
+    }
+}
@@ -0,0 +1,14 @@
+package com.catanio.ecommerce.application.product;
+
+import java.util.List;
+
+// Contadores acumulados do import + erros por linha.
+// No progresso (por lote) errors são os do lote; no resultado final, os primeiros MAX_REPORTED_ERRORS
+public record ProductImportSummary(
+        long processed,
+        long created,
+        long failed,
+        List<RowError> errors
+) {
+    public record RowError(long row, String message) {}
+}
@@ -0,0 +1,8 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import org.springframework.data.jpa.domain.Specification;
+
+// drivingIndex: índice que deve conduzir o scan para essa forma de filtro/ordenação;
+// null quando nenhum índice cobre a ordenação pedida (scan + Sort)
+public record ProductQueryPlan(Specification<CatalogEntry> specification, String drivingIndex) {}
@@ -0,0 +1,62 @@
+package com.catanio.ecommerce.application.product;
+
+import org.springframework.data.domain.Sort;
+
+// Monta a consulta da listagem para qualquer subconjunto de ProductFilter
+// e declara o índice esperado para cada forma. Novo filtro = novo predicado em
+// ProductFilter.toSpecification + uma linha aqui, não um método novo no repositório.
+//
+// A listagem lê de catalog_view (V6); os índices cobrem as colunas da página (INCLUDE),
+// então as formas abaixo saem como Index Only Scan.
+//
+//   filtro                     ordenação    índice
+//   nome (+ qualquer outro)    qualquer     idx_catalog_view_name_trgm — poucos matches, Sort em memória
+//   categoria + preço          qualquer     idx_catalog_view_category_price_id
+//   categoria                  price        idx_catalog_view_category_price_id
+//   categoria                  outras       idx_catalog_view_category_created_at_id
+//   preço                      qualquer     idx_catalog_view_price_id
+//   nenhum                     createdAt    idx_catalog_view_created_at_id
+//   nenhum                     price        idx_catalog_view_price_id
+//   nenhum                     name         idx_catalog_view_name_id
+//   nenhum                     outras       null (scan + Sort)
+//
+// Quando a ordenação não é a do índice do filtro, o Postgres pode preferir percorrer o índice
+// da ordenação e filtrar (LIMIT pequeno, filtro pouco seletivo) — também sem Seq Scan.
+// ProductQueryPlannerTest confere os dois casos contra o plano real.
+public final class ProductQueryPlanner {
+
+    static final String NAME_TRIGRAM = "idx_catalog_view_name_trgm";
+    static final String CATEGORY_PRICE = "idx_catalog_view_category_price_id";
+    static final String CATEGORY_CREATED_AT = "idx_catalog_view_category_created_at_id";
+    static final String PRICE = "idx_catalog_view_price_id";
+    static final String CREATED_AT = "idx_catalog_view_created_at_id";
+    static final String NAME = "idx_catalog_view_name_id";
+
+    private ProductQueryPlanner() {}
+
+    public static ProductQueryPlan plan(ProductFilter filter, Sort sort) {
+        return new ProductQueryPlan(filter.toSpecification(), drivingIndex(filter, leadingProperty(sort)));
+    }
+
+    private static String drivingIndex(ProductFilter filter, String sortBy) {
+        if (filter.hasNameFilter()) {
+            return NAME_TRIGRAM;
+        }
+        if (filter.hasCategoryFilter()) {
+            return filter.hasPriceFilter() || "price".equals(sortBy) ? CATEGORY_PRICE : CATEGORY_CREATED_AT;
+        }
+        if (filter.hasPriceFilter()) {
+            return PRICE;
+        }
+        return switch (sortBy) {
+            case "createdAt" -> CREATED_AT;
+            case "price" -> PRICE;
+            case "name" -> NAME;
+            case null, default -> null;
+        };
+    }
+
+    private static String leadingProperty(Sort sort) {
+        return sort.stream().findFirst().map(Sort.Order::getProperty).orElse(null);
+    }
+}
@@ -1,19 +1,33 @@
 package com.catanio.ecommerce.application.product;
 
 import com.catanio.ecommerce.application.category.CategoryService;
+import com.catanio.ecommerce.config.CacheConfig;
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
 import com.catanio.ecommerce.domain.catalog.Product;
+import com.catanio.ecommerce.domain.catalog.events.ProductChangedEvent;
+import com.catanio.ecommerce.domain.catalog.events.ProductPriceChangedEvent;
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
 import com.catanio.ecommerce.domain.exception.BusinessException;
 import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
 import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewSpecifications;
 import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductVersion;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -21,9 +35,16 @@ import java.util.UUID;
 public class ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductService.class);
+    private static final int MIN_SEARCH_LENGTH = 3;
 
     private final ProductRepository productRepository;
+    private final CatalogViewRepository catalogViewRepository;
     private final CategoryService categoryService;
+    private final ProductTotalsProvider productTotals;
+    private final ProductFacetsProvider productFacets;
+    private final StockWriteCoalescer stockWriteCoalescer;
+    // ProductChangedEvent mantém catalog_view na mesma transação (CatalogViewProjector)
+    private final ApplicationEventPublisher events;
 
     @Transactional
     public Product create(String name, String description, Money price,
@@ -41,6 +62,9 @@ public class ProductService {
 
         var product = Product.create(name, description, price, stockQuantity, category);
         var saved = productRepository.save(product);
+        events.publishEvent(new ProductChangedEvent(saved.getId()));
+        // primeira linha do ledger: sem ela, o estoque inicial não aparece na reconstrução
+        events.publishEvent(new StockMovedEvent(saved.getId(), stockQuantity, stockQuantity, StockMovementReason.INITIAL, null));
 
         log.info("Product created: id={}, name={}", saved.getId(), saved.getName());
         return saved;
@@ -52,41 +76,70 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", id));
     }
 
+    // só os carimbos de versão — para GET condicional sem carregar o produto
     @Transactional(readOnly = true)
-    public Page<Product> findAll(ProductFilter filter, Pageable pageable) {
-        boolean hasCategory = filter.hasCategoryFilter();
-        boolean hasName = filter.hasNameFilter();
-        boolean hasPrice = filter.hasPriceFilter();
-
-        // filtro combinado: categoria + preço
-        if (hasCategory && hasPrice && !hasName) {
-            return productRepository.findByCategoryIdAndPriceRange(
-                    filter.categoryId(), filter.minPrice(), filter.maxPrice(), pageable
-            );
-        }
+    public ProductVersion findVersion(UUID id) {
+        return productRepository.findActiveVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+    }
 
-        // filtro por categoria somente
-        if (hasCategory) {
-            return productRepository.findByCategoryId(filter.categoryId(), pageable);
-        }
+    // qualquer combinação de filtros numa única consulta ao read model (catalog_view);
+    // o plano diz qual índice deve conduzi-la
+    @Transactional(readOnly = true)
+    public Slice<CatalogEntry> findAll(ProductFilter filter, Pageable pageable) {
+        var plan = ProductQueryPlanner.plan(filter, pageable.getSort());
+        log.debug("Product listing: filter={}, sort={}, expectedIndex={}",
+                filter, pageable.getSort(), plan.drivingIndex());
 
-        // filtro por nome somente
-        if (hasName) {
-            return productRepository.findByNameContaining(filter.name(), pageable);
-        }
+        return catalogViewRepository.findSlice(plan.specification(), pageable);
+    }
 
-        // filtro por preço somente
-        if (hasPrice) {
-            return productRepository.findByPriceRange(
-                    filter.minPrice(), filter.maxPrice(), pageable
+    // busca textual ranqueada por relevância (nome > descrição)
+    @Transactional(readOnly = true)
+    public Slice<Product> search(String query, int page, int size) {
+        var trimmed = query == null ? "" : query.trim();
+        // abaixo de 3 caracteres não há trigrama para o índice — viraria Seq Scan
+        if (trimmed.length() < MIN_SEARCH_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Search query must have at least %d characters".formatted(MIN_SEARCH_LENGTH)
             );
         }
 
-        // sem filtro
-        return productRepository.findAllActive(pageable);
+        var pattern = "%" + escapeLike(trimmed.toLowerCase()) + "%";
+        return productRepository.searchActive(trimmed, pattern, PageRequest.of(page, size));
+    }
+
+    // total de produtos ativos para o filtro — opcional na listagem, pode estar defasado
+    // em até catalog.totals.max-staleness
+    @Transactional(readOnly = true)
+    public long countActive(ProductFilter filter) {
+        return productTotals.totalFor(filter);
+    }
+
+    // contagens por categoria e faixa de preço para o filtro — opcional na listagem (?facets=true),
+    // defasagem máxima em catalog.facets.max-staleness
+    @Transactional(readOnly = true)
+    public ProductFacets facets(ProductFilter filter, List<BigDecimal> priceBoundaries) {
+        return productFacets.facetsFor(filter, priceBoundaries);
+    }
+
+    // keyset pagination — custo constante por página, independente da profundidade
+    // mesmo plano da listagem por offset + o predicado de seek sobre (sortBy, id)
+    @Transactional(readOnly = true)
+    public Slice<CatalogEntry> findAllAfter(ProductFilter filter, ProductCursor cursor, int size) {
+        var plan = ProductQueryPlanner.plan(filter, cursor.sort());
+        log.debug("Product listing after cursor: filter={}, sort={}, expectedIndex={}",
+                filter, cursor.sort(), plan.drivingIndex());
+
+        var spec = plan.specification().and(CatalogViewSpecifications.seekAfter(
+                cursor.sortBy(), cursor.direction(), cursor.key(), cursor.id()
+        ));
+
+        return catalogViewRepository.findSlice(spec, PageRequest.of(0, size, cursor.sort()));
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCT_DETAILS, key = "#id")
     public Product update(UUID id, String name, String description,
                           Money price, UUID categoryId) {
         log.debug("Updating product: id={}", id);
@@ -108,32 +161,43 @@ public class ProductService {
             );
         }
 
+        boolean priceChanged = !product.getPrice().equals(price);
         product.updateDetails(name, description, price);
         var updated = productRepository.save(product);
+        events.publishEvent(new ProductChangedEvent(id));
+        if (priceChanged) {
+            events.publishEvent(new ProductPriceChangedEvent(id, price));
+        }
 
         log.info("Product updated: id={}, name={}", updated.getId(), updated.getName());
         return updated;
     }
 
-    @Transactional
+    // sem @Transactional aqui: a transação é a do StockWriter. Com coalescência ligada a chamada
+    // espera o flush da janela — não pode ficar segurando uma conexão enquanto isso
+    @CacheEvict(cacheNames = CacheConfig.PRODUCT_DETAILS, key = "#id")
     public void adjustStock(UUID id, int quantity) {
         log.debug("Adjusting stock: productId={}, quantity={}", id, quantity);
 
-        var product = findById(id);
-        product.adjustStock(quantity);
-        productRepository.save(product);
+        int newStock = stockWriteCoalescer.adjust(id, quantity);
 
-        log.info("Stock adjusted: productId={}, newStock={}", id, product.getStockQuantity());
+        log.info("Stock adjusted: productId={}, newStock={}", id, newStock);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCT_DETAILS, key = "#id")
     public void delete(UUID id) {
         log.debug("Soft deleting product: id={}", id);
 
         var product = findById(id);
         product.softDelete();
         productRepository.save(product);
+        events.publishEvent(new ProductChangedEvent(id));
 
         log.info("Product soft deleted: id={}", id);
     }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
@@ -0,0 +1,12 @@
+package com.catanio.ecommerce.application.product;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.totals")
+public record ProductTotalsProperties(
+        @DefaultValue("30s") Duration maxStaleness,
+        @DefaultValue("10000") long maxEntries
+) {}
@@ -0,0 +1,44 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+// Totais da listagem de produtos, servidos fora do caminho da query paginada.
+// - sem filtro / só categoria: tabela category_product_counts (mantida por trigger, exata)
+// - demais combinações: COUNT exato sobre catalog_view, mas memorizado por filtro
+// Todo total pode estar defasado em até maxStaleness.
+@Component
+public class ProductTotalsProvider {
+
+    private final ProductRepository productRepository;
+    private final CatalogViewRepository catalogViewRepository;
+    private final Cache<ProductFilter, Long> totals;
+
+    public ProductTotalsProvider(ProductRepository productRepository,
+                                 CatalogViewRepository catalogViewRepository,
+                                 ProductTotalsProperties properties) {
+        this.productRepository = productRepository;
+        this.catalogViewRepository = catalogViewRepository;
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfterWrite(properties.maxStaleness())
+                .build();
+    }
+
+    public long totalFor(ProductFilter filter) {
+        return totals.get(filter, this::load);
+    }
+
+    private long load(ProductFilter filter) {
+        if (filter.isUnfiltered()) {
+            return productRepository.countActiveFromCounters();
+        }
+        if (filter.hasCategoryFilter() && !filter.hasNameFilter() && !filter.hasPriceFilter()) {
+            return productRepository.countActiveFromCountersByCategoryId(filter.categoryId());
+        }
+        return catalogViewRepository.count(filter.toSpecification());
+    }
+}
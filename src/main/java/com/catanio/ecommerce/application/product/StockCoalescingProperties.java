@@ -0,0 +1,18 @@
+package com.catanio.ecommerce.application.product;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// enabled: desligado por padrão — cada ajuste vira seu próprio UPDATE.
+// window: quanto tempo os ajustes de um produto acumulam antes do flush (latência extra máxima por chamada).
+// flushThreads: produtos distintos gravados em paralelo a cada janela (cada um ocupa uma conexão).
+// writeTimeout: quanto o UPDATE de um lote pode levar; quem chama espera no máximo window + writeTimeout
+@ConfigurationProperties(prefix = "catalog.stock.coalescing")
+public record StockCoalescingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5ms") Duration window,
+        @DefaultValue("4") int flushThreads,
+        @DefaultValue("5s") Duration writeTimeout
+) {}
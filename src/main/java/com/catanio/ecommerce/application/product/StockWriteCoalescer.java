@@ -0,0 +1,200 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.domain.exception.StockWriteUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Coalescência de escritas de estoque para SKUs quentes (promoções).
+// Ajustes do mesmo produto que chegam dentro da janela viram um único UPDATE (StockWriter.adjustAll):
+// um lock de linha por produto por janela em vez de um por chamada.
+// Quem chama bloqueia até o flush (no máximo window + writeTimeout) e recebe o próprio resultado
+// (novo estoque ou estoque insuficiente). Depois do início do shutdown, novos ajustes são recusados.
+// Recusa, espera esgotada ou interrupção: StockWriteUnavailableException (503), dizendo se o ajuste
+// ficou de fora ou se o resultado é desconhecido.
+// Desligado (catalog.stock.coalescing.enabled=false): repassa direto para StockWriter.adjust.
+// Métricas: catalog.stock.adjustments / catalog.stock.writes = fator de compressão;
+// catalog.stock.batch.size = ajustes por UPDATE
+@Component
+public class StockWriteCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(StockWriteCoalescer.class);
+
+    private final StockWriter stockWriter;
+    private final StockCoalescingProperties properties;
+    private final ConcurrentHashMap<UUID, List<PendingAdjustment>> pending = new ConcurrentHashMap<>();
+    private final Counter adjustments;
+    private final Counter writes;
+    private final DistributionSummary batchSize;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService flushExecutor;
+    private final long awaitNanos;
+    private volatile boolean running = true;
+
+    public StockWriteCoalescer(StockWriter stockWriter,
+                               StockCoalescingProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.stockWriter = stockWriter;
+        this.properties = properties;
+        this.adjustments = Counter.builder("catalog.stock.adjustments")
+                .description("Stock adjustments requested")
+                .register(meterRegistry);
+        this.writes = Counter.builder("catalog.stock.writes")
+                .description("Stock UPDATE statements issued for those adjustments")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("catalog.stock.batch.size")
+                .description("Stock adjustments merged into a single UPDATE")
+                .register(meterRegistry);
+
+        if (properties.enabled()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("stock-coalescer").factory());
+            this.flushExecutor = Executors.newFixedThreadPool(
+                    properties.flushThreads(), Thread.ofPlatform().name("stock-flush-", 0).factory()
+            );
+            long windowNanos = properties.window().toNanos();
+            // fixed delay: a próxima janela só começa depois do flush da anterior
+            scheduler.scheduleWithFixedDelay(this::flushSafely, windowNanos, windowNanos, TimeUnit.NANOSECONDS);
+        } else {
+            this.scheduler = null;
+            this.flushExecutor = null;
+        }
+        this.awaitNanos = properties.window().plus(properties.writeTimeout()).toNanos();
+    }
+
+    // novo estoque; IllegalArgumentException se insuficiente, ResourceNotFoundException se o produto não existe,
+    // StockWriteUnavailableException se não deu para gravar agora
+    public int adjust(UUID id, int delta) {
+        adjustments.increment();
+        if (!properties.enabled()) {
+            writes.increment();
+            batchSize.record(1);
+            return stockWriter.adjust(id, delta);
+        }
+        if (!running) {
+            throw new StockWriteUnavailableException(
+                    "Stock coalescer is shutting down; adjustment for product %s was not applied".formatted(id));
+        }
+
+        var adjustment = new PendingAdjustment(delta, new CompletableFuture<>());
+        pending.compute(id, (key, batch) -> {
+            var list = batch == null ? new ArrayList<PendingAdjustment>() : batch;
+            list.add(adjustment);
+            return list;
+        });
+        return await(id, adjustment);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        // o que chegou depois da última janela ainda é gravado
+        flushSafely();
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // exceção no scheduler cancelaria as próximas janelas
+            log.error("Stock coalescer flush failed", e);
+        }
+    }
+
+    private void flush() {
+        var flushes = new ArrayList<CompletableFuture<Void>>();
+        for (var id : pending.keySet()) {
+            // remove é atômico com o compute de adjust: cada ajuste cai neste lote ou no próximo
+            var batch = pending.remove(id);
+            if (batch != null) {
+                flushes.add(CompletableFuture.runAsync(() -> write(id, batch), flushExecutor));
+            }
+        }
+        CompletableFuture.allOf(flushes.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void write(UUID id, List<PendingAdjustment> batch) {
+        try {
+            var outcomes = stockWriter.adjustAll(id, batch.stream().map(PendingAdjustment::delta).toList());
+            writes.increment();
+            batchSize.record(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                var adjustment = batch.get(i);
+                var outcome = outcomes.get(i);
+                if (outcome.applied()) {
+                    adjustment.result().complete(outcome.stock());
+                } else {
+                    adjustment.result().completeExceptionally(
+                            StockWriter.insufficientStock(outcome.stock(), adjustment.delta())
+                    );
+                }
+            }
+            log.debug("Stock batch flushed: productId={}, adjustments={}", id, batch.size());
+        } catch (RuntimeException e) {
+            // falha do lote inteiro (produto inexistente, banco fora): todos recebem o mesmo erro
+            batch.forEach(adjustment -> adjustment.result().completeExceptionally(e));
+        }
+    }
+
+    private int await(UUID id, PendingAdjustment adjustment) {
+        try {
+            return adjustment.result().get(awaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Stock adjustment failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw unavailable(id, adjustment, "timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable(id, adjustment, "was interrupted", e);
+        }
+    }
+
+    // ainda na fila (ex.: entrou junto com o shutdown): sai dela e com certeza não é aplicado.
+    // Já com o flush em andamento, o resultado fica indefinido
+    private StockWriteUnavailableException unavailable(UUID id, PendingAdjustment adjustment, String reason, Exception cause) {
+        if (withdraw(id, adjustment)) {
+            return new StockWriteUnavailableException(
+                    "Stock adjustment for product %s %s before being written; it was withdrawn and not applied"
+                            .formatted(id, reason), cause);
+        }
+        return new StockWriteUnavailableException(
+                "Stock adjustment for product %s %s while being written; its outcome is unknown"
+                        .formatted(id, reason), cause);
+    }
+
+    private boolean withdraw(UUID id, PendingAdjustment adjustment) {
+        var withdrawn = new boolean[1];
+        pending.computeIfPresent(id, (key, batch) -> {
+            withdrawn[0] = batch.remove(adjustment);
+            return batch.isEmpty() ? null : batch;
+        });
+        return withdrawn[0];
+    }
+
+    private record PendingAdjustment(int delta, CompletableFuture<Integer> result) {}
+}
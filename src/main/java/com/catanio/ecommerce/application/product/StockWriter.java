@@ -0,0 +1,127 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.domain.catalog.events.ProductChangedEvent;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+// Escrita de estoque: UPDATE condicional atômico (ProductRepository.adjustStock).
+// adjust: um ajuste, um statement. adjustAll: vários ajustes do mesmo produto (StockWriteCoalescer)
+// somados num único UPDATE, com resultado individual por ajuste.
+@Service
+@RequiredArgsConstructor
+public class StockWriter {
+
+    private final ProductRepository productRepository;
+    // ProductChangedEvent mantém catalog_view na mesma transação (CatalogViewProjector);
+    // StockMovedEvent vai para o ledger depois do commit (StockMovementRecorder)
+    private final ApplicationEventPublisher events;
+
+    // stock = estoque físico depois do ajuste (applied) ou o disponível que o recusou
+    public record Outcome(boolean applied, int stock) {}
+
+    @Transactional
+    public int adjust(UUID id, int delta) {
+        // sem carregar a entidade, sem lost update entre ajustes concorrentes
+        var newStock = productRepository.adjustStock(id, delta)
+                .orElseThrow(() -> rejected(id, delta));
+        events.publishEvent(new ProductChangedEvent(id));
+        events.publishEvent(new StockMovedEvent(id, delta, newStock, StockMovementReason.ADJUSTMENT, null));
+        return newStock;
+    }
+
+    // Ajustes concorrentes não têm ordem entre si: entradas são aplicadas antes das saídas,
+    // e as saídas na ordem de chegada. Caminho normal: a soma cabe no estoque → 1 UPDATE.
+    // Senão: trava a linha, decide quem cabe e grava só a soma dos aceitos.
+    @Transactional
+    public List<Outcome> adjustAll(UUID id, List<Integer> deltas) {
+        int net = deltas.stream().mapToInt(Integer::intValue).sum();
+
+        var newStock = productRepository.adjustStock(id, net);
+        if (newStock.isPresent()) {
+            // a soma coube: nenhuma ordem dos ajustes desce abaixo do reservado
+            var outcomes = allocate(newStock.get() - net, 0, deltas);
+            published(id, deltas, outcomes);
+            return outcomes;
+        }
+
+        var level = productRepository.lockStock(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        var outcomes = allocate(level.onHand(), level.reserved(), deltas);
+        int accepted = 0;
+        for (int i = 0; i < deltas.size(); i++) {
+            if (outcomes.get(i).applied()) {
+                accepted += deltas.get(i);
+            }
+        }
+        // linha já travada: o UPDATE condicional não tem como falhar aqui
+        if (accepted != 0 && productRepository.adjustStock(id, accepted).isEmpty()) {
+            throw new IllegalStateException("Stock changed under lock for product " + id);
+        }
+        published(id, deltas, outcomes);
+        return outcomes;
+    }
+
+    // um movimento no ledger por ajuste aceito, não um pela soma: a trilha mostra cada PATCH.
+    // stockAfter segue a ordem de allocate (entradas primeiro), a mesma devolvida a cada chamador
+    private void published(UUID id, List<Integer> deltas, List<Outcome> outcomes) {
+        if (outcomes.stream().noneMatch(Outcome::applied)) {
+            return;
+        }
+        events.publishEvent(new ProductChangedEvent(id));
+        for (int i = 0; i < deltas.size(); i++) {
+            if (outcomes.get(i).applied()) {
+                events.publishEvent(new StockMovedEvent(
+                        id, deltas.get(i), outcomes.get(i).stock(), StockMovementReason.ADJUSTMENT, null
+                ));
+            }
+        }
+    }
+
+    // resultado de cada ajuste a partir do estoque inicial, entradas primeiro;
+    // uma saída só cabe se o físico não descer abaixo de reserved
+    static List<Outcome> allocate(int initialStock, int reserved, List<Integer> deltas) {
+        var outcomes = new Outcome[deltas.size()];
+        int running = initialStock;
+        for (int i = 0; i < deltas.size(); i++) {
+            if (deltas.get(i) > 0) {
+                running += deltas.get(i);
+                outcomes[i] = new Outcome(true, running);
+            }
+        }
+        for (int i = 0; i < deltas.size(); i++) {
+            int delta = deltas.get(i);
+            if (delta > 0) {
+                continue;
+            }
+            if (running + delta >= reserved) {
+                running += delta;
+                outcomes[i] = new Outcome(true, running);
+            } else {
+                outcomes[i] = new Outcome(false, running - reserved);
+            }
+        }
+        return List.of(outcomes);
+    }
+
+    static IllegalArgumentException insufficientStock(int available, int delta) {
+        return new IllegalArgumentException(
+                "Insufficient stock. Available: %d, Requested: %d".formatted(available, Math.abs(delta))
+        );
+    }
+
+    // UPDATE não casou: só o caminho de erro lê a linha, para responder 404 ou estoque insuficiente
+    private RuntimeException rejected(UUID id, int delta) {
+        var level = productRepository.findStockLevel(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        return insufficientStock(level.available(), delta);
+    }
+}
@@ -0,0 +1,54 @@
+package com.catanio.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+// Caches locais (Caffeine) do catálogo.
+// - order HIGHEST_PRECEDENCE: o cache fica por fora do @Transactional — hit não abre transação
+//   nem pega conexão do pool
+// - TransactionAware: evict/put dentro de uma transação só acontecem após o commit,
+//   senão um leitor concorrente recarrega o valor antigo antes do commit
+// - recordStats: hit/miss expostos pelo actuator em /actuator/metrics/cache.gets
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_LIST = "categoryList";
+    public static final String PRODUCT_DETAILS = "productDetails";
+
+    @Bean
+    public CacheManager cacheManager(CategoryCacheProperties categoryCache, ProductCacheProperties productCache) {
+        var manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        manager.registerCustomCache(CATEGORIES, Caffeine.newBuilder()
+                .maximumSize(categoryCache.maxEntries())
+                .expireAfterWrite(categoryCache.ttl())
+                .recordStats()
+                .build());
+        manager.registerCustomCache(CATEGORY_LIST, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(categoryCache.ttl())
+                .recordStats()
+                .build());
+        // JSON pronto do GET /products/{id}: hit não passa por Hibernate nem Jackson.
+        // Valores implementam Weighted
+        manager.registerCustomCache(PRODUCT_DETAILS, Caffeine.newBuilder()
+                .maximumWeight(productCache.maxWeight().toBytes())
+                .weigher((Object id, Object detail) -> ((Weighted) detail).weight())
+                .expireAfterWrite(productCache.ttl())
+                .recordStats()
+                .build());
+        // sem caches dinâmicos: nome desconhecido é erro de configuração, não um cache sem limite
+        manager.setCacheNames(List.of());
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+}
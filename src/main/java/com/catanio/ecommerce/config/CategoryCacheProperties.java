@@ -0,0 +1,12 @@
+package com.catanio.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.categories.cache")
+public record CategoryCacheProperties(
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("1000") long maxEntries
+) {}
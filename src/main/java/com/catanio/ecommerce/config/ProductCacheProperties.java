@@ -0,0 +1,15 @@
+package com.catanio.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+// Cache do detalhe de produto — limitado por bytes, não por quantidade:
+// cada entrada pesa o tamanho do JSON serializado
+@ConfigurationProperties(prefix = "catalog.products.cache")
+public record ProductCacheProperties(
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("64MB") DataSize maxWeight
+) {}
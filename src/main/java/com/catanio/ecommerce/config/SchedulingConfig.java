@@ -0,0 +1,12 @@
+package com.catanio.ecommerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Jobs periódicos (@Scheduled), ex.: ReservationExpiryJob, CartWriteBehind.
+// Pool do scheduler em spring.task.scheduling.pool.size: jobs lentos não seguram os de 1s.
+// Cada réplica roda os seus; os jobs usam FOR UPDATE SKIP LOCKED para não disputar as mesmas linhas
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,9 @@
+package com.catanio.ecommerce.config;
+
+// Valor de um cache limitado por peso (maximumWeight): o weigher do CacheConfig só conhece este
+// contrato, não o tipo concreto de quem grava no cache
+public interface Weighted {
+
+    // bytes ocupados pelo valor, aproximado
+    int weight();
+}
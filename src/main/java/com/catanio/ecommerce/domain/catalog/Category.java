@@ -15,6 +15,9 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Category {
 
+    // teto do limite de estoque baixo: acima disso o idx_products_low_stock não cobre a consulta
+    public static final int MAX_LOW_STOCK_THRESHOLD = 100;
+
     @Id
     @GeneratedValue
     @UuidGenerator(style = UuidGenerator.Style.TIME)
@@ -26,6 +29,10 @@ public class Category {
     @Column(length = 500)
     private String description;
 
+    // null = limite global (inventory.low-stock.threshold)
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -53,6 +60,15 @@ public class Category {
         this.updatedAt = Instant.now();
     }
 
+    public void changeLowStockThreshold(Integer threshold) {
+        if (threshold != null && (threshold < 0 || threshold > MAX_LOW_STOCK_THRESHOLD)) {
+            throw new IllegalArgumentException(
+                    "Low stock threshold must be between 0 and " + MAX_LOW_STOCK_THRESHOLD
+            );
+        }
+        this.lowStockThreshold = threshold;
+    }
+
     @PrePersist
     private void prePersist() {
         if (this.createdAt == null) this.createdAt = Instant.now();
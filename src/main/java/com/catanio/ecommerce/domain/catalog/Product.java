@@ -14,8 +14,7 @@ import java.util.UUID;
 @Entity
 @Table(name = "products", indexes = {
         @Index(name = "idx_products_category_id", columnList = "category_id"),
-        @Index(name = "idx_products_active",      columnList = "deleted_at"),
-        @Index(name = "idx_products_catalog",     columnList = "category_id, price")
+        @Index(name = "idx_products_active",      columnList = "deleted_at")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -38,6 +37,10 @@ public class Product {
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity;
 
+    // soma das reservas ativas — escrita só pelos UPDATEs de reserva (ProductRepository), nunca pela entidade
+    @Column(name = "reserved_quantity", nullable = false, insertable = false, updatable = false)
+    private int reservedQuantity;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
@@ -82,17 +85,23 @@ public class Product {
     }
 
     public void adjustStock(int quantity) {
-        if (this.stockQuantity + quantity < 0) {
+        if (this.stockQuantity + quantity < this.reservedQuantity) {
             throw new IllegalArgumentException(
-                    "Insufficient stock. Available: %d, Requested: %d".formatted(this.stockQuantity, Math.abs(quantity))
+                    "Insufficient stock. Available: %d, Requested: %d".formatted(getAvailableQuantity(), Math.abs(quantity))
             );
         }
         this.stockQuantity += quantity;
         this.updatedAt = Instant.now();
     }
 
+    // físico menos o que já está reservado para pedidos em pagamento
+    public int getAvailableQuantity() {
+        return this.stockQuantity - this.reservedQuantity;
+    }
+
+    // à venda = sobra estoque depois das reservas ativas
     public boolean isAvailable() {
-        return this.deletedAt == null && this.stockQuantity > 0;
+        return this.deletedAt == null && getAvailableQuantity() > 0;
     }
 
     public boolean isActive() {
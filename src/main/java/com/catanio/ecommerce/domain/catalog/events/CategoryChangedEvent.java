@@ -0,0 +1,14 @@
+package com.catanio.ecommerce.domain.catalog.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Categoria renomeada/alterada — afeta tudo que embute dados da categoria
+public record CategoryChangedEvent(
+        UUID categoryId,
+        Instant occurredAt
+) {
+    public CategoryChangedEvent(UUID categoryId) {
+        this(categoryId, Instant.now());
+    }
+}
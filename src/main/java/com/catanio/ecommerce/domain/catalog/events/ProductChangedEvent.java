@@ -0,0 +1,14 @@
+package com.catanio.ecommerce.domain.catalog.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Produto criado, alterado, com estoque ajustado ou removido (soft delete)
+public record ProductChangedEvent(
+        UUID productId,
+        Instant occurredAt
+) {
+    public ProductChangedEvent(UUID productId) {
+        this(productId, Instant.now());
+    }
+}
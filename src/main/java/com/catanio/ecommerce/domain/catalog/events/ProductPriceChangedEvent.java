@@ -0,0 +1,17 @@
+package com.catanio.ecommerce.domain.catalog.events;
+
+import com.catanio.ecommerce.domain.shared.Money;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Preço do produto alterado — carrinhos com o produto são repreçados (CartRepricer)
+public record ProductPriceChangedEvent(
+        UUID productId,
+        Money price,
+        Instant occurredAt
+) {
+    public ProductPriceChangedEvent(UUID productId, Money price) {
+        this(productId, price, Instant.now());
+    }
+}
@@ -0,0 +1,15 @@
+package com.catanio.ecommerce.domain.catalog.events;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// Lote de produtos criados pelo import em lote — um evento por lote, não por produto
+public record ProductsImportedEvent(
+        List<UUID> productIds,
+        Instant occurredAt
+) {
+    public ProductsImportedEvent(List<UUID> productIds) {
+        this(productIds, Instant.now());
+    }
+}
@@ -0,0 +1,15 @@
+package com.catanio.ecommerce.domain.catalog.events;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// Estoque de vários produtos mudou no mesmo statement (checkout) — um evento para todos, não um por produto
+public record ProductsStockChangedEvent(
+        List<UUID> productIds,
+        Instant occurredAt
+) {
+    public ProductsStockChangedEvent(List<UUID> productIds) {
+        this(productIds, Instant.now());
+    }
+}
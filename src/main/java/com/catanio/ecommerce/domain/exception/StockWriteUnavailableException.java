@@ -0,0 +1,15 @@
+package com.catanio.ecommerce.domain.exception;
+
+// Ajuste de estoque que não pôde ser concluído agora (coalescer desligando, espera esgotada).
+// A mensagem diz se o ajuste não foi aplicado (pode repetir) ou se o resultado é desconhecido
+// (pode ter sido gravado: conferir o estoque antes de repetir)
+public class StockWriteUnavailableException extends RuntimeException {
+
+    public StockWriteUnavailableException(String message) {
+        super(message);
+    }
+
+    public StockWriteUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
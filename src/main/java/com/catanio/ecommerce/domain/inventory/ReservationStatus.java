@@ -0,0 +1,9 @@
+package com.catanio.ecommerce.domain.inventory;
+
+// ACTIVE segura estoque; os demais são finais
+public enum ReservationStatus {
+    ACTIVE,
+    CONFIRMED, // pagamento aprovado: a quantidade saiu do estoque físico
+    RELEASED,  // pagamento recusado ou pedido cancelado
+    EXPIRED    // TTL venceu antes da confirmação
+}
@@ -0,0 +1,40 @@
+package com.catanio.ecommerce.domain.inventory;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Linha do ledger de estoque, só leitura: as gravações saem em lote pelo StockMovementRecorder
+@Entity
+@Immutable
+@Table(name = "stock_movements")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockMovement {
+
+    @Id
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(nullable = false)
+    private int delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private StockMovementReason reason;
+
+    private UUID reference;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+}
@@ -0,0 +1,13 @@
+package com.catanio.ecommerce.domain.inventory;
+
+// Origem de uma linha de stock_movements
+public enum StockMovementReason {
+    // estoque informado na criação do produto (cadastro ou import)
+    INITIAL,
+    // PATCH /products/{id}/stock
+    ADJUSTMENT,
+    // reserva confirmada no pagamento: a quantidade sai do estoque físico
+    RESERVATION_CONFIRMED,
+    // baixa direta no checkout, antes das reservas (RF05): só em movimentos antigos; reference = id do pedido
+    CHECKOUT
+}
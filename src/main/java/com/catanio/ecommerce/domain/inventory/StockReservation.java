@@ -0,0 +1,83 @@
+package com.catanio.ecommerce.domain.inventory;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "stock_reservations")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockReservation {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.TIME)
+    private UUID id;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private UUID productId;
+
+    @Column(name = "order_id", updatable = false)
+    private UUID orderId;
+
+    @Column(nullable = false, updatable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "released_at")
+    private Instant releasedAt;
+
+    public static StockReservation create(UUID productId, UUID orderId, int quantity, Instant expiresAt) {
+        if (productId == null) throw new IllegalArgumentException("ProductId is required");
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be greater than zero");
+        var reservation = new StockReservation();
+        reservation.productId = productId;
+        reservation.orderId = orderId;
+        reservation.quantity = quantity;
+        reservation.status = ReservationStatus.ACTIVE;
+        reservation.createdAt = Instant.now();
+        reservation.expiresAt = expiresAt;
+        return reservation;
+    }
+
+    public void confirm() {
+        close(ReservationStatus.CONFIRMED);
+    }
+
+    public void release() {
+        close(ReservationStatus.RELEASED);
+    }
+
+    public void expire() {
+        close(ReservationStatus.EXPIRED);
+    }
+
+    public boolean isActive() {
+        return this.status == ReservationStatus.ACTIVE;
+    }
+
+    private void close(ReservationStatus target) {
+        if (this.status != ReservationStatus.ACTIVE) {
+            throw new IllegalStateException(
+                    "Invalid transition. Expected: %s, Current: %s".formatted(ReservationStatus.ACTIVE, this.status)
+            );
+        }
+        this.status = target;
+        this.releasedAt = Instant.now();
+    }
+}
@@ -0,0 +1,17 @@
+package com.catanio.ecommerce.domain.inventory.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Estoque físico de um produto cruzou o limite de estoque baixo para baixo (LowStockDetector)
+public record LowStockDetectedEvent(
+        UUID productId,
+        UUID categoryId,
+        int stockQuantity,
+        int threshold,
+        Instant occurredAt
+) {
+    public LowStockDetectedEvent(UUID productId, UUID categoryId, int stockQuantity, int threshold) {
+        this(productId, categoryId, stockQuantity, threshold, Instant.now());
+    }
+}
@@ -0,0 +1,21 @@
+package com.catanio.ecommerce.domain.inventory.events;
+
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Estoque físico de um produto mudou em delta unidades e ficou em stockAfter.
+// reference: o que causou a mudança quando há um id para isso (reserva confirmada, pedido), senão null
+public record StockMovedEvent(
+        UUID productId,
+        int delta,
+        int stockAfter,
+        StockMovementReason reason,
+        UUID reference,
+        Instant occurredAt
+) {
+    public StockMovedEvent(UUID productId, int delta, int stockAfter, StockMovementReason reason, UUID reference) {
+        this(productId, delta, stockAfter, reason, reference, Instant.now());
+    }
+}
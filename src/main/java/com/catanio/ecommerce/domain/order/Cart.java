@@ -8,9 +8,11 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -27,8 +29,10 @@ public class Cart {
     @Column(name = "user_id", nullable = false, unique = true)
     private UUID userId;
 
+    // indexado por produto: inclusão, alteração e remoção sem percorrer as linhas
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<CartItem> items = new ArrayList<>();
+    @MapKey(name = "productId")
+    private Map<UUID, CartItem> items = new LinkedHashMap<>();
 
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
@@ -36,6 +40,20 @@ public class Cart {
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
 
+    // totais correntes, ajustados a cada mudança de linha. Não persistidos: somados uma única vez
+    // no primeiro uso depois de carregado do banco (totalsLoaded). Total em centavos: leitura sem BigDecimal
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private long totalCents;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean totalsLoaded;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private int quantity;
+
     public static Cart create(UUID userId) {
         var cart = new Cart();
         cart.userId = userId;
@@ -48,31 +66,62 @@ public class Cart {
         if (quantity <= 0 || quantity > 99) {
             throw new IllegalArgumentException("Quantity must be between 1 and 99");
         }
-        items.stream()
-                .filter(i -> i.getProductId().equals(productId))
-                .findFirst()
-                .ifPresentOrElse(
-                        item -> item.updateQuantity(quantity),
-                        () -> items.add(CartItem.create(this, productId, productName, unitPrice, quantity))
-                );
+        ensureTotals();
+        var item = items.get(productId);
+        if (item == null) {
+            item = CartItem.create(this, productId, productName, unitPrice, quantity);
+            items.put(productId, item);
+            applyDelta(item, quantity);
+        } else {
+            int previous = item.getQuantity();
+            item.updateQuantity(quantity);
+            applyDelta(item, quantity - previous);
+        }
         this.updatedAt = Instant.now();
         refreshExpiration();
     }
 
     public void removeItem(UUID productId) {
-        items.removeIf(i -> i.getProductId().equals(productId));
+        ensureTotals();
+        var item = items.remove(productId);
+        if (item != null) {
+            applyDelta(item, -item.getQuantity());
+        }
         this.updatedAt = Instant.now();
     }
 
+    // preço do catálogo mudou: só o preço da linha, sem estender a expiração (não é atividade do usuário).
+    // false se o produto não está no carrinho ou o preço já é esse
+    public boolean reprice(UUID productId, Money unitPrice) {
+        var item = items.get(productId);
+        if (item == null || item.getUnitPrice().compareTo(unitPrice.amount()) == 0) {
+            return false;
+        }
+        ensureTotals();
+        applyDelta(item, -item.getQuantity());
+        item.changeUnitPrice(unitPrice);
+        applyDelta(item, item.getQuantity());
+        this.updatedAt = Instant.now();
+        return true;
+    }
+
     public void clear() {
         items.clear();
+        this.totalCents = 0;
+        this.totalsLoaded = true;
+        this.quantity = 0;
         this.updatedAt = Instant.now();
     }
 
     public Money calculateTotal() {
-        return items.stream()
-                .map(CartItem::subtotal)
-                .reduce(Money.zero(), Money::add);
+        ensureTotals();
+        return Money.ofCents(totalCents);
+    }
+
+    // O(1): lidos dos totais correntes, sem percorrer as linhas
+    public CartTotals totals() {
+        ensureTotals();
+        return new CartTotals(items.size(), quantity, Money.ofCents(totalCents));
     }
 
     public boolean isEmpty() {
@@ -83,8 +132,33 @@ public class Cart {
         return Instant.now().isAfter(expiresAt);
     }
 
-    public List<CartItem> getItems() {
-        return Collections.unmodifiableList(items);
+    public Collection<CartItem> getItems() {
+        return Collections.unmodifiableCollection(items.values());
+    }
+
+    public Set<UUID> productIds() {
+        return Collections.unmodifiableSet(items.keySet());
+    }
+
+    private void ensureTotals() {
+        if (totalsLoaded) {
+            return;
+        }
+        long sum = 0;
+        int units = 0;
+        for (var item : items.values()) {
+            sum = Math.addExact(sum, item.subtotal().cents());
+            units += item.getQuantity();
+        }
+        this.totalCents = sum;
+        this.quantity = units;
+        this.totalsLoaded = true;
+    }
+
+    // delta negativo na remoção ou quando a quantidade diminui
+    private void applyDelta(CartItem item, int units) {
+        this.totalCents = Math.addExact(totalCents, Math.multiplyExact(Money.of(item.getUnitPrice()).cents(), (long) units));
+        this.quantity += units;
     }
 
     private void refreshExpiration() {
@@ -12,7 +12,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "cart_items", indexes = {
-        @Index(name = "idx_cart_items_cart_id", columnList = "cart_id")
+        @Index(name = "idx_cart_items_cart_id", columnList = "cart_id"),
+        @Index(name = "idx_cart_items_product_id", columnList = "product_id")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -57,6 +58,10 @@ public class CartItem {
         this.quantity = quantity;
     }
 
+    void changeUnitPrice(Money unitPrice) {
+        this.unitPrice = unitPrice.amount();
+    }
+
     public Money subtotal() {
         return Money.of(this.unitPrice).multiply(this.quantity);
     }
@@ -0,0 +1,11 @@
+package com.catanio.ecommerce.domain.order;
+
+import com.catanio.ecommerce.domain.shared.Money;
+
+// lines: produtos distintos; quantity: unidades somando todas as linhas
+public record CartTotals(int lines, int quantity, Money total) {
+
+    public static CartTotals empty() {
+        return new CartTotals(0, 0, Money.zero());
+    }
+}
@@ -1,6 +1,7 @@
 package com.catanio.ecommerce.domain.order;
 
 import com.catanio.ecommerce.domain.order.events.OrderCreatedEvent;
+import com.catanio.ecommerce.domain.order.events.OrderPaidEvent;
 import com.catanio.ecommerce.domain.shared.Money;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -8,6 +9,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.UuidGenerator;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -16,7 +18,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "orders", indexes = {
-        @Index(name = "idx_orders_user_id_created_at", columnList = "user_id, created_at")
+        @Index(name = "idx_orders_user_id_created_at_id", columnList = "user_id, created_at, id")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -34,6 +36,15 @@ public class Order {
     @Column(nullable = false, length = 30)
     private OrderStatus status;
 
+    // desnormalizados das linhas: histórico lê o pedido sem carregar items
+    @Getter(AccessLevel.NONE)
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    // unidades, não linhas
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
@@ -59,13 +70,14 @@ public class Order {
     public void addItem(UUID productId, String productName, Money unitPrice, int quantity) {
         var item = OrderItem.create(this, productId, productName, unitPrice, quantity);
         this.items.add(item);
+        this.totalAmount = calculateTotal().add(item.subtotal()).amount();
+        this.itemCount += quantity;
         this.updatedAt = Instant.now();
     }
 
+    // total persistido, mantido por addItem — não inicializa items
     public Money calculateTotal() {
-        return items.stream()
-                .map(OrderItem::subtotal)
-                .reduce(Money.zero(), Money::add);
+        return Money.of(this.totalAmount);
     }
 
     public void confirm() {
@@ -79,6 +91,7 @@ public class Order {
         validateCanTransition(OrderStatus.PAYMENT_PROCESSING);
         this.status = OrderStatus.PAID;
         this.updatedAt = Instant.now();
+        domainEvents.add(new OrderPaidEvent(this.id, this.userId));
     }
 
     public void cancel() {
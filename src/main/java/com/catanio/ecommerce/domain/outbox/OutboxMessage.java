@@ -0,0 +1,40 @@
+package com.catanio.ecommerce.domain.outbox;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Evento de domínio aguardando entrega, só leitura: gravado em lote pelo Outbox, consumido pela OutboxRelay
+@Entity
+@Immutable
+@Table(name = "outbox")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxMessage {
+
+    @Id
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
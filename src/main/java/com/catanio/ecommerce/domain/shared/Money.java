@@ -1,41 +1,103 @@
 package com.catanio.ecommerce.domain.shared;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
-public record Money(BigDecimal amount) {
+// Valor monetário em centavos (long). Aritmética sem BigDecimal: add/multiply são uma soma/multiplicação
+// com checagem de overflow e não alocam nada além do resultado (que o JIT costuma eliminar em laços).
+// BigDecimal só nas bordas — amount() para JPA/JSON/DTOs e of(BigDecimal) na entrada, com o mesmo
+// arredondamento de antes (2 casas, HALF_UP). JSON continua {"amount": 10.00}
+public final class Money implements Comparable<Money> {
 
-    public Money {
-        if (amount == null) {
-            throw new IllegalArgumentException("Amount cannot be null");
-        }
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Amount cannot be negative: " + amount);
-        }
-        amount = amount.setScale(2, RoundingMode.HALF_UP);
+    private static final Money ZERO = new Money(0L);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
     }
 
-    public static Money of(BigDecimal amount) {
-        return new Money(amount);
+    public Money(BigDecimal amount) {
+        this(toCents(amount));
+    }
+
+    @JsonCreator
+    public static Money of(@JsonProperty("amount") BigDecimal amount) {
+        return ofCents(toCents(amount));
     }
 
     public static Money of(String amount) {
-        return new Money(new BigDecimal(amount));
+        return of(new BigDecimal(amount));
+    }
+
+    public static Money ofCents(long cents) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative: " + BigDecimal.valueOf(cents, 2));
+        }
+        return cents == 0 ? ZERO : new Money(cents);
     }
 
     public static Money zero() {
-        return new Money(BigDecimal.ZERO);
+        return ZERO;
     }
 
     public Money add(Money other) {
-        return new Money(this.amount.add(other.amount));
+        return ofCents(Math.addExact(this.cents, other.cents));
     }
 
     public Money multiply(int quantity) {
-        return new Money(this.amount.multiply(BigDecimal.valueOf(quantity)));
+        return ofCents(Math.multiplyExact(this.cents, (long) quantity));
     }
 
     public boolean isGreaterThan(Money other) {
-        return this.amount.compareTo(other.amount) > 0;
+        return this.cents > other.cents;
+    }
+
+    // sempre escala 2, como o record antigo
+    @JsonProperty("amount")
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(this.cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Money money && money.cents == this.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return "Money[amount=" + amount() + "]";
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        if (amount.signum() < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative: " + amount);
+        }
+        var scaled = amount.scale() == 2 ? amount : amount.setScale(2, RoundingMode.HALF_UP);
+        try {
+            return scaled.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range: " + amount);
+        }
     }
 }
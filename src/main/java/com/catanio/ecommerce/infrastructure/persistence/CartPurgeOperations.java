@@ -0,0 +1,16 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+// Fragmento do CartRepository: limpeza de carrinhos expirados em JDBC direto
+public interface CartPurgeOperations {
+
+    // apaga carrinhos com expires_at < cutoff (e seus itens) em lotes de batchSize, com pause entre lotes.
+    // Uma instância por vez no cluster (advisory lock de sessão)
+    CartPurgeResult purgeExpired(Instant cutoff, int batchSize, Duration pause);
+
+    // expires_at mais antigo ainda em carts — o lag da limpeza é now - isso
+    Optional<Instant> oldestExpiration();
+}
@@ -0,0 +1,100 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class CartPurgeOperationsImpl implements CartPurgeOperations {
+
+    // chave do advisory lock da limpeza; qualquer instância usa a mesma
+    private static final String LOCK_KEY = "SELECT hashtext('cart_purge')";
+
+    // um lote por statement (e por transação, em autocommit): itens e carrinhos saem juntos.
+    // SKIP LOCKED: carrinho sendo gravado agora pelo write-behind fica para o próximo lote/execução
+    private static final String PURGE_CHUNK_SQL = """
+        WITH doomed AS (
+            SELECT id FROM carts
+            WHERE expires_at < ?
+            ORDER BY expires_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        ), purged_items AS (
+            DELETE FROM cart_items WHERE cart_id IN (SELECT id FROM doomed) RETURNING 1
+        ), purged_carts AS (
+            DELETE FROM carts WHERE id IN (SELECT id FROM doomed) RETURNING 1
+        )
+        SELECT (SELECT count(*) FROM purged_carts), (SELECT count(*) FROM purged_items)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // a execução inteira numa única conexão: o advisory lock é da sessão e vale entre os lotes
+    @Override
+    public CartPurgeResult purgeExpired(Instant cutoff, int batchSize, Duration pause) {
+        return jdbcTemplate.execute((ConnectionCallback<CartPurgeResult>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                return CartPurgeResult.skipped();
+            }
+            try {
+                long carts = 0;
+                long items = 0;
+                while (true) {
+                    var chunk = purgeChunk(connection, cutoff, batchSize);
+                    carts += chunk[0];
+                    items += chunk[1];
+                    if (chunk[0] < batchSize) {
+                        return new CartPurgeResult(true, carts, items);
+                    }
+                    pause(pause);
+                }
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        });
+    }
+
+    @Override
+    public Optional<Instant> oldestExpiration() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT min(expires_at) FROM carts", Timestamp.class))
+            .map(Timestamp::toInstant);
+    }
+
+    private static long[] purgeChunk(Connection connection, Instant cutoff, int batchSize) throws SQLException {
+        try (var statement = connection.prepareStatement(PURGE_CHUNK_SQL)) {
+            statement.setTimestamp(1, Timestamp.from(cutoff));
+            statement.setInt(2, batchSize);
+            try (var rs = statement.executeQuery()) {
+                rs.next();
+                return new long[]{rs.getLong(1), rs.getLong(2)};
+            }
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT " + function + "((" + LOCK_KEY + "))");
+             var rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private static void pause(Duration pause) {
+        if (pause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cart purge interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+// acquired=false: outra instância já estava limpando, nada foi feito
+public record CartPurgeResult(boolean acquired, long carts, long items) {
+
+    public static CartPurgeResult skipped() {
+        return new CartPurgeResult(false, 0, 0);
+    }
+}
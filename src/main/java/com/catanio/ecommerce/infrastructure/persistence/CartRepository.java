@@ -0,0 +1,19 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.order.Cart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// Leitura só na reconstrução do carrinho (CartStore, cache miss); a escrita é o write-behind (CartWriteOperations)
+@Repository
+public interface CartRepository extends JpaRepository<Cart, UUID>, CartWriteOperations, CartPurgeOperations {
+
+    // carrinho + itens num único SELECT — idx carts(user_id) UNIQUE e idx_cart_items_cart_id
+    @Query("SELECT c FROM Cart c LEFT JOIN FETCH c.items WHERE c.userId = :userId")
+    Optional<Cart> findByUserIdWithItems(@Param("userId") UUID userId);
+}
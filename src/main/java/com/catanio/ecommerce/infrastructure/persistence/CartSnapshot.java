@@ -0,0 +1,34 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.order.Cart;
+import com.catanio.ecommerce.domain.order.CartTotals;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// Cópia imutável de um carrinho para o write-behind: tirada sob o lock do shard,
+// gravada depois sem segurar o lock (CartStore → CartWriteOperations).
+// totals vêm dos totais correntes do carrinho; o write-behind não os usa
+public record CartSnapshot(
+        UUID userId,
+        Instant updatedAt,
+        Instant expiresAt,
+        List<Item> items,
+        CartTotals totals
+) {
+    public record Item(UUID productId, String productName, BigDecimal unitPrice, int quantity) {}
+
+    public static CartSnapshot of(Cart cart) {
+        return new CartSnapshot(
+                cart.getUserId(),
+                cart.getUpdatedAt(),
+                cart.getExpiresAt(),
+                cart.getItems().stream()
+                        .map(item -> new Item(item.getProductId(), item.getProductName(), item.getUnitPrice(), item.getQuantity()))
+                        .toList(),
+                cart.totals()
+        );
+    }
+}
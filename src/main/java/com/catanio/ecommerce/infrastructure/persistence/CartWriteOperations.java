@@ -0,0 +1,22 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Fragmento do CartRepository para o write-behind e o repreço: JDBC direto, sem entidades nem orphan removal
+public interface CartWriteOperations {
+
+    // estado completo de cada carrinho: upsert em carts por user_id e itens substituídos.
+    // Três batches JDBC para o lote inteiro, independente de quantos add/remove cada carrinho teve
+    void writeAll(List<CartSnapshot> carts);
+
+    // novo preço unitário das linhas com esses produtos, em carrinhos ainda não expirados.
+    // Um único UPDATE para o lote inteiro; devolve as linhas alteradas
+    int repriceItems(Map<UUID, BigDecimal> prices);
+
+    // todas as linhas do carrinho do usuário — checkout, na mesma transação do pedido.
+    // Devolve as linhas removidas
+    int deleteItems(UUID userId);
+}
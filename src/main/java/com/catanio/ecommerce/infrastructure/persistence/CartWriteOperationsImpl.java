@@ -0,0 +1,103 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class CartWriteOperationsImpl implements CartWriteOperations {
+
+    private static final String UPSERT_CART_SQL = """
+        INSERT INTO carts (user_id, updated_at, expires_at)
+        VALUES (?, ?, ?)
+        ON CONFLICT (user_id) DO UPDATE
+        SET updated_at = EXCLUDED.updated_at,
+            expires_at = EXCLUDED.expires_at
+        """;
+
+    private static final String DELETE_ITEMS_SQL = """
+        DELETE FROM cart_items ci
+        USING carts c
+        WHERE ci.cart_id = c.id AND c.user_id = ANY(?)
+        """;
+
+    private static final String DELETE_USER_ITEMS_SQL = """
+        DELETE FROM cart_items ci
+        USING carts c
+        WHERE ci.cart_id = c.id AND c.user_id = ?
+        """;
+
+    // cart_id resolvido pelo user_id (UNIQUE): o id do carrinho não precisa existir em memória
+    private static final String INSERT_ITEM_SQL = """
+        INSERT INTO cart_items (cart_id, product_id, product_name, unit_price, quantity)
+        SELECT c.id, ?, ?, ?, ? FROM carts c WHERE c.user_id = ?
+        """;
+
+    // pares (produto, preço) chegam como dois arrays paralelos; linhas já no preço não são reescritas
+    private static final String REPRICE_ITEMS_SQL = """
+        UPDATE cart_items ci
+        SET unit_price = p.unit_price
+        FROM unnest(?::uuid[], ?::numeric[]) AS p(product_id, unit_price), carts c
+        WHERE ci.product_id = p.product_id
+          AND ci.unit_price <> p.unit_price
+          AND c.id = ci.cart_id
+          AND c.expires_at > now()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void writeAll(List<CartSnapshot> carts) {
+        if (carts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_CART_SQL, carts, carts.size(), (ps, cart) -> {
+            ps.setObject(1, cart.userId());
+            ps.setTimestamp(2, Timestamp.from(cart.updatedAt()));
+            ps.setTimestamp(3, Timestamp.from(cart.expiresAt()));
+        });
+
+        var userIds = carts.stream().map(CartSnapshot::userId).toArray(UUID[]::new);
+        jdbcTemplate.update(DELETE_ITEMS_SQL,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", userIds)));
+
+        var items = new ArrayList<Object[]>();
+        for (var cart : carts) {
+            for (var item : cart.items()) {
+                items.add(new Object[]{item.productId(), item.productName(), item.unitPrice(), item.quantity(), cart.userId()});
+            }
+        }
+        if (!items.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, items);
+        }
+    }
+
+    @Override
+    public int repriceItems(Map<UUID, BigDecimal> prices) {
+        if (prices.isEmpty()) {
+            return 0;
+        }
+        var productIds = new UUID[prices.size()];
+        var unitPrices = new BigDecimal[prices.size()];
+        int i = 0;
+        for (var entry : prices.entrySet()) {
+            productIds[i] = entry.getKey();
+            unitPrices[i++] = entry.getValue();
+        }
+        return jdbcTemplate.update(REPRICE_ITEMS_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", productIds));
+            ps.setArray(2, ps.getConnection().createArrayOf("numeric", unitPrices));
+        });
+    }
+
+    @Override
+    public int deleteItems(UUID userId) {
+        return jdbcTemplate.update(DELETE_USER_ITEMS_SQL, userId);
+    }
+}
@@ -0,0 +1,6 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.util.UUID;
+
+// Uma célula do agrupamento categoria × faixa de preço; bucket é o índice da faixa (0..N)
+public record CatalogFacetRow(UUID categoryId, String categoryName, int bucket, long count) {}
@@ -0,0 +1,17 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Fragmento do CatalogViewRepository: agregação que o Spring Data não deriva sozinho
+public interface CatalogFacetsQuery {
+
+    // Uma única passada sobre as linhas do filtro, agrupada por (categoria, faixa de preço).
+    // Os dois facets saem da soma das células: por categoria e por faixa
+    List<CatalogFacetRow> countByCategoryAndPriceBucket(
+        Specification<CatalogEntry> spec, List<BigDecimal> priceBoundaries
+    );
+}
@@ -0,0 +1,59 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+class CatalogFacetsQueryImpl implements CatalogFacetsQuery {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CatalogFacetRow> countByCategoryAndPriceBucket(
+        Specification<CatalogEntry> spec, List<BigDecimal> priceBoundaries
+    ) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(CatalogEntry.class);
+
+        Expression<UUID> categoryId = root.get("categoryId");
+        Expression<String> categoryName = root.get("categoryName");
+        var bucket = bucketOf(cb, root.get("price"), priceBoundaries);
+        var count = cb.count(root);
+
+        query.multiselect(categoryId, categoryName, bucket, count)
+            .groupBy(categoryId, categoryName, bucket);
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getResultList().stream()
+            .map(row -> new CatalogFacetRow(
+                row.get(categoryId), row.get(categoryName), row.get(bucket), row.get(count)
+            ))
+            .toList();
+    }
+
+    // CASE WHEN price < b0 THEN 0 WHEN price < b1 THEN 1 ... ELSE N (limites em ordem crescente)
+    private static Expression<Integer> bucketOf(
+        CriteriaBuilder cb, Expression<BigDecimal> price, List<BigDecimal> boundaries
+    ) {
+        if (boundaries.isEmpty()) {
+            return cb.literal(0);
+        }
+        var bucket = cb.<Integer>selectCase();
+        for (int i = 0; i < boundaries.size(); i++) {
+            bucket = bucket.when(cb.lessThan(price, boundaries.get(i)), i);
+        }
+        return bucket.otherwise(boundaries.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// Read model do catálogo (catalog_view). Sem save/delete do Spring Data: as linhas são
+// derivadas de products + categories pelas queries de projeção abaixo.
+@org.springframework.stereotype.Repository
+public interface CatalogViewRepository
+    extends Repository<CatalogEntry, UUID>, JpaSpecificationExecutor<CatalogEntry>, CatalogFacetsQuery {
+
+    String UPSERT_SELECT = """
+        INSERT INTO catalog_view (product_id, name, price, stock_quantity, available,
+                                  category_id, category_name, created_at, updated_at)
+        SELECT p.id, p.name, p.price, p.stock_quantity, p.stock_quantity - p.reserved_quantity > 0,
+               c.id, c.name, p.created_at, GREATEST(p.updated_at, c.updated_at)
+        FROM products p
+        JOIN categories c ON c.id = p.category_id
+        """;
+
+    String UPSERT_CONFLICT = """
+
+        ON CONFLICT (product_id) DO UPDATE SET
+            name           = EXCLUDED.name,
+            price          = EXCLUDED.price,
+            stock_quantity = EXCLUDED.stock_quantity,
+            available      = EXCLUDED.available,
+            category_id    = EXCLUDED.category_id,
+            category_name  = EXCLUDED.category_name,
+            updated_at     = EXCLUDED.updated_at
+        """;
+
+    // Listagem do catálogo — GET /products com qualquer combinação de filtros e cursor.
+    // A Specification vem do ProductQueryPlanner (que também declara o índice esperado).
+    // Slice: o Spring Data busca size + 1 linhas e não executa COUNT(*);
+    // totais, quando pedidos, vêm de ProductTotalsProvider.
+    default Slice<CatalogEntry> findSlice(Specification<CatalogEntry> spec, Pageable pageable) {
+        return findBy(spec, query -> query.slice(pageable));
+    }
+
+    // Projeção: (re)calcula a linha do produto a partir das tabelas de escrita.
+    // flushAutomatically: a alteração do produto ainda pode estar só no contexto de persistência.
+    // Produto inativo não casa o SELECT → nada é inserido (a remoção é deleteIfInactive).
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_SELECT + "WHERE p.id = :productId AND p.deleted_at IS NULL" + UPSERT_CONFLICT, nativeQuery = true)
+    int upsertProduct(@Param("productId") UUID productId);
+
+    // mesma projeção para um lote inteiro (import em lote) — um statement por lote
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_SELECT + "WHERE p.id IN (:productIds) AND p.deleted_at IS NULL" + UPSERT_CONFLICT, nativeQuery = true)
+    int upsertProducts(@Param("productIds") Collection<UUID> productIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = """
+            DELETE FROM catalog_view v
+            WHERE v.product_id = :productId
+              AND NOT EXISTS (SELECT 1 FROM products p WHERE p.id = v.product_id AND p.deleted_at IS NULL)
+            """,
+        nativeQuery = true
+    )
+    int deleteIfInactive(@Param("productId") UUID productId);
+
+    // renomear categoria reescreve só as linhas dela (idx_catalog_view_category_created_at_id)
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = """
+            UPDATE catalog_view v
+            SET category_name = c.name,
+                updated_at    = GREATEST(v.updated_at, c.updated_at)
+            FROM categories c
+            WHERE c.id = :categoryId AND v.category_id = c.id
+            """,
+        nativeQuery = true
+    )
+    int refreshCategory(@Param("categoryId") UUID categoryId);
+}
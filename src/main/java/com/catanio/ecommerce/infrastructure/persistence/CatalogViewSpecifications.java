@@ -0,0 +1,58 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Predicados da listagem sobre catalog_view — só há produtos ativos ali, não existe filtro de deleted_at
+public final class CatalogViewSpecifications {
+
+    private CatalogViewSpecifications() {}
+
+    public static Specification<CatalogEntry> inCategory(UUID categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("categoryId"), categoryId);
+    }
+
+    public static Specification<CatalogEntry> nameContains(String name) {
+        return (root, query, cb) -> cb.like(
+            cb.lower(root.get("name")), "%" + name.toLowerCase() + "%"
+        );
+    }
+
+    public static Specification<CatalogEntry> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<CatalogEntry> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    // Seek: posiciona a leitura logo depois de (key, id) na ordenação (attribute, id).
+    // O limite redundante "attribute <= key" (ou >=) vira Index Cond no Postgres;
+    // sem ele o OR sozinho só serve de Filter e o scan volta a percorrer o índice desde o início.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<CatalogEntry> seekAfter(
+        String attribute, Sort.Direction direction, Comparable<?> key, UUID id
+    ) {
+        return (root, query, cb) -> {
+            Path<Comparable> sortPath = root.get(attribute);
+            Comparable value = key;
+            Path<UUID> idPath = root.get("id");
+
+            if (direction.isAscending()) {
+                return cb.and(
+                    cb.greaterThanOrEqualTo(sortPath, value),
+                    cb.or(cb.greaterThan(sortPath, value), cb.greaterThan(idPath, id))
+                );
+            }
+            return cb.and(
+                cb.lessThanOrEqualTo(sortPath, value),
+                cb.or(cb.lessThan(sortPath, value), cb.lessThan(idPath, id))
+            );
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.util.UUID;
+
+// produto abaixo do limite de estoque baixo; threshold já resolvido (override da categoria ou global)
+public record LowStockRow(
+        UUID productId,
+        String name,
+        UUID categoryId,
+        String categoryName,
+        int stockQuantity,
+        int reservedQuantity,
+        int threshold
+) {}
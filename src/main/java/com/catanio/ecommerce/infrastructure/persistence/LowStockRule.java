@@ -0,0 +1,6 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.util.UUID;
+
+// categoria do produto e o override de limite de estoque baixo dela (null = limite global)
+public record LowStockRule(UUID categoryId, Integer threshold) {}
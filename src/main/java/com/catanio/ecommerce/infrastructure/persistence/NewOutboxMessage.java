@@ -0,0 +1,11 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.util.UUID;
+
+// linha a inserir no outbox; payload já em JSON
+public record NewOutboxMessage(
+        String aggregateType,
+        UUID aggregateId,
+        String eventType,
+        String payload
+) {}
@@ -0,0 +1,16 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+// Produto já validado pronto para INSERT em lote — id gerado na aplicação
+public record NewProductRow(
+        UUID id,
+        String name,
+        String description,
+        BigDecimal price,
+        int stockQuantity,
+        UUID categoryId,
+        Instant createdAt
+) {}
@@ -0,0 +1,49 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.order.Order;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, UUID> {
+
+    // pedido do usuário travado para mudar de status: pagamento e cancelamento simultâneos
+    // não confirmam e soltam as mesmas reservas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id AND o.userId = :userId")
+    Optional<Order> findByIdAndUserIdForUpdate(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // histórico, mais recente primeiro: range scan reverso em idx_orders_user_id_created_at_id,
+    // sem sort e sem tocar order_items. Pageable só para o tamanho (Slice busca size + 1)
+    @Query("""
+        SELECT new com.catanio.ecommerce.infrastructure.persistence.OrderSummary(
+            o.id, o.status, o.totalAmount, o.itemCount, o.createdAt)
+        FROM Order o
+        WHERE o.userId = :userId
+        ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    Slice<OrderSummary> findHistory(@Param("userId") UUID userId, Pageable pageable);
+
+    // página seguinte: seek pela posição do último item, mesma ordem e mesmo índice
+    @Query("""
+        SELECT new com.catanio.ecommerce.infrastructure.persistence.OrderSummary(
+            o.id, o.status, o.totalAmount, o.itemCount, o.createdAt)
+        FROM Order o
+        WHERE o.userId = :userId AND (o.createdAt, o.id) < (:createdAt, :id)
+        ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    Slice<OrderSummary> findHistoryAfter(@Param("userId") UUID userId,
+                                         @Param("createdAt") Instant createdAt,
+                                         @Param("id") UUID id,
+                                         Pageable pageable);
+}
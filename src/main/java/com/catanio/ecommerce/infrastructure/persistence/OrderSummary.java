@@ -0,0 +1,16 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.order.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+// linha do histórico de pedidos: só colunas de orders, sem items
+public record OrderSummary(
+        UUID id,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        int itemCount,
+        Instant createdAt
+) {}
@@ -0,0 +1,10 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.util.List;
+
+// Fragmento do OutboxRepository: gravação em lote em JDBC direto
+public interface OutboxOperations {
+
+    // um batch JDBC (multi-linha com reWriteBatchedInserts), na transação corrente
+    void append(List<NewOutboxMessage> messages);
+}
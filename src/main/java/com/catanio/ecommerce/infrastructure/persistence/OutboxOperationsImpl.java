@@ -0,0 +1,30 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class OutboxOperationsImpl implements OutboxOperations {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+        VALUES (?, ?, ?, ?::jsonb)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void append(List<NewOutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setString(1, message.aggregateType());
+            ps.setObject(2, message.aggregateId());
+            ps.setString(3, message.eventType());
+            ps.setString(4, message.payload());
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.outbox.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long>, OutboxOperations {
+
+    // retira até :limit mensagens mais antigas num só statement. SKIP LOCKED: relays concorrentes
+    // (outras instâncias) pegam lotes disjuntos sem esperar. Apagar em vez de marcar mantém a tabela
+    // do tamanho do backlog; se a entrega falhar, o rollback devolve as linhas
+    @Query(value = """
+        DELETE FROM outbox
+        WHERE id IN (
+            SELECT id FROM outbox
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id, aggregate_type, aggregate_id, event_type, payload, created_at
+        """, nativeQuery = true)
+    List<OutboxMessage> claimBatch(@Param("limit") int limit);
+
+    // created_at mais antigo ainda pendente — o lag da relay é now - isso
+    @Query("SELECT min(m.createdAt) FROM OutboxMessage m")
+    Optional<Instant> oldestCreatedAt();
+}
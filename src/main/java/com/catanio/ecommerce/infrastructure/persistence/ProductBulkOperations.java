@@ -0,0 +1,24 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Fragmento do ProductRepository para escritas em lote (import, checkout): JDBC direto, sem entidades
+public interface ProductBulkOperations {
+
+    // quais pares já existem (mesma regra de existsByNameIgnoreCaseAndCategoryId) — uma query por lote
+    Set<ProductNameKey> findExistingNames(Collection<ProductNameKey> candidates);
+
+    // um único batch JDBC; com reWriteBatchedInserts o driver envia INSERTs multi-linha
+    void insertAll(List<NewProductRow> rows);
+
+    // reserva produto → quantidade de todos os produtos num único UPDATE de reserved_quantity, travando
+    // as linhas em ordem de id (checkouts concorrentes com produtos em comum não entram em deadlock).
+    // Só reserva o que cabe no disponível: devolve uma linha por produto reservado — menos linhas que
+    // produtos pedidos = faltou estoque ou o produto não existe mais, e quem chama desfaz a transação.
+    // O físico não muda aqui: sai quando o pagamento confirma a reserva (StockReservationService)
+    List<ReservedStock> reserveAll(Map<UUID, Integer> quantities);
+}
@@ -0,0 +1,125 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class ProductBulkOperationsImpl implements ProductBulkOperations {
+
+    // unnest dos dois arrays vira uma tabela de candidatos; cada um resolve no idx_products_category_upper_name
+    private static final String EXISTING_NAMES_SQL = """
+        SELECT t.category_id, t.name
+        FROM unnest(?::uuid[], ?::text[]) AS t(category_id, name)
+        WHERE EXISTS (
+            SELECT 1 FROM products p
+            WHERE p.category_id = t.category_id AND upper(p.name) = upper(t.name)
+        )
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO products (id, name, description, price, stock_quantity, category_id, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // locked trava as linhas em ordem de id antes de qualquer escrita; o UPDATE só pega as travadas
+    // e re-checa o disponível na versão mais recente de cada uma
+    private static final String RESERVE_ALL_SQL = """
+        WITH wanted AS (
+            SELECT * FROM unnest(?::uuid[], ?::int[]) AS w(product_id, quantity)
+        ), locked AS (
+            SELECT p.id
+            FROM products p
+            JOIN wanted w ON w.product_id = p.id
+            WHERE p.deleted_at IS NULL
+            ORDER BY p.id
+            FOR UPDATE OF p
+        )
+        UPDATE products p
+        SET reserved_quantity = p.reserved_quantity + w.quantity,
+            updated_at        = now()
+        FROM wanted w
+        WHERE p.id = w.product_id
+          AND p.id IN (SELECT id FROM locked)
+          AND p.stock_quantity - p.reserved_quantity >= w.quantity
+        RETURNING p.id, p.name, p.price, p.stock_quantity - p.reserved_quantity
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<ProductNameKey> findExistingNames(Collection<ProductNameKey> candidates) {
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        var categoryIds = candidates.stream().map(ProductNameKey::categoryId).toArray(UUID[]::new);
+        var names = candidates.stream().map(ProductNameKey::name).toArray(String[]::new);
+
+        var existing = new HashSet<ProductNameKey>();
+        jdbcTemplate.query(EXISTING_NAMES_SQL,
+            ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("uuid", categoryIds));
+                ps.setArray(2, ps.getConnection().createArrayOf("text", names));
+            },
+            rs -> {
+                existing.add(new ProductNameKey(rs.getObject(1, UUID.class), rs.getString(2)));
+            });
+        return existing;
+    }
+
+    @Override
+    public void insertAll(List<NewProductRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var row = rows.get(i);
+                var createdAt = Timestamp.from(row.createdAt());
+                ps.setObject(1, row.id());
+                ps.setString(2, row.name());
+                ps.setString(3, row.description());
+                ps.setBigDecimal(4, row.price());
+                ps.setInt(5, row.stockQuantity());
+                ps.setObject(6, row.categoryId());
+                ps.setTimestamp(7, createdAt);
+                ps.setTimestamp(8, createdAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    @Override
+    public List<ReservedStock> reserveAll(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        var productIds = new UUID[quantities.size()];
+        var amounts = new Integer[quantities.size()];
+        int i = 0;
+        for (var entry : quantities.entrySet()) {
+            productIds[i] = entry.getKey();
+            amounts[i++] = entry.getValue();
+        }
+        return jdbcTemplate.query(RESERVE_ALL_SQL,
+            ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("uuid", productIds));
+                ps.setArray(2, ps.getConnection().createArrayOf("int4", amounts));
+            },
+            (rs, rowNum) -> new ReservedStock(
+                rs.getObject(1, UUID.class), rs.getString(2), rs.getBigDecimal(3), rs.getInt(4)
+            ));
+    }
+}
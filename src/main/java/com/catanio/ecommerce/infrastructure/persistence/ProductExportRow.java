@@ -0,0 +1,27 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+// Linha do export do catálogo — projeção por construtor, nunca entra no contexto de persistência
+public record ProductExportRow(
+        UUID id,
+        String name,
+        String description,
+        BigDecimal price,
+        int stockQuantity,
+        boolean available,
+        UUID categoryId,
+        String categoryName,
+        Instant createdAt,
+        Instant updatedAt
+) {
+    // usado pela query (SELECT new ...): available = estoque menos reservas, como em Product.isAvailable
+    public ProductExportRow(UUID id, String name, String description, BigDecimal price, int stockQuantity,
+                            int reservedQuantity, UUID categoryId, String categoryName,
+                            Instant createdAt, Instant updatedAt) {
+        this(id, name, description, price, stockQuantity, stockQuantity - reservedQuantity > 0,
+                categoryId, categoryName, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,6 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.util.UUID;
+
+// Par (categoria, nome) da regra "nome único por categoria"; name como veio na entrada
+public record ProductNameKey(UUID categoryId, String name) {}
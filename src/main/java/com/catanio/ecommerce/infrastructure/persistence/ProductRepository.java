@@ -1,79 +1,84 @@
 package com.catanio.ecommerce.infrastructure.persistence;
 
 import com.catanio.ecommerce.domain.catalog.Product;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository
+    extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product>, ProductBulkOperations {
+
+    String EXPORT_FETCH_SIZE = "1000";
 
     // produto ativo por ID — usado em GET /products/{id}
     @Query("SELECT p FROM Product p WHERE p.id = :id AND p.deletedAt IS NULL")
     Optional<Product> findActiveById(@Param("id") UUID id);
 
-    // produtos ativos com paginação — GET /products
-    @Query(
-        value = "SELECT p FROM Product p WHERE p.deletedAt IS NULL",
-        countQuery = "SELECT COUNT(p) FROM Product p WHERE p.deletedAt IS NULL"
-    )
-    Page<Product> findAllActive(Pageable pageable);
-
-    // filtra por categoria — GET /products?categoryId=
-    @Query(
-        value = "SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.deletedAt IS NULL",
-        countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.deletedAt IS NULL"
-    )
-    Page<Product> findByCategoryId(@Param("categoryId") UUID categoryId, Pageable pageable);
-
-    // nome — GET /products?name=
-    // LOWER + CONCAT evita index funcional miss; suave para Sprint 2
-    @Query(
-        value = "SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND p.deletedAt IS NULL",
-        countQuery = "SELECT COUNT(p) FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND p.deletedAt IS NULL"
-    )
-    Page<Product> findByNameContaining(@Param("name") String name, Pageable pageable);
+    // versão do detalhe (ETag/Last-Modified) sem carregar a linha do produto — GET /products/{id}
+    @Query("""
+        SELECT new com.catanio.ecommerce.infrastructure.persistence.ProductVersion(p.updatedAt, c.updatedAt)
+        FROM Product p JOIN p.category c
+        WHERE p.id = :id AND p.deletedAt IS NULL
+        """)
+    Optional<ProductVersion> findActiveVersion(@Param("id") UUID id);
 
-    // filtra por faixa de preço — GET /products?minPrice=&maxPrice=
-    @Query(
-        value = "SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.deletedAt IS NULL",
-        countQuery = "SELECT COUNT(p) FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.deletedAt IS NULL"
-    )
-    Page<Product> findByPriceRange(
-        @Param("minPrice") BigDecimal minPrice,
-        @Param("maxPrice") BigDecimal maxPrice,
-        Pageable pageable
-    );
-
-    // filtro por categoria + faixa de preço — GET /products?categoryId=&minPrice=&maxPrice=
+    // busca textual ranqueada — GET /products/search?q=
+    // full-text (search_vector) OU substring no nome (trigramas): os dois lados têm GIN → BitmapOr.
+    // Ordena por relevância do documento, depois similaridade do nome; id desempata.
+    // :pattern chega com % e _ já escapados pelo serviço
+    // Nativa não aceita entity graph: categorias vêm num único IN (...) via default_batch_fetch_size
     @Query(
         value = """
-            SELECT p FROM Product p
-            WHERE p.category.id = :categoryId
-              AND p.price BETWEEN :minPrice AND :maxPrice
-              AND p.deletedAt IS NULL
+            SELECT p.* FROM products p
+            WHERE p.deleted_at IS NULL
+              AND (p.search_vector @@ websearch_to_tsquery('simple', :query)
+                   OR LOWER(p.name) LIKE :pattern)
+            ORDER BY ts_rank_cd(p.search_vector, websearch_to_tsquery('simple', :query)) DESC,
+                     similarity(LOWER(p.name), LOWER(:query)) DESC,
+                     p.id
             """,
-        countQuery = """
-            SELECT COUNT(p) FROM Product p
-            WHERE p.category.id = :categoryId
-              AND p.price BETWEEN :minPrice AND :maxPrice
-              AND p.deletedAt IS NULL
-            """
+        nativeQuery = true
     )
-    Page<Product> findByCategoryIdAndPriceRange(
-        @Param("categoryId") UUID categoryId,
-        @Param("minPrice") BigDecimal minPrice,
-        @Param("maxPrice") BigDecimal maxPrice,
+    Slice<Product> searchActive(
+        @Param("query") String query,
+        @Param("pattern") String pattern,
         Pageable pageable
     );
 
+    // export completo do catálogo — GET /products/export
+    // Stream sobre cursor do servidor: com fetch size > 0 dentro de transação o driver do Postgres
+    // busca EXPORT_FETCH_SIZE linhas por ida ao banco em vez de materializar o resultado inteiro.
+    // Projeção (não entidade): o contexto de persistência não cresce com o número de linhas.
+    // Sem ORDER BY: Seq Scan começa a entregar linhas na hora, sem Sort de milhões de linhas
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+        SELECT new com.catanio.ecommerce.infrastructure.persistence.ProductExportRow(
+            p.id, p.name, p.description, p.price, p.stockQuantity, p.reservedQuantity,
+            c.id, c.name, p.createdAt, p.updatedAt)
+        FROM Product p JOIN p.category c
+        WHERE p.deletedAt IS NULL
+        """)
+    Stream<ProductExportRow> streamActiveForExport();
+
     // Verifica duplicata de nome dentro da mesma categoria
     // Usado em validação antes de criar/atualizar produto
     boolean existsByNameIgnoreCaseAndCategoryId(String name, UUID categoryId);
@@ -83,7 +88,118 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     @Query("SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.deletedAt IS NULL")
     long countActiveByCategoryId(@Param("categoryId") UUID categoryId);
 
+    // Contadores mantidos por trigger (V3) — leitura de uma linha por categoria em vez de COUNT(*)
+    @Query(value = "SELECT CAST(COALESCE(SUM(active_count), 0) AS BIGINT) FROM category_product_counts", nativeQuery = true)
+    long countActiveFromCounters();
+
+    @Query(
+        value = "SELECT CAST(COALESCE(SUM(active_count), 0) AS BIGINT) FROM category_product_counts WHERE category_id = :categoryId",
+        nativeQuery = true
+    )
+    long countActiveFromCountersByCategoryId(@Param("categoryId") UUID categoryId);
+
     @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.id = :id AND p.deletedAt IS NULL")
     Optional<Product> findActiveByIdWithCategory(@Param("id") UUID id);
 
+    // ajuste de estoque num único statement — PATCH /products/{id}/stock
+    // Leitura, checagem e escrita acontecem sob o lock da linha: escritores concorrentes
+    // serializam no Postgres sem perder atualização, e o físico nunca fica abaixo do reservado.
+    // Vazio = produto inexistente/removido ou estoque insuficiente (o serviço distingue).
+    // Sem @Modifying: com RETURNING o statement devolve linhas e roda como consulta
+    @Query(
+        value = """
+            UPDATE products
+            SET stock_quantity = stock_quantity + :delta,
+                updated_at     = now()
+            WHERE id = :id
+              AND deleted_at IS NULL
+              AND stock_quantity + :delta >= reserved_quantity
+            RETURNING stock_quantity
+            """,
+        nativeQuery = true
+    )
+    Optional<Integer> adjustStock(@Param("id") UUID id, @Param("delta") int delta);
+
+    // estoque atual com a linha travada até o fim da transação — usado quando um lote de ajustes
+    // coalescidos não cabe inteiro e é preciso decidir quais entram (StockWriter.adjustAll)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new com.catanio.ecommerce.infrastructure.persistence.StockLevel(p.stockQuantity, p.reservedQuantity)
+        FROM Product p
+        WHERE p.id = :id AND p.deletedAt IS NULL
+        """)
+    Optional<StockLevel> lockStock(@Param("id") UUID id);
+
+    @Query("""
+        SELECT new com.catanio.ecommerce.infrastructure.persistence.StockLevel(p.stockQuantity, p.reservedQuantity)
+        FROM Product p
+        WHERE p.id = :id AND p.deletedAt IS NULL
+        """)
+    Optional<StockLevel> findStockLevel(@Param("id") UUID id);
+
+    // reserva solta ou expirada: a quantidade volta a ficar disponível
+    @Modifying
+    @Query(
+        value = """
+            UPDATE products
+            SET reserved_quantity = reserved_quantity - :quantity,
+                updated_at        = now()
+            WHERE id = :id
+            """,
+        nativeQuery = true
+    )
+    int releaseReserved(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // reserva confirmada (pagamento aprovado): sai do reservado e do físico juntos.
+    // Devolve o físico que sobrou
+    @Query(
+        value = """
+            UPDATE products
+            SET stock_quantity    = stock_quantity - :quantity,
+                reserved_quantity = reserved_quantity - :quantity,
+                updated_at        = now()
+            WHERE id = :id
+            RETURNING stock_quantity
+            """,
+        nativeQuery = true
+    )
+    Optional<Integer> consumeReserved(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // regra de estoque baixo do produto — LowStockDetector, só para saídas que terminam abaixo de 100
+    @Query("""
+        SELECT new com.catanio.ecommerce.infrastructure.persistence.LowStockRule(c.id, c.lowStockThreshold)
+        FROM Product p JOIN p.category c
+        WHERE p.id = :id AND p.deletedAt IS NULL
+        """)
+    Optional<LowStockRule> findLowStockRule(@Param("id") UUID id);
+
+    // produtos em alerta, menor estoque primeiro — idx_products_low_stock.
+    // "stockQuantity < 100" repete o predicado do índice parcial (teto Category.MAX_LOW_STOCK_THRESHOLD):
+    // sem ele o planner não prova que a consulta cabe no índice
+    @Query("""
+        SELECT new com.catanio.ecommerce.infrastructure.persistence.LowStockRow(
+            p.id, p.name, c.id, c.name, p.stockQuantity, p.reservedQuantity,
+            coalesce(c.lowStockThreshold, :defaultThreshold))
+        FROM Product p JOIN p.category c
+        WHERE p.deletedAt IS NULL
+          AND p.stockQuantity < 100
+          AND p.stockQuantity < coalesce(c.lowStockThreshold, :defaultThreshold)
+        ORDER BY p.stockQuantity, p.id
+        """)
+    Slice<LowStockRow> findLowStock(@Param("defaultThreshold") int defaultThreshold, Pageable pageable);
+
+    @Query("""
+        SELECT new com.catanio.ecommerce.infrastructure.persistence.LowStockRow(
+            p.id, p.name, c.id, c.name, p.stockQuantity, p.reservedQuantity,
+            coalesce(c.lowStockThreshold, :defaultThreshold))
+        FROM Product p JOIN p.category c
+        WHERE p.deletedAt IS NULL
+          AND c.id = :categoryId
+          AND p.stockQuantity < 100
+          AND p.stockQuantity < coalesce(c.lowStockThreshold, :defaultThreshold)
+        ORDER BY p.stockQuantity, p.id
+        """)
+    Slice<LowStockRow> findLowStockInCategory(@Param("categoryId") UUID categoryId,
+                                              @Param("defaultThreshold") int defaultThreshold,
+                                              Pageable pageable);
 }
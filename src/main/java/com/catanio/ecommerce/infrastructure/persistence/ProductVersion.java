@@ -0,0 +1,12 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.time.Instant;
+
+// Só os carimbos de versão do detalhe de produto — o JSON embute a categoria,
+// então a versão é o par (produto, categoria)
+public record ProductVersion(Instant productUpdatedAt, Instant categoryUpdatedAt) {
+
+    public Instant lastModified() {
+        return productUpdatedAt.isAfter(categoryUpdatedAt) ? productUpdatedAt : categoryUpdatedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// produto reservado no checkout: nome e preço atuais (vão para o pedido) e o disponível que sobrou
+public record ReservedStock(UUID productId, String name, BigDecimal price, int availableAfter) {}
@@ -0,0 +1,27 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Fragmento do StockMovementRepository: ledger de estoque em JDBC direto (insert em lote, snapshots, DDL de partição)
+public interface StockLedgerOperations {
+
+    // um único batch JDBC; com reWriteBatchedInserts o driver envia INSERTs multi-linha
+    void insertAll(List<StockMovedEvent> movements);
+
+    // snapshot em cutoff dos produtos com movimento que o último snapshot não contou
+    // (ocorrido depois dele ou gravado atrasado); devolve quantos
+    int takeSnapshot(Instant cutoff);
+
+    // estoque físico em at: snapshot mais recente <= at + movimentos até at que ele não contou.
+    // Vazio quando o produto não tem histórico até at
+    Optional<Integer> stockAt(UUID productId, Instant at);
+
+    // partição mensal (UTC) de stock_movements; no-op se já existe
+    void createMonthlyPartition(YearMonth month);
+}
@@ -0,0 +1,147 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class StockLedgerOperationsImpl implements StockLedgerOperations {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO stock_movements (product_id, delta, reason, reference, occurred_at)
+        VALUES (?, ?, ?, ?, ?)
+        """;
+
+    // Um snapshot (taken_at, recorded_until) conta os movimentos com occurred_at <= taken_at e
+    // recorded_at <= recorded_until. A marca é min(cutoff, now()): com o cutoff atrás de agora
+    // (snapshotGrace), quem gravou antes da marca já fez commit.
+    // Entram só os produtos com movimento fora do último snapshot — ocorrido depois dele ou gravado
+    // depois da sua marca (atrasado) —, custo proporcional ao que mudou, não ao catálogo.
+    // A base de cada um é o seu próprio snapshot mais recente; soma o que ele ainda não contou
+    private static final String SNAPSHOT_SQL = """
+        WITH params AS (
+            SELECT ?::timestamptz AS cutoff, least(?::timestamptz, now()) AS watermark
+        ), last AS (
+            SELECT coalesce(max(taken_at), '-infinity'::timestamptz) AS taken_at,
+                   coalesce(max(recorded_until), '-infinity'::timestamptz) AS recorded_until
+            FROM stock_snapshots
+        ), moved AS (
+            SELECT m.product_id
+            FROM stock_movements m, params, last
+            WHERE m.occurred_at > last.taken_at AND m.occurred_at <= params.cutoff
+              AND m.recorded_at <= params.watermark
+            UNION
+            SELECT m.product_id
+            FROM stock_movements m, params, last
+            WHERE m.recorded_at > last.recorded_until AND m.recorded_at <= params.watermark
+              AND m.occurred_at <= params.cutoff
+        )
+        INSERT INTO stock_snapshots (product_id, taken_at, stock_quantity, recorded_until)
+        SELECT moved.product_id, params.cutoff, coalesce(s.stock_quantity, 0) + d.delta, params.watermark
+        FROM moved
+        CROSS JOIN params
+        LEFT JOIN LATERAL (
+            SELECT taken_at, recorded_until, stock_quantity FROM stock_snapshots
+            WHERE product_id = moved.product_id AND taken_at <= params.cutoff
+            ORDER BY taken_at DESC
+            LIMIT 1
+        ) s ON true
+        CROSS JOIN LATERAL (
+            SELECT coalesce(sum(delta), 0) AS delta FROM stock_movements m
+            WHERE m.product_id = moved.product_id
+              AND m.occurred_at <= params.cutoff AND m.recorded_at <= params.watermark
+              AND NOT (m.occurred_at <= coalesce(s.taken_at, '-infinity'::timestamptz)
+                       AND m.recorded_at <= coalesce(s.recorded_until, '-infinity'::timestamptz))
+        ) d
+        ON CONFLICT DO NOTHING
+        """;
+
+    // base + tudo até at que o snapshot base não contou, inclusive movimentos gravados atrasados
+    private static final String STOCK_AT_SQL = """
+        WITH base AS (
+            SELECT taken_at, recorded_until, stock_quantity FROM stock_snapshots
+            WHERE product_id = ? AND taken_at <= ?
+            ORDER BY taken_at DESC
+            LIMIT 1
+        )
+        SELECT (SELECT stock_quantity FROM base), coalesce(sum(delta), 0), count(*)
+        FROM stock_movements
+        WHERE product_id = ? AND occurred_at <= ?
+          AND NOT (occurred_at <= coalesce((SELECT taken_at FROM base), '-infinity'::timestamptz)
+                   AND recorded_at <= coalesce((SELECT recorded_until FROM base), '-infinity'::timestamptz))
+        """;
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<StockMovedEvent> movements) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var movement = movements.get(i);
+                ps.setObject(1, movement.productId());
+                ps.setInt(2, movement.delta());
+                ps.setString(3, movement.reason().name());
+                ps.setObject(4, movement.reference());
+                ps.setObject(5, utc(movement.occurredAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return movements.size();
+            }
+        });
+    }
+
+    @Override
+    public int takeSnapshot(Instant cutoff) {
+        var at = utc(cutoff);
+        return jdbcTemplate.update(SNAPSHOT_SQL, at, at);
+    }
+
+    @Override
+    public Optional<Integer> stockAt(UUID productId, Instant at) {
+        var time = utc(at);
+        return jdbcTemplate.query(STOCK_AT_SQL, rs -> {
+            rs.next();
+            int base = rs.getInt(1);
+            boolean hasSnapshot = !rs.wasNull();
+            if (!hasSnapshot && rs.getLong(3) == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(base + rs.getInt(2));
+        }, productId, time, productId, time);
+    }
+
+    // DDL não aceita parâmetros: nome e limites vêm só de YearMonth, nunca de entrada externa
+    @Override
+    public void createMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute(
+            "CREATE TABLE IF NOT EXISTS stock_movements_%s PARTITION OF stock_movements FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(month.format(PARTITION_SUFFIX), startOfDay(month.atDay(1)), startOfDay(month.plusMonths(1).atDay(1)))
+        );
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static OffsetDateTime startOfDay(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,9 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+// Estoque físico e reservado de um produto — disponível é a diferença
+public record StockLevel(int onHand, int reserved) {
+
+    public int available() {
+        return onHand - reserved;
+    }
+}
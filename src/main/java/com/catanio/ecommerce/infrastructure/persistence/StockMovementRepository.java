@@ -0,0 +1,25 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.inventory.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long>, StockLedgerOperations {
+
+    // histórico de um produto, mais recente primeiro — idx_stock_movements_product_occurred_at,
+    // e só as partições dos meses até :until
+    @Query("""
+        SELECT m FROM StockMovement m
+        WHERE m.productId = :productId AND m.occurredAt <= :until
+        ORDER BY m.occurredAt DESC, m.id DESC
+        """)
+    Slice<StockMovement> findHistory(@Param("productId") UUID productId, @Param("until") Instant until, Pageable pageable);
+}
@@ -0,0 +1,38 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.inventory.StockReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    // reservas do pedido travadas para confirmar/soltar: duas transições concorrentes (pagamento x
+    // expiração) não devolvem a mesma quantidade duas vezes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId = :orderId AND r.status = 'ACTIVE'")
+    List<StockReservation> findActiveByOrderIdForUpdate(@Param("orderId") UUID orderId);
+
+    // próximo lote vencido — idx_stock_reservations_active_expires_at.
+    // SKIP LOCKED: réplicas expirando ao mesmo tempo pegam lotes disjuntos, e uma reserva
+    // sendo confirmada agora não trava o job
+    @Query(
+        value = """
+            SELECT * FROM stock_reservations
+            WHERE status = 'ACTIVE' AND expires_at <= :now
+            ORDER BY expires_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """,
+        nativeQuery = true
+    )
+    List<StockReservation> lockExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
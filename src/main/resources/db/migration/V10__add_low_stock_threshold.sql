@@ -0,0 +1,15 @@
+-- =============================================
+-- V10: Alerta de estoque baixo (RF05)
+-- low_stock_threshold: override do limite global (inventory.low-stock.threshold) por categoria.
+-- NULL = usa o global. Teto de 100 unidades: é o que permite um índice parcial fixo abaixo
+-- =============================================
+ALTER TABLE categories
+    ADD COLUMN low_stock_threshold INTEGER
+        CONSTRAINT chk_categories_low_stock_threshold CHECK (low_stock_threshold BETWEEN 0 AND 100);
+
+-- Suporta: GET /inventory/low-stock — produtos ativos abaixo do limite, menor estoque primeiro
+-- Nenhum limite passa de 100, então todo produto em alerta está nesta faixa; o índice só
+-- guarda a cauda baixa do catálogo e não é tocado por ajustes de produtos bem abastecidos
+CREATE INDEX idx_products_low_stock
+    ON products (stock_quantity, id)
+    WHERE deleted_at IS NULL AND stock_quantity < 100;
@@ -0,0 +1,8 @@
+-- =============================================
+-- V11: Limpeza de carrinhos expirados (CartPurgeJob)
+-- Suporta: SELECT id FROM carts WHERE expires_at < ? ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED
+--          e o lag da limpeza: SELECT min(expires_at) FROM carts
+-- Sem ele cada lote da limpeza é um Seq Scan em carts inteira
+-- =============================================
+CREATE INDEX idx_carts_expires_at
+    ON carts (expires_at);
@@ -0,0 +1,7 @@
+-- =============================================
+-- V12: Repreço de carrinhos quando o preço do produto muda (CartRepricer)
+-- Suporta: UPDATE cart_items ... WHERE product_id = ANY(lote de produtos alterados)
+-- Sem ele cada lote de repreço é um Seq Scan em cart_items inteira
+-- =============================================
+CREATE INDEX idx_cart_items_product_id
+    ON cart_items (product_id);
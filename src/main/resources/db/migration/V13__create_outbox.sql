@@ -0,0 +1,30 @@
+-- =============================================
+-- V13: Transactional outbox dos eventos de domínio do pedido
+-- Gravado na mesma transação do pedido (Outbox); a OutboxRelay drena em lotes e entrega aos sinks.
+-- Linha entregue é apagada: a tabela só guarda o backlog, sem índice parcial nem vacuum de histórico
+-- =============================================
+CREATE TABLE outbox
+(
+    id             BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    aggregate_type VARCHAR(50)  NOT NULL,
+    aggregate_id   UUID         NOT NULL,
+    event_type     VARCHAR(100) NOT NULL,
+    payload        JSONB        NOT NULL,
+    created_at     TIMESTAMPTZ  NOT NULL DEFAULT NOW()
+);
+
+-- Acorda a relay (LISTEN outbox) no commit do insert, em vez de polling curto.
+-- Por statement: um lote de eventos gera uma notificação, e o Postgres junta as repetidas
+-- da mesma transação
+CREATE FUNCTION notify_outbox() RETURNS trigger AS
+$$
+BEGIN
+    PERFORM pg_notify('outbox', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER outbox_notify
+    AFTER INSERT ON outbox
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_outbox();
@@ -0,0 +1,31 @@
+-- =============================================
+-- V14: Histórico de pedidos por usuário (RF03) sem carregar order_items
+-- total_amount / item_count: gravados no checkout (Order.addItem mantém os dois),
+-- a página do histórico lê só orders
+-- item_count = unidades (soma de quantity), não linhas
+-- =============================================
+ALTER TABLE orders
+    ADD COLUMN total_amount NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN item_count   INTEGER        NOT NULL DEFAULT 0;
+
+UPDATE orders o
+SET total_amount = t.total_amount,
+    item_count   = t.item_count
+FROM (
+    SELECT order_id, sum(unit_price * quantity) AS total_amount, sum(quantity) AS item_count
+    FROM order_items
+    GROUP BY order_id
+) t
+WHERE t.order_id = o.id;
+
+-- daqui em diante quem grava é a aplicação
+ALTER TABLE orders
+    ALTER COLUMN total_amount DROP DEFAULT,
+    ALTER COLUMN item_count DROP DEFAULT;
+
+-- Keyset do histórico: WHERE user_id = ? AND (created_at, id) < (?, ?)
+-- ORDER BY created_at DESC, id DESC — id como desempate faz a página inteira ser um range scan
+-- (de trás para frente) no índice, sem sort. Substitui o índice de V1, que é prefixo deste
+DROP INDEX idx_orders_user_id_created_at;
+CREATE INDEX idx_orders_user_id_created_at_id
+    ON orders (user_id, created_at, id);
@@ -0,0 +1,10 @@
+-- =============================================
+-- V15: catalog_view.available passa a descontar as reservas ativas
+-- (stock_quantity - reserved_quantity > 0, como Product.isAvailable).
+-- Recalcula só as linhas que mudam; daqui em diante a projeção já grava o valor novo
+-- =============================================
+UPDATE catalog_view cv
+SET available = p.stock_quantity - p.reserved_quantity > 0
+FROM products p
+WHERE p.id = cv.product_id
+  AND cv.available <> (p.stock_quantity - p.reserved_quantity > 0);
@@ -0,0 +1,22 @@
+-- =============================================
+-- V16: marca d'água de gravação por snapshot
+-- Um snapshot (taken_at, recorded_until) conta exatamente os movimentos com
+-- occurred_at <= taken_at AND recorded_at <= recorded_until. Movimento gravado atrasado
+-- (occurred_at antes do snapshot, recorded_at depois da marca) entra no próximo snapshot
+-- e em stockAt, em vez de ficar de fora para sempre.
+-- Snapshots existentes: a marca é o próprio taken_at (o que já estava gravado ao tirá-los)
+-- =============================================
+ALTER TABLE stock_snapshots ADD COLUMN recorded_until TIMESTAMPTZ;
+
+UPDATE stock_snapshots SET recorded_until = taken_at;
+
+ALTER TABLE stock_snapshots ALTER COLUMN recorded_until SET NOT NULL;
+
+-- Suporta: movimentos gravados depois da marca do último snapshot
+-- SELECT ... WHERE recorded_at > ? AND recorded_at <= ?
+CREATE INDEX idx_stock_movements_recorded_at
+    ON stock_movements (recorded_at);
+
+-- Suporta: marca do último snapshot — SELECT max(recorded_until) FROM stock_snapshots
+CREATE INDEX idx_stock_snapshots_recorded_until
+    ON stock_snapshots (recorded_until);
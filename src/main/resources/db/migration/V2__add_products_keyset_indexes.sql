@@ -0,0 +1,23 @@
+-- =============================================
+-- V2: Keyset (seek) pagination para o catálogo
+-- =============================================
+
+-- Suporta: GET /products?after=<cursor> ordenado por created_at (default)
+-- SELECT * FROM products
+--  WHERE deleted_at IS NULL AND created_at <= ? AND (created_at < ? OR id < ?)
+--  ORDER BY created_at DESC, id DESC LIMIT ?
+-- id entra como desempate: a posição do cursor fica única e estável
+CREATE INDEX idx_products_created_at_id
+    ON products (created_at, id)
+    WHERE deleted_at IS NULL;
+
+-- Suporta: mesmo seek dentro de uma categoria (?categoryId=&after=)
+CREATE INDEX idx_products_category_created_at_id
+    ON products (category_id, created_at, id)
+    WHERE deleted_at IS NULL;
+
+-- Suporta: seek ordenado por preço sem filtro de categoria
+-- Com categoria, o seek usa idx_products_catalog (category_id, price)
+CREATE INDEX idx_products_price_id
+    ON products (price, id)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,90 @@
+-- =============================================
+-- V3: Contadores de produtos ativos por categoria
+-- Evita COUNT(*) em products para preencher os totais da listagem.
+-- Mantido por trigger: vale para qualquer caminho de escrita
+-- (JPA, SQL atômico de estoque, importação em lote).
+-- =============================================
+CREATE TABLE category_product_counts
+(
+    category_id  UUID   PRIMARY KEY REFERENCES categories (id) ON DELETE CASCADE,
+    active_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Carga inicial a partir do estado atual
+INSERT INTO category_product_counts (category_id, active_count)
+SELECT category_id, COUNT(*)
+FROM products
+WHERE deleted_at IS NULL
+GROUP BY category_id;
+
+CREATE FUNCTION adjust_category_product_count(p_category_id UUID, p_delta BIGINT)
+    RETURNS VOID AS
+$$
+BEGIN
+    INSERT INTO category_product_counts AS c (category_id, active_count)
+    VALUES (p_category_id, GREATEST(p_delta, 0))
+    ON CONFLICT (category_id)
+        DO UPDATE SET active_count = c.active_count + p_delta;
+END;
+$$ LANGUAGE plpgsql;
+
+-- INSERT/DELETE: trigger por statement com transition table,
+-- um lote de N linhas na mesma categoria vira um único UPDATE no contador
+CREATE FUNCTION products_count_after_insert()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM adjust_category_product_count(category_id, COUNT(*))
+    FROM new_rows
+    WHERE deleted_at IS NULL
+    GROUP BY category_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION products_count_after_delete()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM adjust_category_product_count(category_id, -COUNT(*))
+    FROM old_rows
+    WHERE deleted_at IS NULL
+    GROUP BY category_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- UPDATE: por linha, mas o WHEN descarta tudo que não muda categoria/soft delete
+-- (ajustes de estoque e edição de nome/preço não tocam no contador)
+CREATE FUNCTION products_count_after_update()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF OLD.deleted_at IS NULL THEN
+        PERFORM adjust_category_product_count(OLD.category_id, -1);
+    END IF;
+    IF NEW.deleted_at IS NULL THEN
+        PERFORM adjust_category_product_count(NEW.category_id, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_products_count_insert
+    AFTER INSERT ON products
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION products_count_after_insert();
+
+CREATE TRIGGER trg_products_count_delete
+    AFTER DELETE ON products
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION products_count_after_delete();
+
+CREATE TRIGGER trg_products_count_update
+    AFTER UPDATE OF deleted_at, category_id ON products
+    FOR EACH ROW
+    WHEN (OLD.deleted_at IS DISTINCT FROM NEW.deleted_at
+        OR OLD.category_id IS DISTINCT FROM NEW.category_id)
+EXECUTE FUNCTION products_count_after_update();
@@ -0,0 +1,30 @@
+-- =============================================
+-- V4: Busca de produtos por nome/descrição
+-- LOWER(name) LIKE '%x%' nunca usa B-tree → Seq Scan em toda busca.
+-- =============================================
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Suporta: GET /products?name= e o fallback de substring da busca
+-- SELECT * FROM products WHERE LOWER(name) LIKE '%note%' AND deleted_at IS NULL
+-- GIN de trigramas sobre a MESMA expressão da query (lower(name)),
+-- senão o planner não casa o índice
+CREATE INDEX idx_products_name_trgm
+    ON products USING gin (lower(name) gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+-- Documento de busca: nome pesa mais (A) que descrição (B).
+-- 'simple' = sem stemming/stopwords — o catálogo mistura PT e EN.
+-- Coluna gerada: o Postgres mantém sozinho, nenhum caminho de escrita precisa lembrar.
+-- ATENÇÃO: ADD COLUMN ... STORED reescreve a tabela (lock exclusivo) — rodar fora do pico.
+ALTER TABLE products
+    ADD COLUMN search_vector TSVECTOR
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', COALESCE(name, '')), 'A') ||
+            setweight(to_tsvector('simple', COALESCE(description, '')), 'B')
+        ) STORED;
+
+-- Suporta: GET /products/search?q=
+-- SELECT * FROM products WHERE search_vector @@ websearch_to_tsquery('simple', ?) AND deleted_at IS NULL
+CREATE INDEX idx_products_search_vector
+    ON products USING gin (search_vector)
+    WHERE deleted_at IS NULL;
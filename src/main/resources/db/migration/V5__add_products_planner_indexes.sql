@@ -0,0 +1,20 @@
+-- =============================================
+-- V5: Índices para as formas de filtro do ProductQueryPlanner
+-- Toda combinação de filtros/ordenação da listagem tem um índice parcial
+-- (WHERE deleted_at IS NULL) que conduz o scan — ver ProductQueryPlanner.
+-- =============================================
+
+-- Suporta: GET /products?categoryId=&minPrice=&maxPrice= (faixa ou só um dos limites)
+--          GET /products?categoryId=&sortBy=price (+ seek por cursor)
+-- Substitui idx_products_catalog (category_id, price): mesmo prefixo,
+-- e o id como desempate deixa a ordenação por preço estável dentro da categoria
+CREATE INDEX idx_products_category_price_id
+    ON products (category_id, price, id)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX idx_products_catalog;
+
+-- Suporta: GET /products?sortBy=name — ordem alfabética sem Sort em memória
+CREATE INDEX idx_products_name_id
+    ON products (name, id)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,74 @@
+-- =============================================
+-- V6: Read model do catálogo (catalog_view)
+-- Listagens (GET /products) leem daqui: só as colunas do card de listagem,
+-- sem description (até 2000 chars) e sem JOIN com categories.
+-- Mantida pela aplicação (CatalogViewProjector) na mesma transação de cada escrita
+-- em products/categories. Só produtos ativos têm linha aqui.
+-- =============================================
+CREATE TABLE catalog_view
+(
+    product_id     UUID           PRIMARY KEY REFERENCES products (id) ON DELETE CASCADE,
+    name           VARCHAR(200)   NOT NULL,
+    price          NUMERIC(19, 2) NOT NULL,
+    stock_quantity INTEGER        NOT NULL,
+    available      BOOLEAN        NOT NULL,
+    category_id    UUID           NOT NULL,
+    category_name  VARCHAR(100)   NOT NULL,
+    created_at     TIMESTAMPTZ    NOT NULL,
+    updated_at     TIMESTAMPTZ    NOT NULL -- max(produto, categoria): versão da linha (ETag da listagem)
+);
+
+INSERT INTO catalog_view (product_id, name, price, stock_quantity, available,
+                          category_id, category_name, created_at, updated_at)
+SELECT p.id, p.name, p.price, p.stock_quantity, p.stock_quantity > 0,
+       c.id, c.name, p.created_at, GREATEST(p.updated_at, c.updated_at)
+FROM products p
+         JOIN categories c ON c.id = p.category_id
+WHERE p.deleted_at IS NULL;
+
+-- Índices das formas do ProductQueryPlanner, com as demais colunas da listagem em INCLUDE:
+-- a página sai de um Index Only Scan, sem visitar o heap.
+-- Custo consciente: stock_quantity/available estão nos índices → ajuste de estoque não é HOT
+-- e reescreve as entradas. A tabela é estreita, então cada índice também é.
+
+-- Suporta: GET /products (default createdAt DESC) + seek por cursor
+CREATE INDEX idx_catalog_view_created_at_id
+    ON catalog_view (created_at, product_id)
+    INCLUDE (name, price, stock_quantity, available, category_id, category_name, updated_at);
+
+-- Suporta: GET /products?categoryId= (+ cursor)
+CREATE INDEX idx_catalog_view_category_created_at_id
+    ON catalog_view (category_id, created_at, product_id)
+    INCLUDE (name, price, stock_quantity, available, category_name, updated_at);
+
+-- Suporta: GET /products?minPrice=&maxPrice= e sortBy=price (+ cursor)
+CREATE INDEX idx_catalog_view_price_id
+    ON catalog_view (price, product_id)
+    INCLUDE (name, stock_quantity, available, category_id, category_name, created_at, updated_at);
+
+-- Suporta: GET /products?categoryId=&minPrice=&maxPrice= e categoria ordenada por preço
+CREATE INDEX idx_catalog_view_category_price_id
+    ON catalog_view (category_id, price, product_id)
+    INCLUDE (name, stock_quantity, available, category_name, created_at, updated_at);
+
+-- Suporta: GET /products?sortBy=name (menos comum: sem INCLUDE)
+CREATE INDEX idx_catalog_view_name_id
+    ON catalog_view (name, product_id);
+
+-- Suporta: GET /products?name= — substring via trigramas, mesma expressão da query
+CREATE INDEX idx_catalog_view_name_trgm
+    ON catalog_view USING gin (lower(name) gin_trgm_ops);
+
+-- Index Only Scan depende do visibility map: vacuum mais frequente que o default (20%)
+ALTER TABLE catalog_view SET (
+    autovacuum_vacuum_scale_factor = 0.02,
+    autovacuum_analyze_scale_factor = 0.02
+    );
+
+-- Listagens saíram de products: os índices de V2/V5 que só serviam a elas viram custo de escrita.
+-- Ficam idx_products_name_trgm e idx_products_search_vector (busca) e os de V1.
+DROP INDEX idx_products_created_at_id;
+DROP INDEX idx_products_category_created_at_id;
+DROP INDEX idx_products_price_id;
+DROP INDEX idx_products_category_price_id;
+DROP INDEX idx_products_name_id;
@@ -0,0 +1,9 @@
+-- =============================================
+-- V7: Unicidade de nome por categoria (case-insensitive)
+-- existsByNameIgnoreCaseAndCategoryId gera upper(name) = upper(?) AND category_id = ?;
+-- o import em lote (ProductBulkOperations) checa milhares de pares de uma vez com a mesma expressão.
+-- Sem este índice, cada par varre todos os produtos da categoria.
+-- Não é UNIQUE: soft delete mantém nomes antigos e já existem duplicatas históricas possíveis.
+-- =============================================
+CREATE INDEX idx_products_category_upper_name
+    ON products (category_id, upper(name));
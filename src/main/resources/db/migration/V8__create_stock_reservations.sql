@@ -0,0 +1,40 @@
+-- =============================================
+-- V8: Reservas de estoque (RF05)
+-- products.stock_quantity continua sendo o estoque físico (on-hand);
+-- products.reserved_quantity é a soma das reservas ativas do produto, mantida no mesmo
+-- statement que cria/solta cada reserva. Disponível = stock_quantity - reserved_quantity:
+-- reservar é um UPDATE condicional de uma linha, sem somar reservas nem travar além do statement.
+-- =============================================
+ALTER TABLE products
+    ADD COLUMN reserved_quantity INTEGER NOT NULL DEFAULT 0 CHECK (reserved_quantity >= 0);
+
+-- ajuste manual de estoque não pode baixar o físico abaixo do que já foi prometido
+ALTER TABLE products
+    ADD CONSTRAINT chk_products_reserved_within_stock CHECK (reserved_quantity <= stock_quantity);
+
+CREATE TABLE stock_reservations
+(
+    id          UUID        PRIMARY KEY,
+    product_id  UUID        NOT NULL REFERENCES products (id),
+    order_id    UUID,
+    quantity    INTEGER     NOT NULL CHECK (quantity > 0),
+    status      VARCHAR(20) NOT NULL,
+    expires_at  TIMESTAMPTZ NOT NULL,
+    created_at  TIMESTAMPTZ NOT NULL,
+    released_at TIMESTAMPTZ
+);
+
+-- Suporta: expiração em lotes (ReservationExpiryJob)
+-- SELECT ... WHERE status = 'ACTIVE' AND expires_at <= ? ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED
+-- Partial: reservas encerradas (a imensa maioria com o tempo) ficam fora do índice
+CREATE INDEX idx_stock_reservations_active_expires_at
+    ON stock_reservations (expires_at)
+    WHERE status = 'ACTIVE';
+
+-- Suporta: soltar as reservas de um pedido cancelado
+CREATE INDEX idx_stock_reservations_active_order_id
+    ON stock_reservations (order_id)
+    WHERE status = 'ACTIVE';
+
+-- linhas mudam de status uma vez e depois só são lidas: vacuum mais cedo mantém os parciais pequenos
+ALTER TABLE stock_reservations SET (autovacuum_vacuum_scale_factor = 0.02);
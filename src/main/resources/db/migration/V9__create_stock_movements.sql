@@ -0,0 +1,65 @@
+-- =============================================
+-- V9: Trilha de auditoria do estoque (RF05)
+-- stock_movements: append-only, um registro por mudança do estoque físico, gravado em lotes
+-- fora do caminho do request (StockMovementRecorder). Particionada por mês em occurred_at:
+-- consultas por período só tocam as partições do período, e histórico antigo sai com
+-- DROP/DETACH de partição em vez de DELETE.
+-- stock_snapshots: estoque de cada produto num instante — reconstruir o estoque em T é
+-- snapshot mais recente <= T + soma dos movimentos depois dele, sem reler o histórico todo.
+-- =============================================
+CREATE TABLE stock_movements
+(
+    id          BIGINT GENERATED ALWAYS AS IDENTITY,
+    product_id  UUID        NOT NULL,
+    delta       INTEGER     NOT NULL,
+    reason      VARCHAR(30) NOT NULL,
+    reference   UUID,
+    occurred_at TIMESTAMPTZ NOT NULL,
+    recorded_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    -- tabela particionada: a PK precisa conter a chave de partição
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+-- Suporta: histórico de um produto e soma de movimentos depois de um snapshot
+-- SELECT ... WHERE product_id = ? AND occurred_at > ? AND occurred_at <= ?
+-- Sem FK para products: append-only não trava nem valida a linha do produto a cada insert
+CREATE INDEX idx_stock_movements_product_occurred_at
+    ON stock_movements (product_id, occurred_at);
+
+-- rede de segurança: insert fora das partições mensais não falha.
+-- StockMovementPartitions cria os meses seguintes com antecedência, então ela fica vazia
+CREATE TABLE stock_movements_default PARTITION OF stock_movements DEFAULT;
+
+-- mês corrente e os dois seguintes (UTC)
+DO
+$$
+DECLARE
+    month_start DATE := date_trunc('month', NOW() AT TIME ZONE 'UTC')::date;
+BEGIN
+    FOR i IN 0..2 LOOP
+        EXECUTE format(
+            'CREATE TABLE stock_movements_%s PARTITION OF stock_movements FOR VALUES FROM (%L) TO (%L)',
+            to_char(month_start + make_interval(months => i), 'YYYY_MM'),
+            (month_start + make_interval(months => i))::date::text || ' 00:00:00+00',
+            (month_start + make_interval(months => i + 1))::date::text || ' 00:00:00+00'
+        );
+    END LOOP;
+END;
+$$;
+
+CREATE TABLE stock_snapshots
+(
+    product_id     UUID        NOT NULL,
+    taken_at       TIMESTAMPTZ NOT NULL,
+    stock_quantity INTEGER     NOT NULL,
+    PRIMARY KEY (product_id, taken_at)
+);
+
+-- Suporta: ponto de partida do próximo snapshot — SELECT max(taken_at) FROM stock_snapshots
+CREATE INDEX idx_stock_snapshots_taken_at
+    ON stock_snapshots (taken_at);
+
+-- linha de base: estoque de todo produto existente no momento da migração
+INSERT INTO stock_snapshots (product_id, taken_at, stock_quantity)
+SELECT id, NOW(), stock_quantity
+FROM products;
@@ -0,0 +1,90 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.application.cart.CartService;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.order.CartTotals;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CartController.class)
+class CartControllerTest {
+
+    static final UUID USER = UUID.fromString("0190a3b2-0000-7000-8000-000000000003");
+    static final UUID PRODUCT = UUID.fromString("0190a3b2-0000-7000-8000-000000000001");
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean CartService cartService;
+
+    @Test
+    void shouldSetItemAndReturnCartWithTotals() throws Exception {
+        var now = Instant.parse("2026-10-01T12:00:00Z");
+        when(cartService.setItem(USER, PRODUCT, 3)).thenReturn(new CartSnapshot(USER, now, now.plusSeconds(60), List.of(
+            new CartSnapshot.Item(PRODUCT, "Mouse", new BigDecimal("99.90"), 3)
+        ), new CartTotals(1, 3, Money.of("299.70"))));
+
+        mockMvc.perform(put("/api/v1/users/{userId}/cart/items/{productId}", USER, PRODUCT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 3}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].subtotal").value(299.70))
+            .andExpect(jsonPath("$.quantity").value(3))
+            .andExpect(jsonPath("$.total").value(299.70));
+    }
+
+    @Test
+    void shouldReturnTotalsWithoutItems() throws Exception {
+        when(cartService.totals(USER)).thenReturn(new CartTotals(2, 5, Money.of("499.50")));
+
+        mockMvc.perform(get("/api/v1/users/{userId}/cart/totals", USER))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.lines").value(2))
+            .andExpect(jsonPath("$.quantity").value(5))
+            .andExpect(jsonPath("$.total").value(499.50))
+            .andExpect(jsonPath("$.items").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectQuantityOutOfRange() throws Exception {
+        mockMvc.perform(put("/api/v1/users/{userId}/cart/items/{productId}", USER, PRODUCT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 100}"))
+            .andExpect(status().isBadRequest());
+
+        verify(cartService, never()).setItem(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldReturn404ForUnknownProduct() throws Exception {
+        when(cartService.setItem(USER, PRODUCT, 1)).thenThrow(new ResourceNotFoundException("Product", PRODUCT));
+
+        mockMvc.perform(put("/api/v1/users/{userId}/cart/items/{productId}", USER, PRODUCT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 1}"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldClearCart() throws Exception {
+        mockMvc.perform(delete("/api/v1/users/{userId}/cart", USER))
+            .andExpect(status().isNoContent());
+
+        verify(cartService).clear(USER);
+    }
+}
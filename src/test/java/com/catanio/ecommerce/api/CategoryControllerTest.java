@@ -15,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.iterableWithSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -81,6 +82,33 @@ class CategoryControllerTest {
             .andExpect(jsonPath("$.name").value("Books"));
     }
 
+    @Test
+    void shouldReturn304WhenCategoryNotModifiedSince() throws Exception {
+        var id = UUID.randomUUID();
+        var category = Category.create("Books", null);
+        when(categoryService.findById(id)).thenReturn(category);
+
+        var response = mockMvc.perform(get("/api/v1/categories/{id}", id))
+            .andExpect(header().stringValues("ETag", iterableWithSize(1)))
+            .andReturn().getResponse();
+
+        mockMvc.perform(get("/api/v1/categories/{id}", id).header("If-None-Match", response.getHeader("ETag")))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/categories/{id}", id).header("If-Modified-Since", response.getHeader("Last-Modified")))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldReturn304WhenCategoryListUnchanged() throws Exception {
+        when(categoryService.findAll()).thenReturn(List.of(Category.create("Books", null)));
+
+        var etag = mockMvc.perform(get("/api/v1/categories"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/categories").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+    }
+
     @Test
     void shouldReturn404WhenCategoryNotFound() throws Exception {
         var id = UUID.randomUUID();
@@ -0,0 +1,71 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.application.inventory.LowStockService;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.infrastructure.persistence.LowStockRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LowStockController.class)
+class LowStockControllerTest {
+
+    static final UUID PRODUCT = UUID.fromString("0190a3b2-0000-7000-8000-000000000001");
+    static final UUID CATEGORY = UUID.fromString("0190a3b2-0000-7000-8000-000000000002");
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean LowStockService lowStockService;
+
+    @Test
+    void shouldListLowStockProducts() throws Exception {
+        var row = new LowStockRow(PRODUCT, "Notebook", CATEGORY, "Electronics", 3, 1, 10);
+        when(lowStockService.findLowStock(CATEGORY, 0, 200))
+            .thenReturn(new SliceImpl<>(List.of(row), PageRequest.of(0, 200), false));
+
+        mockMvc.perform(get("/api/v1/inventory/low-stock")
+                .param("categoryId", CATEGORY.toString())
+                .param("size", "500"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].productId").value(PRODUCT.toString()))
+            .andExpect(jsonPath("$.data[0].stockQuantity").value(3))
+            .andExpect(jsonPath("$.data[0].threshold").value(10))
+            .andExpect(jsonPath("$.pagination.last").value(true));
+    }
+
+    @Test
+    void shouldClearOverrideAndReportGlobalThreshold() throws Exception {
+        var category = Category.create("Electronics", null);
+        when(lowStockService.changeThreshold(CATEGORY, null)).thenReturn(category);
+        when(lowStockService.defaultThreshold()).thenReturn(10);
+
+        mockMvc.perform(put("/api/v1/inventory/low-stock/thresholds/{categoryId}", CATEGORY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"threshold\": null}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.override").doesNotExist())
+            .andExpect(jsonPath("$.effective").value(10));
+    }
+
+    @Test
+    void shouldRejectThresholdAboveCap() throws Exception {
+        mockMvc.perform(put("/api/v1/inventory/low-stock/thresholds/{categoryId}", CATEGORY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"threshold\": 101}"))
+            .andExpect(status().isBadRequest());
+
+        verify(lowStockService, never()).changeThreshold(any(), any());
+    }
+}
@@ -0,0 +1,148 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.application.order.CheckoutService;
+import com.catanio.ecommerce.application.order.OrderCursor;
+import com.catanio.ecommerce.application.order.OrderHistoryService;
+import com.catanio.ecommerce.application.order.OrderPaymentService;
+import com.catanio.ecommerce.domain.exception.BusinessException;
+import com.catanio.ecommerce.domain.order.Order;
+import com.catanio.ecommerce.domain.order.OrderStatus;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.OrderSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OrderController.class)
+class OrderControllerTest {
+
+    static final UUID USER = UUID.fromString("0190a3b2-0000-7000-8000-000000000003");
+    static final UUID PRODUCT = UUID.fromString("0190a3b2-0000-7000-8000-000000000001");
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean CheckoutService checkoutService;
+    @MockitoBean OrderHistoryService orderHistoryService;
+    @MockitoBean OrderPaymentService orderPaymentService;
+
+    @Test
+    void shouldCreateOrderFromCart() throws Exception {
+        var order = Order.create(USER);
+        order.addItem(PRODUCT, "Mouse", Money.of("99.90"), 3);
+        when(checkoutService.checkout(USER)).thenReturn(order);
+
+        mockMvc.perform(post("/api/v1/users/{userId}/orders", USER))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.status").value("PENDING"))
+            .andExpect(jsonPath("$.items[0].productId").value(PRODUCT.toString()))
+            .andExpect(jsonPath("$.items[0].subtotal").value(299.70))
+            .andExpect(jsonPath("$.total").value(299.70));
+    }
+
+    @Test
+    void shouldReturn409ForEmptyCart() throws Exception {
+        when(checkoutService.checkout(USER)).thenThrow(new BusinessException("Cart is empty"));
+
+        mockMvc.perform(post("/api/v1/users/{userId}/orders", USER))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldReturn400WhenStockIsInsufficient() throws Exception {
+        when(checkoutService.checkout(USER)).thenThrow(new IllegalArgumentException("Insufficient stock"));
+
+        mockMvc.perform(post("/api/v1/users/{userId}/orders", USER))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldPayOrder() throws Exception {
+        var orderId = UUID.randomUUID();
+        var order = Order.create(USER);
+        order.addItem(PRODUCT, "Mouse", Money.of("99.90"), 1);
+        order.confirm();
+        order.markAsPaid();
+        when(orderPaymentService.pay(USER, orderId)).thenReturn(order);
+
+        mockMvc.perform(post("/api/v1/users/{userId}/orders/{orderId}:pay", USER, orderId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("PAID"));
+    }
+
+    @Test
+    void shouldReturn409WhenPayingOrderWithExpiredReservations() throws Exception {
+        var orderId = UUID.randomUUID();
+        when(orderPaymentService.pay(USER, orderId))
+            .thenThrow(new BusinessException("Stock reservations for order are no longer active"));
+
+        mockMvc.perform(post("/api/v1/users/{userId}/orders/{orderId}:pay", USER, orderId))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldCancelOrder() throws Exception {
+        var orderId = UUID.randomUUID();
+        var order = Order.create(USER);
+        order.addItem(PRODUCT, "Mouse", Money.of("99.90"), 1);
+        order.cancel();
+        when(orderPaymentService.cancel(USER, orderId)).thenReturn(order);
+
+        mockMvc.perform(post("/api/v1/users/{userId}/orders/{orderId}:cancel", USER, orderId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    void shouldListHistoryWithCursorToNextPage() throws Exception {
+        var newest = new OrderSummary(UUID.randomUUID(), OrderStatus.PAID, new BigDecimal("299.70"), 3,
+            Instant.parse("2026-03-02T10:00:00Z"));
+        var older = new OrderSummary(UUID.randomUUID(), OrderStatus.PENDING, new BigDecimal("99.90"), 1,
+            Instant.parse("2026-03-01T10:00:00Z"));
+        when(orderHistoryService.findHistory(USER, null, 2))
+            .thenReturn(new SliceImpl<>(List.of(newest, older), PageRequest.ofSize(2), true));
+
+        mockMvc.perform(get("/api/v1/users/{userId}/orders", USER).param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].id").value(newest.id().toString()))
+            .andExpect(jsonPath("$.data[0].total").value(299.70))
+            .andExpect(jsonPath("$.data[0].itemCount").value(3))
+            .andExpect(jsonPath("$.data[0].items").doesNotExist())
+            .andExpect(jsonPath("$.pagination.last").value(false))
+            .andExpect(jsonPath("$.pagination.nextCursor").value(OrderCursor.after(older).encode()));
+    }
+
+    @Test
+    void shouldSeekFromCursorAndCapPageSize() throws Exception {
+        var cursor = new OrderCursor(Instant.parse("2026-03-01T10:00:00Z"), UUID.randomUUID());
+        when(orderHistoryService.findHistory(eq(USER), eq(cursor), eq(100)))
+            .thenReturn(new SliceImpl<>(List.of(), PageRequest.ofSize(100), false));
+
+        mockMvc.perform(get("/api/v1/users/{userId}/orders", USER)
+                .param("after", cursor.encode())
+                .param("size", "500"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pagination.page").doesNotExist())
+            .andExpect(jsonPath("$.pagination.last").value(true))
+            .andExpect(jsonPath("$.pagination.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldReturn400ForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{userId}/orders", USER).param("after", "garbage"))
+            .andExpect(status().isBadRequest());
+
+        verify(orderHistoryService, never()).findHistory(any(), any(), anyInt());
+    }
+}
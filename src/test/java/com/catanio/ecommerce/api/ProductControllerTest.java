@@ -1,44 +1,76 @@
 package com.catanio.ecommerce.api;
 
+import com.catanio.ecommerce.application.product.ProductCursor;
+import com.catanio.ecommerce.application.product.ProductExportFormat;
+import com.catanio.ecommerce.application.product.ProductExportProperties;
+import com.catanio.ecommerce.application.product.ProductExportService;
+import com.catanio.ecommerce.application.product.ProductFacets;
 import com.catanio.ecommerce.application.product.ProductFilter;
 import com.catanio.ecommerce.application.product.ProductService;
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
 import com.catanio.ecommerce.domain.catalog.Category;
 import com.catanio.ecommerce.domain.catalog.Product;
 import com.catanio.ecommerce.domain.exception.BusinessException;
 import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.exception.StockWriteUnavailableException;
 import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.ProductVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.iterableWithSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@EnableConfigurationProperties(ProductExportProperties.class)
+@Import({ProductDetailView.class, NoOpCacheManager.class})
 class ProductControllerTest {
 
     @Autowired MockMvc mockMvc;
     @MockitoBean ProductService productService;
+    @MockitoBean ProductExportService productExportService;
 
     Category electronics;
     Product notebook;
+    CatalogEntry notebookEntry;
 
     @BeforeEach
     void setUp() {
         electronics = Category.create("Electronics", null);
         notebook = Product.create("Notebook", "15 inch", Money.of("2999.99"), 10, electronics);
+        var now = Instant.now();
+        notebookEntry = new CatalogEntry(UUID.randomUUID(), "Notebook", new BigDecimal("2999.99"), 10, true,
+            UUID.randomUUID(), "Electronics", now, now);
     }
 
     @Test
@@ -94,6 +126,7 @@ class ProductControllerTest {
     @Test
     void shouldFindProductByIdAndReturn200() throws Exception {
         var id = UUID.randomUUID();
+        when(productService.findVersion(id)).thenReturn(versionOf(notebook));
         when(productService.findById(id)).thenReturn(notebook);
 
         mockMvc.perform(get("/api/v1/products/{id}", id))
@@ -103,19 +136,156 @@ class ProductControllerTest {
             .andExpect(jsonPath("$.available").value(true));
     }
 
+    @Test
+    void shouldReturnValidatorsOnProductRead() throws Exception {
+        var id = UUID.randomUUID();
+        when(productService.findVersion(id)).thenReturn(versionOf(notebook));
+        when(productService.findById(id)).thenReturn(notebook);
+
+        mockMvc.perform(get("/api/v1/products/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(header().stringValues("ETag", iterableWithSize(1)))
+            .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    void shouldReturn304WithoutLoadingProductWhenETagMatches() throws Exception {
+        var id = UUID.randomUUID();
+        when(productService.findVersion(id)).thenReturn(versionOf(notebook));
+        when(productService.findById(id)).thenReturn(notebook);
+
+        var etag = mockMvc.perform(get("/api/v1/products/{id}", id))
+            .andReturn().getResponse().getHeader("ETag");
+        clearInvocations(productService);
+
+        mockMvc.perform(get("/api/v1/products/{id}", id).header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        verify(productService, never()).findById(any());
+    }
+
+    @Test
+    void shouldReturn200WhenProductChangedSinceETag() throws Exception {
+        var id = UUID.randomUUID();
+        when(productService.findVersion(id)).thenReturn(versionOf(notebook));
+        when(productService.findById(id)).thenReturn(notebook);
+        var etag = mockMvc.perform(get("/api/v1/products/{id}", id))
+            .andReturn().getResponse().getHeader("ETag");
+
+        when(productService.findVersion(id)).thenReturn(
+            new ProductVersion(notebook.getUpdatedAt().plusSeconds(5), electronics.getUpdatedAt())
+        );
+
+        mockMvc.perform(get("/api/v1/products/{id}", id).header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("Notebook"));
+    }
+
+    @Test
+    void shouldReturn304ForUnchangedListingPage() throws Exception {
+        when(productService.findAll(any(ProductFilter.class), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(notebookEntry)));
+
+        var etag = mockMvc.perform(get("/api/v1/products"))
+            .andExpect(header().exists("ETag"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/products").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+
+        // mesma lista, outra página: metadados diferentes → outro ETag
+        when(productService.findAll(any(ProductFilter.class), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(notebookEntry), PageRequest.of(1, 20), false));
+        mockMvc.perform(get("/api/v1/products").param("page", "1").header("If-None-Match", etag))
+            .andExpect(status().isOk());
+    }
+
     @Test
     void shouldReturn404WhenProductNotFound() throws Exception {
         var id = UUID.randomUUID();
-        when(productService.findById(id))
+        when(productService.findVersion(id))
             .thenThrow(new ResourceNotFoundException("Product", id));
 
         mockMvc.perform(get("/api/v1/products/{id}", id))
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldReturnFacetsForFilterWhenRequested() throws Exception {
+        var categoryId = notebookEntry.getCategoryId();
+        when(productService.findAll(any(ProductFilter.class), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(notebookEntry)));
+        when(productService.facets(any(ProductFilter.class), eq(List.of(new BigDecimal("1000")))))
+            .thenReturn(new ProductFacets(
+                List.of(new ProductFacets.CategoryCount(categoryId, "Electronics", 3)),
+                List.of(
+                    new ProductFacets.PriceBucketCount(null, new BigDecimal("1000"), 2),
+                    new ProductFacets.PriceBucketCount(new BigDecimal("1000"), null, 1)
+                )
+            ));
+
+        mockMvc.perform(get("/api/v1/products").param("facets", "true").param("priceBuckets", "1000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].name").value("Notebook"))
+            .andExpect(jsonPath("$.facets.categories[0].id").value(categoryId.toString()))
+            .andExpect(jsonPath("$.facets.categories[0].count").value(3))
+            .andExpect(jsonPath("$.facets.priceBuckets[0].from").doesNotExist())
+            .andExpect(jsonPath("$.facets.priceBuckets[0].to").value(1000))
+            .andExpect(jsonPath("$.facets.priceBuckets[1].count").value(1));
+    }
+
+    @Test
+    void shouldStreamExportAsNdjsonByDefault() throws Exception {
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write("{\"name\":\"Notebook\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(productExportService).export(eq(ProductExportFormat.NDJSON), any());
+
+        var started = mockMvc.perform(get("/api/v1/products/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        // timeout do próprio export (catalog.export.timeout), não o global do MVC
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.ndjson\""))
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(content().string("{\"name\":\"Notebook\"}\n"));
+    }
+
+    @Test
+    void shouldGzipExportWhenClientAcceptsIt() throws Exception {
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write("id,name\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        }).when(productExportService).export(eq(ProductExportFormat.CSV), any());
+
+        var started = mockMvc.perform(get("/api/v1/products/export")
+                .param("format", "csv")
+                .header("Accept-Encoding", "gzip, deflate"))
+            .andReturn();
+        var response = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn().getResponse();
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("id,name\n");
+        }
+    }
+
+    @Test
+    void shouldReturn400ForUnsupportedExportFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/products/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldListProductsWithPaginationAndReturn200() throws Exception {
-        var page = new PageImpl<>(List.of(notebook));
+        var page = new PageImpl<>(List.of(notebookEntry));
         when(productService.findAll(any(ProductFilter.class), any(Pageable.class)))
             .thenReturn(page);
 
@@ -123,8 +293,84 @@ class ProductControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.data.length()").value(1))
             .andExpect(jsonPath("$.data[0].name").value("Notebook"))
-            .andExpect(jsonPath("$.pagination.totalElements").value(1))
-            .andExpect(jsonPath("$.pagination.totalPages").value(1));
+            .andExpect(jsonPath("$.data[0].categoryName").value("Electronics"))
+            .andExpect(jsonPath("$.data[0].description").doesNotExist())
+            .andExpect(jsonPath("$.facets").doesNotExist())
+            .andExpect(jsonPath("$.pagination.last").value(true))
+            .andExpect(jsonPath("$.pagination.totalElements").doesNotExist())
+            .andExpect(jsonPath("$.pagination.totalPages").doesNotExist());
+
+        verify(productService, never()).countActive(any());
+        verify(productService, never()).facets(any(), any());
+    }
+
+    @Test
+    void shouldIncludeTotalsWhenRequested() throws Exception {
+        var slice = new SliceImpl<>(List.of(notebookEntry), PageRequest.of(0, 20), false);
+        when(productService.findAll(any(ProductFilter.class), any(Pageable.class)))
+            .thenReturn(slice);
+        when(productService.countActive(any(ProductFilter.class))).thenReturn(41L);
+
+        mockMvc.perform(get("/api/v1/products").param("includeTotal", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pagination.totalElements").value(41))
+            .andExpect(jsonPath("$.pagination.totalPages").value(3));
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMorePagesExist() throws Exception {
+        var slice = new SliceImpl<>(List.of(notebookEntry), PageRequest.of(0, 1), true);
+        when(productService.findAll(any(ProductFilter.class), any(Pageable.class)))
+            .thenReturn(slice);
+
+        mockMvc.perform(get("/api/v1/products").param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pagination.last").value(false))
+            .andExpect(jsonPath("$.pagination.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    void shouldListProductsAfterCursorWithoutTotals() throws Exception {
+        var cursor = new ProductCursor("createdAt", Sort.Direction.DESC, Instant.parse("2026-03-01T10:00:00Z"), UUID.randomUUID());
+        var slice = new SliceImpl<>(List.of(notebookEntry), PageRequest.of(0, 20), false);
+        when(productService.findAllAfter(any(ProductFilter.class), eq(cursor), eq(20)))
+            .thenReturn(slice);
+
+        mockMvc.perform(get("/api/v1/products").param("after", cursor.encode()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].name").value("Notebook"))
+            .andExpect(jsonPath("$.pagination.last").value(true))
+            .andExpect(jsonPath("$.pagination.totalElements").doesNotExist())
+            .andExpect(jsonPath("$.pagination.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldReturn400WhenCursorIsInvalid() throws Exception {
+        mockMvc.perform(get("/api/v1/products").param("after", "garbage"))
+            .andExpect(status().isBadRequest());
+
+        verify(productService, never()).findAllAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldSearchProductsAndReturn200() throws Exception {
+        var slice = new SliceImpl<>(List.of(notebook), PageRequest.of(0, 20), false);
+        when(productService.search("note", 0, 20)).thenReturn(slice);
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", "note"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].name").value("Notebook"))
+            .andExpect(jsonPath("$.pagination.last").value(true))
+            .andExpect(jsonPath("$.pagination.totalElements").doesNotExist());
+    }
+
+    @Test
+    void shouldReturn400WhenSearchQueryIsTooShort() throws Exception {
+        when(productService.search(eq("ab"), anyInt(), anyInt()))
+            .thenThrow(new IllegalArgumentException("Search query must have at least 3 characters"));
+
+        mockMvc.perform(get("/api/v1/products/search").param("q", "ab"))
+            .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -171,4 +417,24 @@ class ProductControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.name").value("Notebook"));
     }
+
+    @Test
+    void shouldReturn503WhenStockAdjustmentCouldNotBeWritten() throws Exception {
+        var id = UUID.randomUUID();
+        doThrow(new StockWriteUnavailableException(
+                "Stock adjustment for product %s timed out while being written; its outcome is unknown".formatted(id)))
+            .when(productService).adjustStock(id, -3);
+
+        mockMvc.perform(patch("/api/v1/products/{id}/stock", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    { "quantity": -3 }
+                """))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.detail").value(endsWith("its outcome is unknown")));
+    }
+
+    private static ProductVersion versionOf(Product product) {
+        return new ProductVersion(product.getUpdatedAt(), product.getCategory().getUpdatedAt());
+    }
 }
@@ -0,0 +1,115 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.application.catalog.CatalogViewProjector;
+import com.catanio.ecommerce.application.inventory.ReservationProperties;
+import com.catanio.ecommerce.application.inventory.StockReservationService;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.catalog.Product;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CategoryRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+// GET /products/{id} condicional contra o banco: reservas mudam o disponível do detalhe,
+// então mudam a versão — o ETag antigo não pode mais render 304.
+// Cada reserva na sua transação, como em produção: now() (updated_at) avança entre elas
+@DataJpaTest
+@Import({StockReservationService.class, CatalogViewProjector.class, NoOpCacheManager.class})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductDetailVersionTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(ReservationProperties.class)
+    static class Properties {
+    }
+
+    @Autowired StockReservationService reservationService;
+    @Autowired ProductRepository productRepository;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    Product notebook;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        var electronics = categoryRepository.save(Category.create("Electronics", null));
+        notebook = productRepository.saveAndFlush(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+    }
+
+    // dados commitados: limpa ao final (catalog_view sai junto, ON DELETE CASCADE)
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM stock_reservations");
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void shouldInvalidateEtagWhenStockIsReservedAndReleased() {
+        var original = validators();
+        assertThat(original.notModified(ifNoneMatch(original.etag()))).isTrue();
+
+        // checkout: reserva em lote e ledger do pedido
+        var orderId = UUID.randomUUID();
+        productRepository.reserveAll(Map.of(notebook.getId(), 10));
+        reservationService.recordForOrder(orderId, Map.of(notebook.getId(), 10));
+        var reserved = validators();
+        assertThat(reserved.notModified(ifNoneMatch(original.etag()))).isFalse();
+
+        reservationService.releaseForOrder(orderId);
+        assertThat(validators().notModified(ifNoneMatch(reserved.etag()))).isFalse();
+    }
+
+    // o que ProductDetailView.validators calcula num cache miss (as reservas tiram o detalhe do cache)
+    private Validators validators() {
+        return ProductDetail.validators(notebook.getId(), productRepository.findActiveVersion(notebook.getId()).orElseThrow());
+    }
+
+    private static ServletWebRequest ifNoneMatch(String etag) {
+        var request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
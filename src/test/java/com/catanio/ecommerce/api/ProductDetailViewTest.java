@@ -0,0 +1,145 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.application.category.CategoryService;
+import com.catanio.ecommerce.application.product.ProductFacetsProvider;
+import com.catanio.ecommerce.application.product.ProductService;
+import com.catanio.ecommerce.application.product.ProductTotalsProvider;
+import com.catanio.ecommerce.application.product.StockWriteCoalescer;
+import com.catanio.ecommerce.config.CacheConfig;
+import com.catanio.ecommerce.config.CategoryCacheProperties;
+import com.catanio.ecommerce.config.ProductCacheProperties;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.catalog.Product;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, ProductDetailView.class, ProductService.class, ProductDetailViewTest.Json.class})
+@EnableConfigurationProperties({CategoryCacheProperties.class, ProductCacheProperties.class})
+class ProductDetailViewTest {
+
+    @Configuration
+    static class Json {
+        @Bean
+        ObjectMapper objectMapper() {
+            return JsonMapper.builder().findAndAddModules().build();
+        }
+    }
+
+    @MockitoBean ProductRepository productRepository;
+    @MockitoBean CatalogViewRepository catalogViewRepository;
+    @MockitoBean CategoryService categoryService;
+    @MockitoBean ProductTotalsProvider productTotals;
+    @MockitoBean ProductFacetsProvider productFacets;
+    @MockitoBean StockWriteCoalescer stockWriteCoalescer;
+
+    @Autowired ProductDetailView productDetailView;
+    @Autowired ProductService productService;
+    @Autowired CacheManager cacheManager;
+
+    UUID id;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PRODUCT_DETAILS).clear();
+        id = UUID.randomUUID();
+        var electronics = Category.create("Electronics", null);
+        when(productRepository.findActiveById(id)).thenAnswer(inv ->
+            Optional.of(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics)));
+        when(productRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void shouldServeSerializedProductFromCache() {
+        var first = productDetailView.render(id);
+        var second = productDetailView.render(id);
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).contains("\"name\":\"Notebook\"");
+        verify(productRepository, times(1)).findActiveById(id);
+    }
+
+    @Test
+    void shouldAnswerValidatorsFromCacheWithoutQuerying() {
+        var rendered = productDetailView.render(id);
+
+        var validators = productDetailView.validators(id);
+
+        assertThat(validators).isEqualTo(rendered.validators());
+        verify(productRepository, never()).findActiveVersion(any());
+    }
+
+    @Test
+    void shouldDeriveSameValidatorsFromVersionQueryAsFromRenderedProduct() {
+        var product = Product.create("Mouse", null, Money.of("99.90"), 20, Category.create("Peripherals", null));
+        when(productRepository.findActiveById(id)).thenReturn(Optional.of(product));
+        when(productRepository.findActiveVersion(id)).thenReturn(Optional.of(
+            new ProductVersion(product.getUpdatedAt(), product.getCategory().getUpdatedAt())
+        ));
+        var rendered = productDetailView.render(id);
+        cacheManager.getCache(CacheConfig.PRODUCT_DETAILS).clear();
+
+        assertThat(productDetailView.validators(id)).isEqualTo(rendered.validators());
+    }
+
+    @Test
+    void shouldNotCacheMissingProduct() {
+        var missing = UUID.randomUUID();
+        when(productRepository.findActiveById(missing)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> productDetailView.render(missing)).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCT_DETAILS).get(missing)).isNull();
+    }
+
+    @Test
+    void shouldEvictOnStockAdjustment() {
+        productDetailView.render(id);
+
+        productService.adjustStock(id, -3);
+
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCT_DETAILS).get(id)).isNull();
+    }
+
+    @Test
+    void shouldEvictOnDelete() {
+        productDetailView.render(id);
+
+        productService.delete(id);
+
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCT_DETAILS).get(id)).isNull();
+    }
+
+    @Test
+    void shouldKeepOtherProductsCached() {
+        var other = UUID.randomUUID();
+        cacheManager.getCache(CacheConfig.PRODUCT_DETAILS).put(other, new ProductDetail(new Validators("\"v1\"", Instant.EPOCH), new byte[]{1}));
+        productDetailView.render(id);
+
+        productService.delete(id);
+
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCT_DETAILS).get(other)).isNotNull();
+    }
+}
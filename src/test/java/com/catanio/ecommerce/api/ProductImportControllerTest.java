@@ -0,0 +1,106 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.application.product.ProductImportProperties;
+import com.catanio.ecommerce.application.product.ProductImportRow;
+import com.catanio.ecommerce.application.product.ProductImportSummary;
+import com.catanio.ecommerce.application.product.ProductImporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProductImportController.class)
+@EnableConfigurationProperties(ProductImportProperties.class)
+class ProductImportControllerTest {
+
+    static final UUID CATEGORY = UUID.fromString("0190a3b2-0000-7000-8000-000000000002");
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean ProductImporter productImporter;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldImportJsonArrayAndReturnSummary() throws Exception {
+        var received = new ArrayList<ProductImportRow>();
+        when(productImporter.importRows(any(), any())).thenAnswer(invocation -> {
+            invocation.<Iterator<ProductImportRow>>getArgument(0).forEachRemaining(received::add);
+            return new ProductImportSummary(2, 1, 1,
+                List.of(new ProductImportSummary.RowError(2, "Price must be greater than zero")));
+        });
+
+        mockMvc.perform(post("/api/v1/products:bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    [
+                      {"name": "Mouse", "price": 99.90, "stockQuantity": 5, "categoryId": "%s"},
+                      {"name": "Free", "price": 0, "stockQuantity": 5, "categoryId": "%s"}
+                    ]
+                    """.formatted(CATEGORY, CATEGORY)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.processed").value(2))
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[0].message").value("Price must be greater than zero"))
+            .andExpect(jsonPath("$.done").doesNotExist());
+
+        assertThat(received).extracting(ProductImportRow::row).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldStreamProgressPerChunkForCsvImport() throws Exception {
+        when(productImporter.importRows(any(), any())).thenAnswer(invocation -> {
+            Iterator<ProductImportRow> rows = invocation.getArgument(0);
+            Consumer<ProductImportSummary> progress = invocation.getArgument(1);
+            var count = 0;
+            while (rows.hasNext()) {
+                rows.next();
+                count++;
+            }
+            progress.accept(new ProductImportSummary(count, count, 0, List.of()));
+            return new ProductImportSummary(count, count, 0, List.of());
+        });
+
+        var started = mockMvc.perform(post("/api/v1/products:import")
+                .contentType("text/csv")
+                .content("name,price,stock_quantity,category_id\nMouse,99.90,5,%s\nCable,9.90,5,%s\n"
+                    .formatted(CATEGORY, CATEGORY)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        // timeout próprio do import (catalog.import.timeout), não o default de 30s do container
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string("""
+                {"processed":2,"created":2,"failed":0,"errors":[],"done":false}
+                {"processed":2,"created":2,"failed":0,"done":true}
+                """));
+    }
+
+    @Test
+    void shouldReturn400WhenCsvHeaderLacksRequiredColumns() throws Exception {
+        mockMvc.perform(post("/api/v1/products:import")
+                .contentType("text/csv")
+                .content("name,price\nMouse,99.90\n"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productImporter);
+    }
+}
@@ -0,0 +1,72 @@
+package com.catanio.ecommerce.api;
+
+import com.catanio.ecommerce.application.inventory.StockLedgerService;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.inventory.StockMovement;
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProductStockController.class)
+class ProductStockControllerTest {
+
+    static final UUID PRODUCT = UUID.fromString("0190a3b2-0000-7000-8000-000000000001");
+
+    @Autowired MockMvc mockMvc;
+    @MockitoBean StockLedgerService stockLedgerService;
+
+    @Test
+    void shouldReturnStockAtInstant() throws Exception {
+        var at = Instant.parse("2026-10-01T12:00:00Z");
+        when(stockLedgerService.stockAt(PRODUCT, at)).thenReturn(42);
+
+        mockMvc.perform(get("/api/v1/products/{id}/stock", PRODUCT).param("at", "2026-10-01T12:00:00Z"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.productId").value(PRODUCT.toString()))
+            .andExpect(jsonPath("$.stockQuantity").value(42));
+    }
+
+    @Test
+    void shouldReturn404WhenProductHasNoHistoryAtInstant() throws Exception {
+        when(stockLedgerService.stockAt(eq(PRODUCT), any()))
+            .thenThrow(new ResourceNotFoundException("Stock history for product", PRODUCT));
+
+        mockMvc.perform(get("/api/v1/products/{id}/stock", PRODUCT).param("at", "2020-01-01T00:00:00Z"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldListMovementsNewestFirstWithCappedPageSize() throws Exception {
+        var until = Instant.parse("2026-10-01T12:00:00Z");
+        var movement = mock(StockMovement.class);
+        when(movement.getId()).thenReturn(7L);
+        when(movement.getDelta()).thenReturn(-2);
+        when(movement.getReason()).thenReturn(StockMovementReason.ADJUSTMENT);
+        when(movement.getOccurredAt()).thenReturn(until);
+        when(stockLedgerService.history(PRODUCT, until, 0, 200))
+            .thenReturn(new SliceImpl<>(List.of(movement), PageRequest.of(0, 200), true));
+
+        mockMvc.perform(get("/api/v1/products/{id}/stock/movements", PRODUCT)
+                .param("until", "2026-10-01T12:00:00Z")
+                .param("size", "1000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].delta").value(-2))
+            .andExpect(jsonPath("$.data[0].reason").value("ADJUSTMENT"))
+            .andExpect(jsonPath("$.pagination.last").value(false));
+    }
+}
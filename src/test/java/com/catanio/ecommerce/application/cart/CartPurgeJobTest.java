@@ -0,0 +1,57 @@
+package com.catanio.ecommerce.application.cart;
+
+import com.catanio.ecommerce.infrastructure.persistence.CartPurgeResult;
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartPurgeJobTest {
+
+    @Mock
+    CartRepository cartRepository;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CartPurgeJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new CartPurgeJob(cartRepository, new CartPurgeProperties(Duration.ofMinutes(10), 500, Duration.ZERO), meterRegistry);
+    }
+
+    @Test
+    void shouldCountPurgedRowsAndReportLag() {
+        when(cartRepository.purgeExpired(any(), eq(500), eq(Duration.ZERO))).thenReturn(new CartPurgeResult(true, 3, 7));
+        when(cartRepository.oldestExpiration()).thenReturn(Optional.of(Instant.now().minusSeconds(120)));
+
+        job.purge();
+
+        assertThat(meterRegistry.counter("cart.purge.carts").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("cart.purge.items").count()).isEqualTo(7);
+        assertThat(meterRegistry.get("cart.purge.lag.seconds").gauge().value()).isBetween(119.0, 125.0);
+    }
+
+    @Test
+    void shouldReportNoLagWhenOldestCartIsStillValid() {
+        when(cartRepository.purgeExpired(any(), anyInt(), any())).thenReturn(CartPurgeResult.skipped());
+        when(cartRepository.oldestExpiration()).thenReturn(Optional.of(Instant.now().plusSeconds(3600)));
+
+        job.purge();
+
+        assertThat(meterRegistry.counter("cart.purge.carts").count()).isZero();
+        assertThat(meterRegistry.get("cart.purge.lag.seconds").gauge().value()).isZero();
+    }
+}
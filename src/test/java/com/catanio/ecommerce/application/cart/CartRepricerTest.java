@@ -0,0 +1,82 @@
+package com.catanio.ecommerce.application.cart;
+
+import com.catanio.ecommerce.domain.catalog.events.ProductPriceChangedEvent;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartRepricerTest {
+
+    @Mock
+    CartStore cartStore;
+
+    @Mock
+    CartRepository cartRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CartRepricer repricer;
+
+    UUID mouse = UUID.randomUUID();
+    UUID keyboard = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        repricer = new CartRepricer(cartStore, cartRepository, new TransactionTemplate(transactionManager),
+                new CartRepriceProperties(Duration.ofHours(1), 500), meterRegistry);
+    }
+
+    @Test
+    void shouldApplyLatestPriceToPostgresBeforeResidentCarts() {
+        when(cartRepository.repriceItems(anyMap())).thenReturn(4);
+        when(cartStore.reprice(anyMap())).thenReturn(1);
+
+        repricer.on(new ProductPriceChangedEvent(mouse, Money.of("99.90")));
+        repricer.on(new ProductPriceChangedEvent(mouse, Money.of("89.90")));
+        repricer.on(new ProductPriceChangedEvent(keyboard, Money.of("199.90")));
+        repricer.reprice();
+
+        InOrder order = inOrder(cartRepository, cartStore);
+        order.verify(cartRepository).repriceItems(Map.of(mouse, new BigDecimal("89.90"), keyboard, new BigDecimal("199.90")));
+        order.verify(cartStore).reprice(Map.of(mouse, Money.of("89.90"), keyboard, Money.of("199.90")));
+        assertThat(meterRegistry.counter("cart.reprice.lines").count()).isEqualTo(4);
+        assertThat(meterRegistry.counter("cart.reprice.resident").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepBatchPendingWhenPostgresFails() {
+        when(cartRepository.repriceItems(anyMap()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(1);
+
+        repricer.on(new ProductPriceChangedEvent(mouse, Money.of("89.90")));
+        assertThatThrownBy(repricer::reprice).isInstanceOf(DataAccessResourceFailureException.class);
+        verify(cartStore, never()).reprice(anyMap());
+
+        repricer.reprice();
+
+        verify(cartRepository, times(2)).repriceItems(Map.of(mouse, new BigDecimal("89.90")));
+        verify(cartStore).reprice(Map.of(mouse, Money.of("89.90")));
+    }
+}
@@ -0,0 +1,220 @@
+package com.catanio.ecommerce.application.cart;
+
+import com.catanio.ecommerce.domain.order.Cart;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CartSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartStoreTest {
+
+    @Mock
+    CartRepository cartRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    UUID userId = UUID.randomUUID();
+
+    @Test
+    void shouldRebuildFromPostgresOnceThenServeFromMemory() {
+        var persisted = Cart.create(userId);
+        persisted.addOrUpdateItem(UUID.randomUUID(), "Mouse", Money.of("99.90"), 2);
+        when(cartRepository.findByUserIdWithItems(userId)).thenReturn(Optional.of(persisted));
+        var store = store(4, 100);
+
+        assertThat(store.read(userId, Cart::getItems)).hasSize(1);
+        assertThat(store.read(userId, Cart::getItems)).hasSize(1);
+
+        verify(cartRepository, times(1)).findByUserIdWithItems(userId);
+        assertThat(store.hasDirty()).isFalse();
+    }
+
+    @Test
+    void shouldHandOutCopiesOfDirtyCartsUntilFlushCompletes() {
+        var store = store(4, 100);
+        var productId = UUID.randomUUID();
+
+        store.update(userId, cart -> {
+            cart.addOrUpdateItem(productId, "Mouse", Money.of("99.90"), 1);
+            return null;
+        });
+        var drained = store.drainDirty(10);
+        // mudança depois do snapshot não altera o que está sendo gravado
+        store.update(userId, cart -> {
+            cart.addOrUpdateItem(productId, "Mouse", Money.of("99.90"), 5);
+            return null;
+        });
+
+        assertThat(drained).singleElement()
+            .extracting(snapshot -> snapshot.items().getFirst().quantity()).isEqualTo(1);
+        store.complete(drained);
+        assertThat(store.drainDirty(10)).singleElement()
+            .extracting(snapshot -> snapshot.items().getFirst().quantity()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldMarkCartsDirtyAgainWhenFlushFails() {
+        var store = store(4, 100);
+        store.update(userId, cart -> {
+            cart.addOrUpdateItem(UUID.randomUUID(), "Mouse", Money.of("99.90"), 1);
+            return null;
+        });
+
+        store.retry(store.drainDirty(10));
+
+        assertThat(store.drainDirty(10)).extracting(CartSnapshot::userId).containsExactly(userId);
+    }
+
+    @Test
+    void shouldEvictOnlyCleanCarts() {
+        when(cartRepository.findByUserIdWithItems(any())).thenReturn(Optional.empty());
+        // 1 shard, 2 carrinhos
+        var store = store(1, 2);
+        var clean = UUID.randomUUID();
+        var other = UUID.randomUUID();
+
+        store.update(userId, cart -> {
+            cart.addOrUpdateItem(UUID.randomUUID(), "Mouse", Money.of("99.90"), 1);
+            return null;
+        });
+        store.read(clean, Cart::isEmpty);
+        store.read(other, Cart::isEmpty);
+
+        // o sujo ficou (é o mais antigo); o limpo menos usado saiu e é relido do Postgres
+        store.read(userId, Cart::isEmpty);
+        store.read(clean, Cart::isEmpty);
+        verify(cartRepository, times(1)).findByUserIdWithItems(userId);
+        verify(cartRepository, times(2)).findByUserIdWithItems(clean);
+    }
+
+    @Test
+    void shouldRepriceOnlyResidentCartsHoldingTheProduct() {
+        when(cartRepository.findByUserIdWithItems(any())).thenReturn(Optional.empty());
+        var store = store(4, 100);
+        var mouse = UUID.randomUUID();
+        var other = UUID.randomUUID();
+        store.update(userId, cart -> {
+            cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 2);
+            return null;
+        });
+        store.update(other, cart -> {
+            cart.addOrUpdateItem(UUID.randomUUID(), "Keyboard", Money.of("199.90"), 1);
+            return null;
+        });
+        store.complete(store.drainDirty(10));
+
+        int repriced = store.reprice(Map.of(mouse, Money.of("89.90")));
+
+        assertThat(repriced).isEqualTo(1);
+        assertThat(store.read(userId, Cart::calculateTotal)).isEqualTo(Money.of("179.80"));
+        assertThat(store.drainDirty(10)).extracting(CartSnapshot::userId).containsExactly(userId);
+    }
+
+    @Test
+    void shouldDropProductFromIndexWhenLineIsRemoved() {
+        when(cartRepository.findByUserIdWithItems(any())).thenReturn(Optional.empty());
+        var store = store(4, 100);
+        var mouse = UUID.randomUUID();
+        store.update(userId, cart -> {
+            cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 2);
+            return null;
+        });
+        store.update(userId, cart -> {
+            cart.removeItem(mouse);
+            return null;
+        });
+
+        assertThat(store.reprice(Map.of(mouse, Money.of("89.90")))).isZero();
+    }
+
+    @Test
+    void shouldSerializeConcurrentUpdatesOfSameCart() throws Exception {
+        var store = store(4, 100);
+        var executor = Executors.newFixedThreadPool(8);
+        var tasks = new ArrayList<Callable<Void>>();
+        for (int t = 0; t < 8; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < 10; i++) {
+                    store.update(userId, cart -> {
+                        cart.addOrUpdateItem(UUID.randomUUID(), "Item", Money.of("1.00"), 1);
+                        return null;
+                    });
+                }
+                return null;
+            });
+        }
+
+        for (var future : executor.invokeAll(tasks)) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(store.read(userId, Cart::getItems)).hasSize(80);
+        verify(cartRepository, times(1)).findByUserIdWithItems(userId);
+    }
+
+    @Test
+    void shouldServeOtherUsersOfTheShardWhileLoadingFromPostgres() throws Exception {
+        var slow = UUID.randomUUID();
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(cartRepository.findByUserIdWithItems(any())).thenAnswer(invocation -> {
+            if (slow.equals(invocation.getArgument(0))) {
+                loading.countDown();
+                release.await();
+            }
+            return Optional.empty();
+        });
+        // 1 shard: os dois usuários disputariam o mesmo lock
+        var store = store(1, 100);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var slowRead = executor.submit(() -> store.read(slow, Cart::isEmpty));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(store.read(userId, Cart::isEmpty)).isTrue();
+
+            release.countDown();
+            assertThat(slowRead.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldLoadAgainAfterFailedLoad() {
+        when(cartRepository.findByUserIdWithItems(userId))
+            .thenThrow(new IllegalStateException("database down"))
+            .thenReturn(Optional.empty());
+        var store = store(4, 100);
+
+        assertThatThrownBy(() -> store.read(userId, Cart::isEmpty)).hasMessage("database down");
+        assertThat(store.read(userId, Cart::isEmpty)).isTrue();
+        verify(cartRepository, times(2)).findByUserIdWithItems(userId);
+    }
+
+    private CartStore store(int shards, int maxCarts) {
+        var properties = new CartStoreProperties(shards, maxCarts, Duration.ofHours(1), 500);
+        return new CartStore(cartRepository, new TransactionTemplate(transactionManager), properties, new SimpleMeterRegistry());
+    }
+}
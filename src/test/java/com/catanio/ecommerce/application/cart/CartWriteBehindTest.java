@@ -0,0 +1,121 @@
+package com.catanio.ecommerce.application.cart;
+
+import com.catanio.ecommerce.domain.order.Cart;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CartSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartWriteBehindTest {
+
+    @Mock
+    CartRepository cartRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CartStore cartStore;
+    CartWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cartRepository.findByUserIdWithItems(any())).thenReturn(Optional.empty());
+        var properties = new CartStoreProperties(4, 100, Duration.ofHours(1), 2);
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        cartStore = new CartStore(cartRepository, transactionTemplate, properties, meterRegistry);
+        writeBehind = new CartWriteBehind(cartStore, cartRepository, transactionTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    void shouldWriteDirtyCartsInBatches() {
+        var batches = new ArrayList<List<UUID>>();
+        doAnswer(invocation -> batches.add(userIds(invocation.getArgument(0))))
+            .when(cartRepository).writeAll(anyList());
+        var users = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        users.forEach(this::addItem);
+
+        writeBehind.flush();
+
+        assertThat(batches).extracting(List::size).containsExactly(2, 1);
+        assertThat(batches.stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(users);
+        assertThat(cartStore.hasDirty()).isFalse();
+    }
+
+    @Test
+    void shouldWriteRemainingDirtyCartsOnShutdown() {
+        var user = UUID.randomUUID();
+        addItem(user);
+
+        writeBehind.shutdown();
+
+        verify(cartRepository).writeAll(argThat(batch -> userIds(batch).equals(List.of(user))));
+        assertThat(cartStore.hasDirty()).isFalse();
+    }
+
+    @Test
+    void shouldDiscardOnlyCartRejectedByDatabase() {
+        var unknownUser = UUID.randomUUID();
+        var user = UUID.randomUUID();
+        var written = new ArrayList<UUID>();
+        doAnswer(invocation -> {
+            List<CartSnapshot> batch = invocation.getArgument(0);
+            if (userIds(batch).contains(unknownUser)) {
+                throw new DataIntegrityViolationException("carts_user_id_fkey");
+            }
+            written.addAll(userIds(batch));
+            return null;
+        }).when(cartRepository).writeAll(anyList());
+        addItem(unknownUser);
+        addItem(user);
+
+        writeBehind.flush();
+
+        assertThat(written).containsExactly(user);
+        assertThat(meterRegistry.counter("cart.store.discarded").count()).isEqualTo(1);
+        assertThat(cartStore.hasDirty()).isFalse();
+    }
+
+    @Test
+    void shouldKeepCartsDirtyWhenDatabaseIsDown() {
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+            .when(cartRepository).writeAll(anyList());
+        addItem(UUID.randomUUID());
+
+        assertThatThrownBy(writeBehind::flush).isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(cartStore.hasDirty()).isTrue();
+    }
+
+    private void addItem(UUID userId) {
+        cartStore.update(userId, (Cart cart) -> {
+            cart.addOrUpdateItem(UUID.randomUUID(), "Mouse", Money.of("99.90"), 1);
+            return null;
+        });
+    }
+
+    private static List<UUID> userIds(List<CartSnapshot> batch) {
+        return batch.stream().map(CartSnapshot::userId).toList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.catanio.ecommerce.application.category;
+
+import com.catanio.ecommerce.api.ProductDetail;
+import com.catanio.ecommerce.api.Validators;
+import com.catanio.ecommerce.config.CacheConfig;
+import com.catanio.ecommerce.config.CategoryCacheProperties;
+import com.catanio.ecommerce.config.ProductCacheProperties;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.infrastructure.persistence.CategoryRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, CategoryService.class})
+@EnableConfigurationProperties({CategoryCacheProperties.class, ProductCacheProperties.class})
+class CategoryServiceCacheTest {
+
+    @MockitoBean
+    CategoryRepository categoryRepository;
+
+    @MockitoBean
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    UUID id;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        id = UUID.randomUUID();
+        when(categoryRepository.findById(id)).thenAnswer(inv -> Optional.of(Category.create("Books", null)));
+        when(categoryRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        var first = categoryService.findById(id);
+        var second = categoryService.findById(id);
+
+        assertThat(second).isSameAs(first);
+        verify(categoryRepository, times(1)).findById(id);
+    }
+
+    @Test
+    void shouldNotCacheMissingCategory() {
+        var missing = UUID.randomUUID();
+        when(categoryRepository.findById(missing)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> categoryService.findById(missing)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> categoryService.findById(missing)).isInstanceOf(ResourceNotFoundException.class);
+
+        verify(categoryRepository, times(2)).findById(missing);
+    }
+
+    @Test
+    void shouldEvictOnUpdate() {
+        when(categoryRepository.findAllByOrderByNameAsc()).thenReturn(List.of());
+        var cached = categoryService.findById(id);
+        categoryService.findAll();
+
+        categoryService.update(id, "Livros", null);
+
+        // update carrega do repositório — a instância do cache não é alterada
+        assertThat(cached.getName()).isEqualTo("Books");
+        categoryService.findById(id);
+        categoryService.findAll();
+        verify(categoryRepository, times(3)).findById(id);
+        verify(categoryRepository, times(2)).findAllByOrderByNameAsc();
+    }
+
+    @Test
+    void shouldClearProductDetailsWhenCategoryChanges() {
+        var productDetails = cacheManager.getCache(CacheConfig.PRODUCT_DETAILS);
+        var productId = UUID.randomUUID();
+        productDetails.put(productId, new ProductDetail(new Validators("\"v1\"", Instant.EPOCH), new byte[]{1}));
+
+        categoryService.update(id, "Livros", null);
+
+        assertThat(productDetails.get(productId)).isNull();
+    }
+
+    @Test
+    void shouldEvictListOnCreate() {
+        when(categoryRepository.findAllByOrderByNameAsc()).thenReturn(List.of());
+        categoryService.findAll();
+
+        categoryService.create("Games", null);
+        categoryService.findAll();
+
+        verify(categoryRepository, times(2)).findAllByOrderByNameAsc();
+    }
+
+    @Test
+    void shouldEvictOnDelete() {
+        categoryService.findById(id);
+
+        categoryService.delete(id);
+
+        assertThat(cacheManager.getCache(CacheConfig.CATEGORIES).get(id)).isNull();
+    }
+}
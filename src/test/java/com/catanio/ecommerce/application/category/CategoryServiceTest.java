@@ -1,6 +1,7 @@
 package com.catanio.ecommerce.application.category;
 
 import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.catalog.events.CategoryChangedEvent;
 import com.catanio.ecommerce.domain.exception.BusinessException;
 import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
 import com.catanio.ecommerce.infrastructure.persistence.CategoryRepository;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +30,9 @@ class CategoryServiceTest {
     @Mock
     ProductRepository productRepository;
 
+    @Mock
+    ApplicationEventPublisher events;
+
     @InjectMocks
     CategoryService categoryService;
 
@@ -101,6 +106,7 @@ class CategoryServiceTest {
 
         assertThat(result.getName()).isEqualTo("NewName");
         assertThat(result.getDescription()).isEqualTo("New description");
+        verify(events).publishEvent(any(CategoryChangedEvent.class));
     }
 
     @Test
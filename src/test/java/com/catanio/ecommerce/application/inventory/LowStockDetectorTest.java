@@ -0,0 +1,102 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+import com.catanio.ecommerce.domain.inventory.events.LowStockDetectedEvent;
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import com.catanio.ecommerce.infrastructure.persistence.LowStockRule;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockDetectorTest {
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    ApplicationEventPublisher events;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    LowStockDetector detector;
+
+    UUID productId = UUID.randomUUID();
+    UUID categoryId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        detector = new LowStockDetector(productRepository, new LowStockProperties(10, Duration.ofMinutes(15)), events, meterRegistry);
+    }
+
+    @Test
+    void shouldAlertWhenStockCrossesGlobalThreshold() {
+        when(productRepository.findLowStockRule(productId)).thenReturn(Optional.of(new LowStockRule(categoryId, null)));
+
+        detector.on(moved(-3, 8));
+
+        verify(events).publishEvent(argThat((Object event) -> event instanceof LowStockDetectedEvent low
+            && low.productId().equals(productId)
+            && low.categoryId().equals(categoryId)
+            && low.stockQuantity() == 8
+            && low.threshold() == 10));
+    }
+
+    @Test
+    void shouldUseCategoryOverride() {
+        when(productRepository.findLowStockRule(productId)).thenReturn(Optional.of(new LowStockRule(categoryId, 30)));
+
+        // 12 está acima do global, mas abaixo dos 30 da categoria
+        detector.on(moved(-20, 12));
+
+        verify(events).publishEvent(argThat((Object event) ->
+            event instanceof LowStockDetectedEvent low && low.threshold() == 30));
+    }
+
+    @Test
+    void shouldNotAlertWhenAlreadyBelowThreshold() {
+        when(productRepository.findLowStockRule(productId)).thenReturn(Optional.of(new LowStockRule(categoryId, null)));
+
+        detector.on(moved(-1, 7));
+
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void shouldSkipRuleLookupForIncrementsAndWellStockedProducts() {
+        detector.on(moved(5, 6));
+        detector.on(moved(-5, 100));
+
+        verifyNoInteractions(productRepository, events);
+    }
+
+    @Test
+    void shouldDebounceRepeatedCrossings() {
+        when(productRepository.findLowStockRule(productId)).thenReturn(Optional.of(new LowStockRule(categoryId, null)));
+
+        // oscila em volta do limite: 10 → 9, volta a 10, cai de novo
+        detector.on(moved(-1, 9));
+        detector.on(moved(1, 10));
+        detector.on(moved(-1, 9));
+
+        verify(events, times(1)).publishEvent(any(LowStockDetectedEvent.class));
+        assertThat(meterRegistry.counter("inventory.stock.low.suppressed").count()).isEqualTo(1);
+    }
+
+    private StockMovedEvent moved(int delta, int stockAfter) {
+        return new StockMovedEvent(productId, delta, stockAfter, StockMovementReason.ADJUSTMENT, null);
+    }
+}
@@ -0,0 +1,42 @@
+package com.catanio.ecommerce.application.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpiryJobTest {
+
+    @Mock
+    StockReservationService reservationService;
+
+    @Test
+    void shouldKeepExpiringWhileBatchesComeBackFull() {
+        var job = new ReservationExpiryJob(reservationService,
+            new ReservationProperties(Duration.ofMinutes(15), Duration.ofSeconds(30), 100));
+        when(reservationService.expireBatch(any(Instant.class), eq(100))).thenReturn(100, 100, 40);
+
+        job.expireDue();
+
+        verify(reservationService, times(3)).expireBatch(any(Instant.class), eq(100));
+    }
+
+    @Test
+    void shouldStopAfterEmptyBatch() {
+        var job = new ReservationExpiryJob(reservationService,
+            new ReservationProperties(Duration.ofMinutes(15), Duration.ofSeconds(30), 100));
+        when(reservationService.expireBatch(any(Instant.class), eq(100))).thenReturn(0);
+
+        job.expireDue();
+
+        verify(reservationService, times(1)).expireBatch(any(Instant.class), eq(100));
+    }
+}
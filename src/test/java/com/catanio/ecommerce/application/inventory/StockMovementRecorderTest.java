@@ -0,0 +1,117 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import com.catanio.ecommerce.infrastructure.persistence.StockMovementRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockMovementRecorderTest {
+
+    @Mock
+    StockMovementRepository movementRepository;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    StockMovementRecorder recorder;
+
+    UUID productId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        recorder.shutdown();
+    }
+
+    @Test
+    void shouldWriteBufferedMovementsInBatches() {
+        // flush automático só daqui a 1h: o teste controla quando drena
+        recorder = recorder(10, 2);
+        var batches = recordBatches();
+
+        recorder.on(movement(5));
+        recorder.on(movement(-1));
+        recorder.on(movement(-2));
+        verifyNoInteractions(movementRepository);
+
+        recorder.flush();
+
+        assertThat(batches).containsExactly(List.of(5, -1), List.of(-2));
+        assertThat(meterRegistry.counter("inventory.stock.movements.recorded").count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRetryFailedBatchInOrder() {
+        recorder = recorder(10, 10);
+        var batches = new ArrayList<List<Integer>>();
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+            .doAnswer(invocation -> batches.add(deltas(invocation.getArgument(0))))
+            .when(movementRepository).insertAll(anyList());
+
+        recorder.on(movement(1));
+        assertThatThrownBy(recorder::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        recorder.on(movement(2));
+        recorder.flush();
+
+        // batch retido sai primeiro, como estava; o que chegou depois vai no batch seguinte
+        assertThat(batches).containsExactly(List.of(1), List.of(2));
+    }
+
+    @Test
+    void shouldDropMovementWhenBufferStaysFull() {
+        recorder = recorder(1, 10);
+        recordBatches();
+
+        recorder.on(movement(1));
+        recorder.on(movement(2));
+
+        assertThat(meterRegistry.counter("inventory.stock.movements.dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFlushRemainingMovementsOnShutdown() {
+        recorder = recorder(10, 10);
+        var batches = recordBatches();
+
+        recorder.on(movement(7));
+        recorder.shutdown();
+
+        assertThat(batches).containsExactly(List.of(7));
+    }
+
+    private StockMovementRecorder recorder(int capacity, int batchSize) {
+        var properties = new StockMovementProperties(
+            capacity, Duration.ofMillis(10), Duration.ofHours(1), batchSize, Duration.ofHours(1), Duration.ofMinutes(5), 2
+        );
+        return new StockMovementRecorder(movementRepository, properties, meterRegistry);
+    }
+
+    // o recorder reaproveita a lista do batch: copia os deltas no momento da chamada
+    private List<List<Integer>> recordBatches() {
+        var batches = new ArrayList<List<Integer>>();
+        lenient().doAnswer(invocation -> batches.add(deltas(invocation.getArgument(0))))
+            .when(movementRepository).insertAll(anyList());
+        return batches;
+    }
+
+    private StockMovedEvent movement(int delta) {
+        return new StockMovedEvent(productId, delta, 10 + delta, StockMovementReason.ADJUSTMENT, null);
+    }
+
+    private static List<Integer> deltas(List<StockMovedEvent> batch) {
+        return batch.stream().map(StockMovedEvent::delta).toList();
+    }
+}
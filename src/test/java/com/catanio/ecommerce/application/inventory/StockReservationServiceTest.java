@@ -0,0 +1,216 @@
+package com.catanio.ecommerce.application.inventory;
+
+import com.catanio.ecommerce.application.catalog.CatalogViewProjector;
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.catalog.Product;
+import com.catanio.ecommerce.domain.catalog.events.ProductsStockChangedEvent;
+import com.catanio.ecommerce.domain.exception.BusinessException;
+import com.catanio.ecommerce.domain.inventory.ReservationStatus;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CategoryRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.catanio.ecommerce.infrastructure.persistence.StockLevel;
+import com.catanio.ecommerce.infrastructure.persistence.StockReservationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import({StockReservationService.class, CatalogViewProjector.class, NoOpCacheManager.class})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StockReservationServiceTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(ReservationProperties.class)
+    static class Properties {
+    }
+
+    @Autowired StockReservationService reservationService;
+    @Autowired StockReservationRepository reservationRepository;
+    @Autowired ProductRepository productRepository;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired CatalogViewRepository catalogViewRepository;
+    @Autowired EntityManager entityManager;
+    @Autowired ApplicationEventPublisher events;
+
+    Product notebook;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        var electronics = categoryRepository.save(Category.create("Electronics", null));
+        notebook = productRepository.saveAndFlush(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+    }
+
+    @Test
+    void shouldHoldReservedUnitsWithoutTouchingOnHandStock() {
+        productRepository.reserveAll(Map.of(notebook.getId(), 4));
+        var reservations = reservationService.recordForOrder(UUID.randomUUID(), Map.of(notebook.getId(), 4));
+
+        assertThat(reservations).singleElement().satisfies(reservation -> {
+            assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.ACTIVE);
+            assertThat(reservation.getExpiresAt()).isAfter(Instant.now().plus(Duration.ofMinutes(14)));
+        });
+        assertThat(stock()).isEqualTo(new StockLevel(10, 4));
+    }
+
+    @Test
+    void shouldProjectAvailabilityNetOfActiveReservations() {
+        var orderId = reserve(10);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(catalogEntry().getStockQuantity()).isEqualTo(10);
+        assertThat(catalogEntry().isAvailable()).isFalse();
+        assertThat(productRepository.findById(notebook.getId()).orElseThrow().isAvailable()).isFalse();
+
+        reservationService.releaseForOrder(orderId);
+        entityManager.clear();
+
+        assertThat(catalogEntry().isAvailable()).isTrue();
+        assertThat(productRepository.findById(notebook.getId()).orElseThrow().isAvailable()).isTrue();
+    }
+
+    @Test
+    void shouldRejectReservationBeyondAvailable() {
+        reserve(8);
+
+        assertThat(productRepository.reserveAll(Map.of(notebook.getId(), 3))).isEmpty();
+        assertThat(stock()).isEqualTo(new StockLevel(10, 8));
+    }
+
+    @Test
+    void shouldReturnUnitsOnReleaseOnlyOnce() {
+        var orderId = reserve(4);
+
+        assertThat(reservationService.releaseForOrder(orderId)).isEqualTo(1);
+        assertThat(reservationService.releaseForOrder(orderId)).isZero();
+        assertThat(stock()).isEqualTo(new StockLevel(10, 0));
+    }
+
+    @Test
+    void shouldConsumeOnHandStockOnConfirm() {
+        var orderId = reserve(4);
+
+        reservationService.confirmForOrder(orderId, Set.of(notebook.getId()));
+
+        assertThat(stock()).isEqualTo(new StockLevel(6, 0));
+        assertThat(reservationRepository.findAll())
+            .extracting(r -> r.getStatus()).containsOnly(ReservationStatus.CONFIRMED);
+        assertThatThrownBy(() -> reservationService.confirmForOrder(orderId, Set.of(notebook.getId())))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("no longer active");
+    }
+
+    @Test
+    void shouldRefuseToConfirmOrderWhoseReservationExpired() {
+        var orderId = reserve(4);
+        reservationService.expireBatch(Instant.now().plus(Duration.ofHours(1)), 10);
+
+        assertThatThrownBy(() -> reservationService.confirmForOrder(orderId, Set.of(notebook.getId())))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("no longer active");
+        assertThat(stock()).isEqualTo(new StockLevel(10, 0));
+    }
+
+    @Test
+    void shouldReleaseOnlyReservationsOfTheCancelledOrder() {
+        var orderId = reserve(5);
+        reserve(1);
+
+        assertThat(reservationService.releaseForOrder(orderId)).isEqualTo(1);
+        assertThat(stock()).isEqualTo(new StockLevel(10, 1));
+    }
+
+    @Test
+    void shouldExpireDueReservationsInBatches() {
+        for (int i = 0; i < 5; i++) {
+            reserve(1);
+        }
+        var later = Instant.now().plus(Duration.ofHours(1));
+
+        assertThat(reservationService.expireBatch(later, 3)).isEqualTo(3);
+        assertThat(reservationService.expireBatch(later, 3)).isEqualTo(2);
+        assertThat(reservationService.expireBatch(later, 3)).isZero();
+        assertThat(stock()).isEqualTo(new StockLevel(10, 0));
+        assertThat(reservationRepository.findAll())
+            .extracting(r -> r.getStatus()).containsOnly(ReservationStatus.EXPIRED);
+    }
+
+    @Test
+    void shouldNotExpireReservationsBeforeTheirTtl() {
+        reserve(1);
+
+        assertThat(reservationService.expireBatch(Instant.now(), 10)).isZero();
+        assertThat(stock()).isEqualTo(new StockLevel(10, 1));
+    }
+
+    @Test
+    void shouldKeepManualAdjustmentAboveReservedUnits() {
+        reserve(7);
+
+        assertThat(productRepository.adjustStock(notebook.getId(), -4)).isEmpty();
+        assertThat(productRepository.adjustStock(notebook.getId(), -3)).contains(7);
+    }
+
+    // o que o checkout faz por pedido: UPDATE em lote, ledger com o id do pedido, catalog_view reprojetado
+    private UUID reserve(int quantity) {
+        var orderId = UUID.randomUUID();
+        assertThat(productRepository.reserveAll(Map.of(notebook.getId(), quantity))).hasSize(1);
+        reservationService.recordForOrder(orderId, Map.of(notebook.getId(), quantity));
+        events.publishEvent(new ProductsStockChangedEvent(List.of(notebook.getId())));
+        return orderId;
+    }
+
+    private StockLevel stock() {
+        entityManager.flush();
+        entityManager.clear();
+        return productRepository.findStockLevel(notebook.getId()).orElseThrow();
+    }
+
+    private CatalogEntry catalogEntry() {
+        return catalogViewRepository.findSlice(Specification.unrestricted(), PageRequest.of(0, 1)).getContent().getFirst();
+    }
+}
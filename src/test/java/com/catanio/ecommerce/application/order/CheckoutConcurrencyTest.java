@@ -0,0 +1,218 @@
+package com.catanio.ecommerce.application.order;
+
+import com.catanio.ecommerce.application.cart.CartStore;
+import com.catanio.ecommerce.application.inventory.ReservationProperties;
+import com.catanio.ecommerce.application.inventory.StockReservationService;
+import com.catanio.ecommerce.application.outbox.Outbox;
+import com.catanio.ecommerce.application.catalog.CatalogViewProjector;
+import com.catanio.ecommerce.config.CacheConfig;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.catalog.Product;
+import com.catanio.ecommerce.domain.order.CartTotals;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CartSnapshot;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CategoryRepository;
+import com.catanio.ecommerce.infrastructure.persistence.OrderRepository;
+import com.catanio.ecommerce.infrastructure.persistence.OutboxRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.catanio.ecommerce.infrastructure.persistence.StockReservationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Checkouts simultâneos com produtos em comum, listados em ordens diferentes em cada carrinho:
+// cada um commita de verdade, então o teste não roda na transação (com rollback) do @DataJpaTest
+@DataJpaTest
+@Import(CatalogViewProjector.class)
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CheckoutConcurrencyTest {
+
+    static final int BUYERS = 60;
+    static final int STOCK = 40;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired CartRepository cartRepository;
+    @Autowired ProductRepository productRepository;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired CatalogViewRepository catalogViewRepository;
+    @Autowired OrderRepository orderRepository;
+    @Autowired StockReservationRepository reservationRepository;
+    @Autowired OutboxRepository outboxRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired ApplicationEventPublisher events;
+
+    CartStore cartStore = mock(CartStore.class);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CheckoutService checkoutService;
+    List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        var electronics = categoryRepository.save(Category.create("Electronics", null));
+        products = new ArrayList<>();
+        for (var name : List.of("Notebook", "Mouse", "Keyboard", "Monitor")) {
+            var product = productRepository.save(Product.create(name, null, Money.of("100.00"), STOCK, electronics));
+            transactionTemplate.executeWithoutResult(status -> catalogViewRepository.upsertProduct(product.getId()));
+            products.add(product);
+        }
+        var outbox = new Outbox(outboxRepository, new ObjectMapper().findAndRegisterModules());
+        var cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCT_DETAILS);
+        var reservationService = new StockReservationService(reservationRepository, productRepository,
+            new ReservationProperties(Duration.ofMinutes(15), Duration.ofSeconds(30), 500), cacheManager, events);
+        checkoutService = new CheckoutService(cartStore, cartRepository, productRepository, orderRepository, reservationService,
+            outbox, transactionTemplate, cacheManager, events, meterRegistry);
+    }
+
+    // dados commitados: limpa ao final (catalog_view sai junto, ON DELETE CASCADE)
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM outbox");
+        jdbcTemplate.update("DELETE FROM stock_reservations");
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM cart_items");
+        jdbcTemplate.update("DELETE FROM carts");
+        jdbcTemplate.update("DELETE FROM users");
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNeverOversellNorDeadlockOnOverlappingCarts() throws Exception {
+        // cada carrinho: 3 dos 4 produtos, 1 unidade cada, em ordem embaralhada
+        var carts = new HashMap<UUID, CartSnapshot>();
+        for (int i = 0; i < BUYERS; i++) {
+            var lines = new ArrayList<>(products.subList(0, 4));
+            lines.remove(i % 4);
+            Collections.shuffle(lines);
+            var userId = user(i);
+            carts.put(userId, new CartSnapshot(userId, Instant.now(), Instant.now().plusSeconds(3600),
+                lines.stream().map(p -> new CartSnapshot.Item(p.getId(), p.getName(), p.getPrice().amount(), 1)).toList(),
+                CartTotals.empty()));
+        }
+        when(cartStore.read(any(), any())).thenAnswer(invocation -> carts.get(invocation.<UUID>getArgument(0)));
+        cartRepository.writeAll(List.copyOf(carts.values()));
+
+        var placed = new AtomicInteger();
+        var rejected = new AtomicInteger();
+        runInParallel(new ArrayList<>(carts.keySet()), userId -> {
+            try {
+                checkoutService.checkout(userId);
+                placed.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // 60 × 3 linhas disputando 4 × 40 unidades: nem todos cabem, e nenhum erro além de estoque insuficiente
+        assertThat(placed.get() + rejected.get()).isEqualTo(BUYERS);
+        assertThat(rejected).hasPositiveValue();
+        int sold = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM order_items", Integer.class);
+        int reserved = jdbcTemplate.queryForObject("SELECT SUM(reserved_quantity) FROM products", Integer.class);
+        assertThat(sold).isEqualTo(placed.get() * 3);
+        // pedidos reservam, o físico só baixa no pagamento
+        assertThat(reserved).isEqualTo(sold);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(stock_quantity) FROM products", Integer.class)).isEqualTo(4 * STOCK);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT MIN(stock_quantity - reserved_quantity) FROM products", Integer.class)).isNotNegative();
+        // uma reserva ativa por linha de pedido, com o id do pedido
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(r.quantity), 0) FROM stock_reservations r JOIN orders o ON o.id = r.order_id WHERE r.status = 'ACTIVE'",
+            Integer.class)).isEqualTo(sold);
+        // read model atualizado na mesma transação de cada checkout: esgotado = sem disponível
+        assertThat(jdbcTemplate.queryForObject("""
+            SELECT count(*) FROM catalog_view cv JOIN products p ON p.id = cv.product_id
+            WHERE cv.available <> (p.stock_quantity - p.reserved_quantity > 0)
+            """, Integer.class)).isZero();
+        // linhas do carrinho saem na transação do pedido; recusados mantêm as suas
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM cart_items", Integer.class))
+            .isEqualTo(rejected.get() * 3);
+        // um OrderCreatedEvent por pedido commitado, nenhum dos recusados
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM outbox o JOIN orders ord ON ord.id = o.aggregate_id WHERE o.event_type = 'OrderCreatedEvent'",
+            Integer.class)).isEqualTo(placed.get());
+
+        var latency = meterRegistry.get("checkout.duration").tag("outcome", "placed").timer();
+        assertThat(latency.count()).isEqualTo(placed.get());
+        assertThat(latency.takeSnapshot().percentileValues()).extracting(value -> value.percentile()).contains(0.99);
+    }
+
+    private UUID user(int i) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO users (email, first_name, last_name, password_hash)
+            VALUES (?, 'Test', 'User', 'x')
+            RETURNING id
+            """, UUID.class, "buyer" + i + "@example.com");
+    }
+
+    private static void runInParallel(List<UUID> userIds, Consumer<UUID> checkout) throws Exception {
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<?>>();
+        try (var executor = Executors.newFixedThreadPool(userIds.size())) {
+            for (var userId : userIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    checkout.accept(userId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
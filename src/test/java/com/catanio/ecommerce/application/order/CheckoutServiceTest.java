@@ -0,0 +1,183 @@
+package com.catanio.ecommerce.application.order;
+
+import com.catanio.ecommerce.application.cart.CartStore;
+import com.catanio.ecommerce.application.cart.CartStoreProperties;
+import com.catanio.ecommerce.application.inventory.StockReservationService;
+import com.catanio.ecommerce.application.outbox.Outbox;
+import com.catanio.ecommerce.config.CacheConfig;
+import com.catanio.ecommerce.domain.catalog.events.ProductsStockChangedEvent;
+import com.catanio.ecommerce.domain.exception.BusinessException;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import com.catanio.ecommerce.domain.order.Cart;
+import com.catanio.ecommerce.domain.order.CartItem;
+import com.catanio.ecommerce.domain.order.OrderItem;
+import com.catanio.ecommerce.domain.order.OrderStatus;
+import com.catanio.ecommerce.domain.order.events.OrderCreatedEvent;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CartRepository;
+import com.catanio.ecommerce.infrastructure.persistence.OrderRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ReservedStock;
+import com.catanio.ecommerce.infrastructure.persistence.StockLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutServiceTest {
+
+    @Mock
+    CartRepository cartRepository;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    StockReservationService reservationService;
+
+    @Mock
+    Outbox outbox;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    ApplicationEventPublisher events;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CartStore cartStore;
+    CheckoutService checkoutService;
+
+    UUID userId = UUID.randomUUID();
+    UUID mouse = UUID.randomUUID();
+    UUID keyboard = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cartRepository.findByUserIdWithItems(any())).thenReturn(Optional.empty());
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        cartStore = new CartStore(cartRepository, transactionTemplate,
+                new CartStoreProperties(4, 100, Duration.ofHours(1), 500), meterRegistry);
+        checkoutService = new CheckoutService(cartStore, cartRepository, productRepository, orderRepository, reservationService,
+                outbox, transactionTemplate, new ConcurrentMapCacheManager(CacheConfig.PRODUCT_DETAILS), events, meterRegistry);
+    }
+
+    @Test
+    void shouldPlaceOrderWithCurrentPricesInOneStockUpdate() {
+        fillCart();
+        when(productRepository.reserveAll(Map.of(mouse, 2, keyboard, 1))).thenReturn(List.of(
+                new ReservedStock(mouse, "Mouse", new BigDecimal("89.90"), 8),
+                new ReservedStock(keyboard, "Keyboard", new BigDecimal("199.90"), 4)
+        ));
+        when(orderRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var order = checkoutService.checkout(userId);
+
+        assertThat(order.getItems()).extracting(OrderItem::getProductId, OrderItem::getQuantity)
+                .containsExactlyInAnyOrder(tuple(mouse, 2), tuple(keyboard, 1));
+        assertThat(order.calculateTotal()).isEqualTo(Money.of("379.70"));
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_PROCESSING);
+        verify(outbox).append(eq("Order"), eq(order.getId()), argThat(pending -> pending.size() == 1
+                && pending.getFirst() instanceof OrderCreatedEvent created
+                && created.totalAmount().equals(Money.of("379.70"))));
+        assertThat(cartStore.read(userId, Cart::isEmpty)).isTrue();
+        verify(cartRepository).deleteItems(userId);
+        verify(productRepository, times(1)).reserveAll(any());
+        verify(events).publishEvent(any(ProductsStockChangedEvent.class));
+        // reservado, não baixado: o físico só muda quando o pagamento confirma as reservas
+        verify(reservationService).recordForOrder(order.getId(), Map.of(mouse, 2, keyboard, 1));
+        verify(events, never()).publishEvent(any(StockMovedEvent.class));
+        assertThat(meterRegistry.get("checkout.duration").tag("outcome", "placed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepLineChangedWhileCheckoutWasRunning() {
+        fillCart();
+        when(productRepository.reserveAll(Map.of(mouse, 2, keyboard, 1))).thenAnswer(invocation -> {
+            // outra requisição do usuário altera a linha durante a transação do pedido
+            cartStore.update(userId, cart -> {
+                cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 5);
+                return null;
+            });
+            return List.of(
+                    new ReservedStock(mouse, "Mouse", new BigDecimal("89.90"), 8),
+                    new ReservedStock(keyboard, "Keyboard", new BigDecimal("199.90"), 4)
+            );
+        });
+        when(orderRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        checkoutService.checkout(userId);
+
+        assertThat(cartStore.read(userId, Cart::getItems))
+                .extracting(CartItem::getProductId, CartItem::getQuantity)
+                .containsExactly(tuple(mouse, 5));
+    }
+
+    @Test
+    void shouldRejectEmptyCart() {
+        assertThatThrownBy(() -> checkoutService.checkout(userId))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Cart is empty");
+
+        verifyNoInteractions(productRepository, orderRepository);
+        assertThat(meterRegistry.get("checkout.duration").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectWholeOrderAndKeepCartWhenOneLineDoesNotFit() {
+        fillCart();
+        when(productRepository.reserveAll(any())).thenReturn(List.of(
+                new ReservedStock(mouse, "Mouse", new BigDecimal("89.90"), 8)
+        ));
+        when(productRepository.findStockLevel(keyboard)).thenReturn(Optional.of(new StockLevel(0, 0)));
+
+        assertThatThrownBy(() -> checkoutService.checkout(userId))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Available: 0, Requested: 1");
+
+        verify(orderRepository, never()).save(any());
+        verify(cartRepository, never()).deleteItems(any());
+        verifyNoInteractions(outbox, reservationService);
+        verify(events, never()).publishEvent(any());
+        assertThat(cartStore.read(userId, Cart::getItems)).hasSize(2);
+    }
+
+    @Test
+    void shouldReturn404ForProductRemovedSinceItWasAdded() {
+        fillCart();
+        when(productRepository.reserveAll(any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> checkoutService.checkout(userId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private void fillCart() {
+        cartStore.update(userId, cart -> {
+            cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 2);
+            cart.addOrUpdateItem(keyboard, "Keyboard", Money.of("199.90"), 1);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.catanio.ecommerce.application.order;
+
+import com.catanio.ecommerce.domain.order.OrderStatus;
+import com.catanio.ecommerce.infrastructure.persistence.OrderSummary;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderCursorTest {
+
+    @Test
+    void shouldRoundTripPositionOfLastOrderOfPage() {
+        var last = new OrderSummary(UUID.randomUUID(), OrderStatus.PAID, new BigDecimal("299.70"), 3,
+                Instant.parse("2026-03-01T10:15:30.123456Z"));
+
+        var decoded = OrderCursor.decode(OrderCursor.after(last).encode());
+
+        assertThat(decoded).isEqualTo(new OrderCursor(last.createdAt(), last.id()));
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString("yesterday|not-a-uuid".getBytes());
+
+        assertThatThrownBy(() -> OrderCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid cursor");
+        assertThatThrownBy(() -> OrderCursor.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.catanio.ecommerce.application.order;
+
+import com.catanio.ecommerce.application.inventory.StockReservationService;
+import com.catanio.ecommerce.application.outbox.Outbox;
+import com.catanio.ecommerce.domain.exception.BusinessException;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.order.Order;
+import com.catanio.ecommerce.domain.order.OrderStatus;
+import com.catanio.ecommerce.domain.order.events.OrderPaidEvent;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPaymentServiceTest {
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    StockReservationService reservationService;
+
+    @Mock
+    Outbox outbox;
+
+    @InjectMocks
+    OrderPaymentService orderPaymentService;
+
+    UUID userId = UUID.randomUUID();
+    UUID orderId = UUID.randomUUID();
+    UUID mouse = UUID.randomUUID();
+    Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = Order.create(userId);
+        order.addItem(mouse, "Mouse", Money.of("89.90"), 2);
+        order.confirm();
+        order.pullDomainEvents();
+        lenient().when(orderRepository.findByIdAndUserIdForUpdate(orderId, userId)).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    void shouldConfirmReservationsAndPublishPaidEvent() {
+        var paid = orderPaymentService.pay(userId, orderId);
+
+        assertThat(paid.getStatus()).isEqualTo(OrderStatus.PAID);
+        verify(reservationService).confirmForOrder(orderId, Set.of(mouse));
+        verify(outbox).append(eq("Order"), eq(orderId), argThat(events -> events.size() == 1
+                && events.getFirst() instanceof OrderPaidEvent));
+    }
+
+    @Test
+    void shouldNotPayWhenReservationsAreGone() {
+        doThrow(new BusinessException("no longer active")).when(reservationService).confirmForOrder(any(), any());
+
+        assertThatThrownBy(() -> orderPaymentService.pay(userId, orderId))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_PROCESSING);
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void shouldRejectPayingOrderTwice() {
+        orderPaymentService.pay(userId, orderId);
+
+        assertThatThrownBy(() -> orderPaymentService.pay(userId, orderId))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("is PAID");
+        verify(reservationService, times(1)).confirmForOrder(any(), any());
+    }
+
+    @Test
+    void shouldReleaseReservationsOnCancel() {
+        var cancelled = orderPaymentService.cancel(userId, orderId);
+
+        assertThat(cancelled.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        verify(reservationService).releaseForOrder(orderId);
+    }
+
+    @Test
+    void shouldReturn404ForOrderOfAnotherUser() {
+        var otherUser = UUID.randomUUID();
+
+        assertThatThrownBy(() -> orderPaymentService.cancel(otherUser, orderId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(reservationService);
+    }
+}
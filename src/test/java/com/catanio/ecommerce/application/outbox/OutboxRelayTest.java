@@ -0,0 +1,105 @@
+package com.catanio.ecommerce.application.outbox;
+
+import com.catanio.ecommerce.domain.outbox.OutboxMessage;
+import com.catanio.ecommerce.infrastructure.persistence.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    DataSource dataSource;
+
+    @Mock
+    OutboxRepository outboxRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    OutboxSink sink;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldDeliverBatchesInInsertOrderUntilOneComesShort() {
+        var first = message(1L);
+        var second = message(2L);
+        var third = message(3L);
+        when(outboxRepository.claimBatch(2)).thenReturn(List.of(second, first), List.of(third));
+        when(outboxRepository.oldestCreatedAt()).thenReturn(Optional.empty());
+
+        int delivered = relay(2).relay();
+
+        assertThat(delivered).isEqualTo(3);
+        verify(sink).publish(List.of(first, second));
+        verify(sink).publish(List.of(third));
+        assertThat(meterRegistry.counter("outbox.published").count()).isEqualTo(3);
+        assertThat(meterRegistry.get("outbox.delivery.lag").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("outbox.lag.seconds").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldNotCallSinksWhenOutboxIsEmpty() {
+        when(outboxRepository.claimBatch(100)).thenReturn(List.of());
+        when(outboxRepository.oldestCreatedAt()).thenReturn(Optional.empty());
+
+        assertThat(relay(100).relay()).isZero();
+
+        verify(sink, never()).publish(any());
+    }
+
+    @Test
+    void shouldRollBackBatchWhenSinkFails() {
+        var message = message(1L);
+        when(outboxRepository.claimBatch(100)).thenReturn(List.of(message));
+        doThrow(new IllegalStateException("broker down")).when(sink).publish(any());
+
+        var relay = relay(100);
+
+        assertThatThrownBy(relay::relay).isInstanceOf(IllegalStateException.class);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertThat(meterRegistry.counter("outbox.published").count()).isZero();
+    }
+
+    @Test
+    void shouldRefuseUnknownSinkNames() {
+        when(sink.name()).thenReturn(InProcessOutboxSink.NAME);
+
+        assertThatThrownBy(() -> new OutboxRelay(dataSource, outboxRepository, new TransactionTemplate(transactionManager),
+                new OutboxProperties(List.of("kafka"), 100, Duration.ofSeconds(10)), List.of(sink), meterRegistry))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Unknown outbox sink: kafka");
+    }
+
+    private OutboxRelay relay(int batchSize) {
+        when(sink.name()).thenReturn(InProcessOutboxSink.NAME);
+        return new OutboxRelay(dataSource, outboxRepository, new TransactionTemplate(transactionManager),
+                new OutboxProperties(List.of(InProcessOutboxSink.NAME), batchSize, Duration.ofSeconds(10)),
+                List.of(sink), meterRegistry);
+    }
+
+    private static OutboxMessage message(long id) {
+        var message = mock(OutboxMessage.class);
+        lenient().when(message.getId()).thenReturn(id);
+        lenient().when(message.getCreatedAt()).thenReturn(Instant.now().minusMillis(50));
+        return message;
+    }
+}
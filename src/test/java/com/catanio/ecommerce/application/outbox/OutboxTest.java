@@ -0,0 +1,76 @@
+package com.catanio.ecommerce.application.outbox;
+
+import com.catanio.ecommerce.domain.order.events.OrderCreatedEvent;
+import com.catanio.ecommerce.domain.outbox.OutboxMessage;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.NewOutboxMessage;
+import com.catanio.ecommerce.infrastructure.persistence.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxTest {
+
+    @Mock
+    OutboxRepository outboxRepository;
+
+    Outbox outbox;
+
+    UUID orderId = UUID.randomUUID();
+    UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        outbox = new Outbox(outboxRepository, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void shouldStoreEventsAsJsonAndReadThemBack() {
+        var event = new OrderCreatedEvent(orderId, userId, Money.of("379.70"));
+
+        outbox.append("Order", orderId, List.of(event));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NewOutboxMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).append(captor.capture());
+        var stored = captor.getValue().getFirst();
+        assertThat(stored.aggregateType()).isEqualTo("Order");
+        assertThat(stored.aggregateId()).isEqualTo(orderId);
+        assertThat(stored.eventType()).isEqualTo("OrderCreatedEvent");
+        assertThat(outbox.read(message(stored.eventType(), stored.payload()))).isEqualTo(event);
+    }
+
+    @Test
+    void shouldRejectEventTypesNotRegistered() {
+        assertThatThrownBy(() -> outbox.append("Order", orderId, List.of("not an event")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("java.lang.String");
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void shouldFailOnUnknownStoredType() {
+        assertThatThrownBy(() -> outbox.read(message("OrderShippedEvent", "{}")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Unknown outbox event type: OrderShippedEvent");
+    }
+
+    private static OutboxMessage message(String eventType, String payload) {
+        var message = mock(OutboxMessage.class);
+        when(message.getEventType()).thenReturn(eventType);
+        lenient().when(message.getPayload()).thenReturn(payload);
+        return message;
+    }
+}
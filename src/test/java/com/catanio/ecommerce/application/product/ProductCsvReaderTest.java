@@ -0,0 +1,67 @@
+package com.catanio.ecommerce.application.product;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProductCsvReaderTest {
+
+    static final UUID CATEGORY = UUID.fromString("0190a3b2-0000-7000-8000-000000000002");
+
+    @Test
+    void shouldReadColumnsByHeaderName() {
+        var rows = read("""
+            category_id,price,name,stock_quantity
+            %s,59.90,Shirt,3
+            """.formatted(CATEGORY));
+
+        assertThat(rows).containsExactly(
+            new ProductImportRow(1, "Shirt", null, new BigDecimal("59.90"), 3, CATEGORY)
+        );
+    }
+
+    @Test
+    void shouldHandleQuotedCommasQuotesAndLineBreaks() {
+        var rows = read("name,description,price,stock_quantity,category_id\r\n"
+            + "\"Shirt, \"\"Slim\"\"\",\"Line one\nLine two\",59.90,3," + CATEGORY + "\r\n"
+            + "\r\n"
+            + "Mouse,,99.90,1," + CATEGORY);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).name()).isEqualTo("Shirt, \"Slim\"");
+        assertThat(rows.get(0).description()).isEqualTo("Line one\nLine two");
+        assertThat(rows.get(1).row()).isEqualTo(2);
+        assertThat(rows.get(1).description()).isNull();
+    }
+
+    @Test
+    void shouldTurnUnparsableValuesIntoRowErrorsAndKeepReading() {
+        var rows = read("""
+            name,price,stock_quantity,category_id
+            Shirt,cheap,3,%s
+            Mouse,99.90,1,%s
+            """.formatted(CATEGORY, CATEGORY));
+
+        assertThat(rows.get(0).parseError()).isEqualTo("Invalid value for price: cheap");
+        assertThat(rows.get(1).parseError()).isNull();
+    }
+
+    @Test
+    void shouldRejectHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> new ProductCsvReader(new StringReader("name,price\n")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("stock_quantity, category_id");
+    }
+
+    private static List<ProductImportRow> read(String csv) {
+        var rows = new ArrayList<ProductImportRow>();
+        new ProductCsvReader(new StringReader(csv)).forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,65 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProductCursorTest {
+
+    @Test
+    void shouldRoundTripCreatedAtCursor() {
+        var id = UUID.randomUUID();
+        var cursor = new ProductCursor("createdAt", Sort.Direction.DESC, Instant.parse("2026-03-01T10:15:30.123456Z"), id);
+
+        var decoded = ProductCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldRoundTripPriceCursor() {
+        var id = UUID.randomUUID();
+        var cursor = new ProductCursor("price", Sort.Direction.ASC, new BigDecimal("2999.99"), id);
+
+        var decoded = ProductCursor.decode(cursor.encode());
+
+        assertThat(decoded.key()).isEqualTo(new BigDecimal("2999.99"));
+        assertThat(decoded.direction()).isEqualTo(Sort.Direction.ASC);
+        assertThat(decoded.id()).isEqualTo(id);
+    }
+
+    @Test
+    void shouldBuildCursorFromLastEntryOfPage() {
+        var id = UUID.randomUUID();
+        var now = Instant.now();
+        var entry = new CatalogEntry(id, "Notebook", new BigDecimal("2999.99"), 10, true,
+            UUID.randomUUID(), "Electronics", now, now);
+
+        var cursor = ProductCursor.after(entry, "price", Sort.Direction.DESC);
+
+        assertThat(cursor.key()).isEqualTo(new BigDecimal("2999.99"));
+        assertThat(cursor.id()).isEqualTo(id);
+        assertThat(cursor.sort()).isEqualTo(Sort.by(Sort.Direction.DESC, "price").and(Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> ProductCursor.decode("bm90LWEtY3Vyc29y"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void shouldRejectUnsupportedSort() {
+        assertThat(ProductCursor.supports("name")).isFalse();
+        assertThatThrownBy(() -> new ProductCursor("name", Sort.Direction.ASC, "a", UUID.randomUUID()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("not supported");
+    }
+}
@@ -0,0 +1,99 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.infrastructure.persistence.ProductExportRow;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+
+    @Mock
+    ProductRepository productRepository;
+
+    ProductExportService exportService;
+
+    UUID id = UUID.fromString("0190a3b2-0000-7000-8000-000000000001");
+    UUID categoryId = UUID.fromString("0190a3b2-0000-7000-8000-000000000002");
+    Instant createdAt = Instant.parse("2026-03-01T10:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        var objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        exportService = new ProductExportService(productRepository, objectMapper);
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        var stream = Stream.of(
+            row("Notebook", "15 inch", 10),
+            row("Mouse", null, 0)
+        );
+        when(productRepository.streamActiveForExport()).thenReturn(stream);
+        var output = new ByteArrayOutputStream();
+
+        long rows = exportService.export(ProductExportFormat.NDJSON, output);
+
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"name\":\"Notebook\"", "\"available\":true", "\"createdAt\":\"2026-03-01T10:00:00Z\"");
+        assertThat(lines[1]).contains("\"name\":\"Mouse\"", "\"available\":false");
+    }
+
+    @Test
+    void shouldWriteCsvWithHeaderAndQuoteOnlyWhenNeeded() throws Exception {
+        when(productRepository.streamActiveForExport())
+            .thenReturn(Stream.of(row("Shirt, \"Slim\"", "Line one\nLine two", 3)));
+        var output = new ByteArrayOutputStream();
+
+        exportService.export(ProductExportFormat.CSV, output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "id,name,description,price,stock_quantity,available,category_id,category_name,created_at,updated_at\n"
+                + id + ",\"Shirt, \"\"Slim\"\"\",\"Line one\nLine two\",59.90,3,true," + categoryId
+                + ",Clothing,2026-03-01T10:00:00Z,2026-03-01T10:00:00Z\n"
+        );
+    }
+
+    @Test
+    void shouldCloseCursorStreamWhenDone() throws Exception {
+        var closed = new boolean[1];
+        when(productRepository.streamActiveForExport())
+            .thenReturn(Stream.of(row("Notebook", null, 1)).onClose(() -> closed[0] = true));
+
+        exportService.export(ProductExportFormat.NDJSON, new ByteArrayOutputStream());
+
+        assertThat(closed[0]).isTrue();
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> ProductExportFormat.parse("xml"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unsupported export format");
+    }
+
+    private ProductExportRow row(String name, String description, int stock) {
+        return new ProductExportRow(id, name, description, new BigDecimal("59.90"), stock, 0,
+            categoryId, "Clothing", createdAt, createdAt);
+    }
+}
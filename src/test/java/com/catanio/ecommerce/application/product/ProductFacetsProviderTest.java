@@ -0,0 +1,100 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.application.product.ProductFacets.CategoryCount;
+import com.catanio.ecommerce.application.product.ProductFacets.PriceBucketCount;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogFacetRow;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFacetsProviderTest {
+
+    @Mock
+    CatalogViewRepository catalogViewRepository;
+
+    ProductFacetsProvider provider;
+
+    UUID electronics = UUID.randomUUID();
+    UUID books = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ProductFacetsProperties(
+            List.of(new BigDecimal("100"), new BigDecimal("500")), Duration.ofSeconds(30), 100
+        );
+        provider = new ProductFacetsProvider(catalogViewRepository, properties);
+    }
+
+    @Test
+    void shouldRollUpCellsIntoCategoryAndPriceFacets() {
+        when(catalogViewRepository.countByCategoryAndPriceBucket(any(Specification.class), anyList()))
+            .thenReturn(List.of(
+                new CatalogFacetRow(books, "Books", 0, 4),
+                new CatalogFacetRow(electronics, "Electronics", 0, 1),
+                new CatalogFacetRow(electronics, "Electronics", 2, 6)
+            ));
+
+        var facets = provider.facetsFor(new ProductFilter(null, null, null, null), null);
+
+        assertThat(facets.categories()).containsExactly(
+            new CategoryCount(electronics, "Electronics", 7),
+            new CategoryCount(books, "Books", 4)
+        );
+        // faixa do meio vazia continua no histograma
+        assertThat(facets.priceBuckets()).containsExactly(
+            new PriceBucketCount(null, new BigDecimal("100"), 5),
+            new PriceBucketCount(new BigDecimal("100"), new BigDecimal("500"), 0),
+            new PriceBucketCount(new BigDecimal("500"), null, 6)
+        );
+    }
+
+    @Test
+    void shouldAggregateOncePerFilterWithinStalenessWindow() {
+        var filter = new ProductFilter(electronics, "mouse", null, null);
+        when(catalogViewRepository.countByCategoryAndPriceBucket(any(Specification.class), anyList()))
+            .thenReturn(List.of());
+
+        provider.facetsFor(filter, null);
+        provider.facetsFor(filter, List.of(new BigDecimal("100.00"), new BigDecimal("500")));
+
+        // limites iguais aos configurados (outra escala) caem na mesma entrada
+        verify(catalogViewRepository, times(1)).countByCategoryAndPriceBucket(any(Specification.class), anyList());
+    }
+
+    @Test
+    void shouldUseRequestedBoundariesInsteadOfConfiguredOnes() {
+        var boundaries = List.of(new BigDecimal("10"), new BigDecimal("20"), new BigDecimal("30"));
+        when(catalogViewRepository.countByCategoryAndPriceBucket(any(Specification.class), eq(boundaries)))
+            .thenReturn(List.of());
+
+        var facets = provider.facetsFor(new ProductFilter(null, null, null, null), boundaries);
+
+        assertThat(facets.priceBuckets()).hasSize(4);
+    }
+
+    @Test
+    void shouldRejectBoundariesThatAreNotAscending() {
+        var boundaries = List.of(new BigDecimal("500"), new BigDecimal("100"));
+
+        assertThatThrownBy(() -> provider.facetsFor(new ProductFilter(null, null, null, null), boundaries))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("ascending");
+        verifyNoInteractions(catalogViewRepository);
+    }
+}
@@ -0,0 +1,131 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.application.catalog.CatalogViewProjector;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.catalog.Product;
+import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import com.catanio.ecommerce.infrastructure.persistence.CategoryRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import({ProductImporter.class, CatalogViewProjector.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductImporterTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired ProductImporter importer;
+    @Autowired ProductRepository productRepository;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired CatalogViewRepository catalogViewRepository;
+
+    Category electronics;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        electronics = categoryRepository.save(Category.create("Electronics", null));
+        productRepository.saveAndFlush(Product.create("Existing Mouse", null, Money.of("99.90"), 5, electronics));
+    }
+
+    @Test
+    void shouldInsertValidRowsInChunksAndReportTheRest() {
+        var rows = new ArrayList<ProductImportRow>();
+        for (int i = 1; i <= 2500; i++) {
+            rows.add(row(i, "Cable " + i, "9.90", electronics.getId()));
+        }
+        rows.add(row(2501, "existing mouse", "10.00", electronics.getId()));   // já no banco (case-insensitive)
+        rows.add(row(2502, "Cable 7", "10.00", electronics.getId()));          // duplicata de outro lote
+        rows.add(row(2503, "Orphan", "10.00", UUID.randomUUID()));             // categoria inexistente
+        rows.add(row(2504, "Free", "0.00", electronics.getId()));              // preço inválido
+        rows.add(ProductImportRow.unreadable(2505, "Invalid value for price: abc"));
+        var progress = new ArrayList<ProductImportSummary>();
+
+        var summary = importer.importRows(rows.iterator(), progress::add);
+
+        assertThat(summary.processed()).isEqualTo(2505);
+        assertThat(summary.created()).isEqualTo(2500);
+        assertThat(summary.failed()).isEqualTo(5);
+        assertThat(summary.errors()).extracting(ProductImportSummary.RowError::row)
+            .containsExactly(2501L, 2502L, 2503L, 2504L, 2505L);
+        assertThat(summary.errors().getFirst().message())
+            .isEqualTo("Product 'existing mouse' already exists in category 'Electronics'");
+        assertThat(progress).extracting(ProductImportSummary::processed).containsExactly(1000L, 2000L, 2505L);
+
+        // mesmos efeitos colaterais de ProductService.create: contador por trigger e read model
+        assertThat(productRepository.countActiveFromCountersByCategoryId(electronics.getId())).isEqualTo(2501);
+        assertThat(catalogViewRepository.count(Specification.unrestricted())).isEqualTo(2500);
+    }
+
+    @Test
+    void shouldFindImportedProductThroughRegularRepository() {
+        importer.importRows(List.of(row(1, "  Keyboard  ", "149.90", electronics.getId())).iterator(), p -> {});
+
+        assertThat(productRepository.existsByNameIgnoreCaseAndCategoryId("keyboard", electronics.getId())).isTrue();
+        var product = productRepository.findAll().stream()
+            .filter(p -> p.getName().equals("Keyboard"))
+            .findFirst().orElseThrow();
+        assertThat(product.getPrice()).isEqualTo(Money.of("149.90"));
+        assertThat(product.getCreatedAt()).isEqualTo(product.getUpdatedAt());
+    }
+
+    @Test
+    void shouldReportTheSameValidationMessagesAsTheApi() {
+        var rows = List.of(
+            row(1, "", "10.00", electronics.getId()),
+            row(2, "Mouse", "10.001", electronics.getId()),
+            new ProductImportRow(3, "Mouse", "x".repeat(2001), null, -1, null),
+            new ProductImportRow(4, "Mouse", null, new BigDecimal("10.00"), -1, electronics.getId())
+        );
+
+        var summary = importer.importRows(rows.iterator(), p -> {});
+
+        assertThat(summary.created()).isZero();
+        assertThat(summary.errors()).extracting(ProductImportSummary.RowError::message).containsExactly(
+            "Name is required",
+            "Price must have at most 2 decimal places",
+            "Description must not exceed 2000 characters",
+            "Stock quantity cannot be negative"
+        );
+    }
+
+    private static ProductImportRow row(long row, String name, String price, UUID categoryId) {
+        return new ProductImportRow(row, name, null, new BigDecimal(price), 10, categoryId);
+    }
+}
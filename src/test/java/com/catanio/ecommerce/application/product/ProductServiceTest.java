@@ -1,11 +1,15 @@
 package com.catanio.ecommerce.application.product;
 
 import com.catanio.ecommerce.application.category.CategoryService;
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
 import com.catanio.ecommerce.domain.catalog.Category;
 import com.catanio.ecommerce.domain.catalog.Product;
+import com.catanio.ecommerce.domain.catalog.events.ProductChangedEvent;
+import com.catanio.ecommerce.domain.catalog.events.ProductPriceChangedEvent;
 import com.catanio.ecommerce.domain.exception.BusinessException;
 import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
 import com.catanio.ecommerce.domain.shared.Money;
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
 import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,16 +17,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +40,21 @@ class ProductServiceTest {
     @Mock
     ProductRepository productRepository;
 
+    @Mock
+    CatalogViewRepository catalogViewRepository;
+
     @Mock
     CategoryService categoryService;
 
+    @Mock
+    ProductTotalsProvider productTotals;
+
+    @Mock
+    StockWriteCoalescer stockWriteCoalescer;
+
+    @Mock
+    ApplicationEventPublisher events;
+
     @InjectMocks
     ProductService productService;
 
@@ -112,83 +133,75 @@ class ProductServiceTest {
     @Test
     void shouldListAllActiveProductsWithNoFilter() {
         var pageable = PageRequest.of(0, 10);
-        var products = List.of(
-            Product.create("Notebook", null, Money.of("2999.99"), 10, electronics),
-            Product.create("Mouse", null, Money.of("99.90"), 20, electronics)
-        );
-        when(productRepository.findAllActive(pageable))
-            .thenReturn(new PageImpl<>(products));
+        var entries = List.of(entry("Notebook", "2999.99"), entry("Mouse", "99.90"));
+        when(catalogViewRepository.findSlice(any(Specification.class), eq(pageable)))
+            .thenReturn(new SliceImpl<>(entries));
 
         var filter = new ProductFilter(null, null, null, null);
         var result = productService.findAll(filter, pageable);
 
-        assertThat(result.getTotalElements()).isEqualTo(2);
-        verify(productRepository).findAllActive(pageable);
+        assertThat(result.getContent()).hasSize(2);
+        verify(catalogViewRepository).findSlice(any(Specification.class), eq(pageable));
     }
 
     @Test
-    void shouldFilterByCategoryId() {
+    void shouldComposeEveryFilterIntoSingleQuery() {
         var pageable = PageRequest.of(0, 10);
-        when(productRepository.findByCategoryId(categoryId, pageable))
-            .thenReturn(new PageImpl<>(List.of()));
+        when(catalogViewRepository.findSlice(any(Specification.class), eq(pageable)))
+            .thenReturn(new SliceImpl<>(List.of()));
 
-        var filter = new ProductFilter(categoryId, null, null, null);
+        // nome + categoria + preço: antes caía no filtro de categoria e ignorava o resto
+        var filter = new ProductFilter(categoryId, "note", new BigDecimal("100.00"), null);
         productService.findAll(filter, pageable);
 
-        verify(productRepository).findByCategoryId(categoryId, pageable);
-        verify(productRepository, never()).findAllActive(any());
+        verify(catalogViewRepository, times(1)).findSlice(any(Specification.class), eq(pageable));
+        verifyNoMoreInteractions(catalogViewRepository);
+        verifyNoInteractions(productRepository);
     }
 
     @Test
-    void shouldFilterByPriceRange() {
-        var pageable = PageRequest.of(0, 10);
-        var min = new BigDecimal("100.00");
-        var max = new BigDecimal("500.00");
-        when(productRepository.findByPriceRange(min, max, pageable))
-            .thenReturn(new PageImpl<>(List.of()));
+    void shouldSeekAfterCursorWithoutOffsetQuery() {
+        var cursor = new ProductCursor("createdAt", Sort.Direction.DESC, Instant.now(), UUID.randomUUID());
+        var entries = List.of(entry("Mouse", "99.90"));
+        when(catalogViewRepository.findSlice(any(Specification.class), any()))
+            .thenReturn(new SliceImpl<>(entries));
 
-        var filter = new ProductFilter(null, null, min, max);
-        productService.findAll(filter, pageable);
+        var filter = new ProductFilter(categoryId, null, null, null);
+        var result = productService.findAllAfter(filter, cursor, 10);
 
-        verify(productRepository).findByPriceRange(min, max, pageable);
+        assertThat(result.getContent()).extracting("name").containsExactly("Mouse");
+        verify(catalogViewRepository).findSlice(any(Specification.class), eq(PageRequest.of(0, 10, cursor.sort())));
     }
 
     @Test
-    void shouldFilterByCategoryAndPriceRange() {
-        var pageable = PageRequest.of(0, 10);
-        var min = new BigDecimal("100.00");
-        var max = new BigDecimal("500.00");
-        when(productRepository.findByCategoryIdAndPriceRange(categoryId, min, max, pageable))
-            .thenReturn(new PageImpl<>(List.of()));
+    void shouldSearchWithEscapedSubstringPattern() {
+        var products = List.of(Product.create("100% Cotton Shirt", null, Money.of("59.90"), 10, electronics));
+        when(productRepository.searchActive("100% Cotton", "%100\\% cotton%", PageRequest.of(0, 20)))
+            .thenReturn(new SliceImpl<>(products));
 
-        var filter = new ProductFilter(categoryId, null, min, max);
-        productService.findAll(filter, pageable);
+        var result = productService.search("  100% Cotton ", 0, 20);
 
-        verify(productRepository).findByCategoryIdAndPriceRange(categoryId, min, max, pageable);
+        assertThat(result.getContent()).extracting("name").containsExactly("100% Cotton Shirt");
     }
 
     @Test
-    void shouldAdjustStockSuccessfully() {
-        var id = UUID.randomUUID();
-        var product = Product.create("Notebook", null, Money.of("2999.99"), 10, electronics);
-        when(productRepository.findActiveById(id)).thenReturn(Optional.of(product));
-        when(productRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-
-        productService.adjustStock(id, -3);
+    void shouldRejectSearchQueriesTooShortForTheIndex() {
+        assertThatThrownBy(() -> productService.search(" ab ", 0, 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("at least 3 characters");
 
-        assertThat(product.getStockQuantity()).isEqualTo(7);
-        verify(productRepository).save(product);
+        verifyNoInteractions(productRepository);
     }
 
     @Test
-    void shouldThrowWhenStockGoesBelowZero() {
+    void shouldAdjustStockThroughCoalescer() {
         var id = UUID.randomUUID();
-        var product = Product.create("Notebook", null, Money.of("2999.99"), 5, electronics);
-        when(productRepository.findActiveById(id)).thenReturn(Optional.of(product));
+        when(stockWriteCoalescer.adjust(id, -3)).thenReturn(7);
 
-        assertThatThrownBy(() -> productService.adjustStock(id, -10))
-            .isInstanceOf(IllegalArgumentException.class)
-            .hasMessageContaining("Insufficient stock");
+        productService.adjustStock(id, -3);
+
+        verify(stockWriteCoalescer).adjust(id, -3);
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -202,6 +215,7 @@ class ProductServiceTest {
 
         assertThat(product.isActive()).isFalse();
         verify(productRepository).save(product);
+        verify(events).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
@@ -229,6 +243,22 @@ class ProductServiceTest {
 
         assertThat(result.getName()).isEqualTo("NewName");
         assertThat(result.getPrice()).isEqualTo(Money.of("200.00"));
+        verify(events).publishEvent(argThat((Object event) ->
+                event instanceof ProductPriceChangedEvent changed && changed.price().equals(Money.of("200.00"))));
+    }
+
+    @Test
+    void shouldNotRepriceCartsWhenPriceIsUnchanged() {
+        var id = UUID.randomUUID();
+        var product = Product.create("Name", "Old desc", Money.of("100.00"), 10, electronics);
+        when(productRepository.findActiveByIdWithCategory(id)).thenReturn(Optional.of(product));
+        when(categoryService.findById(categoryId)).thenReturn(electronics);
+        when(productRepository.existsByNameIgnoreCaseAndCategoryId("NewName", categoryId)).thenReturn(false);
+        when(productRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        productService.update(id, "NewName", "New desc", Money.of("100.00"), categoryId);
+
+        verify(events, never()).publishEvent(any(ProductPriceChangedEvent.class));
     }
 
     @Test
@@ -249,4 +279,10 @@ class ProductServiceTest {
         verify(productRepository, never()).save(any());
     }
 
+
+    private CatalogEntry entry(String name, String price) {
+        var now = Instant.now();
+        return new CatalogEntry(UUID.randomUUID(), name, new BigDecimal(price), 10, true,
+            categoryId, electronics.getName(), now, now);
+    }
 }
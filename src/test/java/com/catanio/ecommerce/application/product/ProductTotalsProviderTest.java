@@ -0,0 +1,67 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.infrastructure.persistence.CatalogViewRepository;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductTotalsProviderTest {
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    CatalogViewRepository catalogViewRepository;
+
+    ProductTotalsProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new ProductTotalsProvider(productRepository, catalogViewRepository, new ProductTotalsProperties(Duration.ofSeconds(30), 100));
+    }
+
+    @Test
+    void shouldServeUnfilteredTotalFromCounters() {
+        when(productRepository.countActiveFromCounters()).thenReturn(4_000_000L);
+
+        var total = provider.totalFor(new ProductFilter(null, null, null, null));
+
+        assertThat(total).isEqualTo(4_000_000L);
+        verify(catalogViewRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void shouldServeCategoryTotalFromCounters() {
+        var categoryId = UUID.randomUUID();
+        when(productRepository.countActiveFromCountersByCategoryId(categoryId)).thenReturn(12L);
+
+        var total = provider.totalFor(new ProductFilter(categoryId, null, null, null));
+
+        assertThat(total).isEqualTo(12L);
+    }
+
+    @Test
+    void shouldCountOtherShapesOnceWithinStalenessWindow() {
+        var filter = new ProductFilter(null, "mouse", new BigDecimal("10.00"), new BigDecimal("50.00"));
+        when(catalogViewRepository.count(any(Specification.class))).thenReturn(7L);
+
+        provider.totalFor(filter);
+        var total = provider.totalFor(filter);
+
+        assertThat(total).isEqualTo(7L);
+        verify(catalogViewRepository, times(1)).count(any(Specification.class));
+    }
+}
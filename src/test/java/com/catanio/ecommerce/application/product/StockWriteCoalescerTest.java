@@ -0,0 +1,148 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.exception.StockWriteUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockWriteCoalescerTest {
+
+    @Mock
+    StockWriter stockWriter;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    StockWriteCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.shutdown();
+    }
+
+    @Test
+    void shouldPassThroughWhenDisabled() {
+        coalescer = new StockWriteCoalescer(stockWriter, new StockCoalescingProperties(false, Duration.ofMillis(5), 1, Duration.ofSeconds(5)), meterRegistry);
+        var id = UUID.randomUUID();
+        when(stockWriter.adjust(id, -1)).thenReturn(9);
+
+        assertThat(coalescer.adjust(id, -1)).isEqualTo(9);
+        verify(stockWriter, never()).adjustAll(any(), anyList());
+    }
+
+    @Test
+    void shouldMergeConcurrentAdjustmentsAndAnswerEachCaller() throws Exception {
+        coalescer = new StockWriteCoalescer(stockWriter, new StockCoalescingProperties(true, Duration.ofMillis(50), 2, Duration.ofSeconds(5)), meterRegistry);
+        var id = UUID.randomUUID();
+        // cada lote encontra 5 em estoque: aceita as 5 primeiras saídas do lote
+        var batchSizes = new CopyOnWriteArrayList<Integer>();
+        when(stockWriter.adjustAll(eq(id), anyList())).thenAnswer(invocation -> {
+            List<Integer> deltas = invocation.getArgument(1);
+            batchSizes.add(deltas.size());
+            return StockWriter.allocate(5, 0, deltas);
+        });
+
+        var results = runConcurrently(20, () -> coalescer.adjust(id, -1));
+
+        assertThat(batchSizes).hasSizeLessThan(20);
+        assertThat(meterRegistry.counter("catalog.stock.adjustments").count()).isEqualTo(20);
+        assertThat(meterRegistry.counter("catalog.stock.writes").count()).isEqualTo(batchSizes.size());
+        assertThat(meterRegistry.summary("catalog.stock.batch.size").totalAmount()).isEqualTo(20);
+        // cada chamador recebe o próprio resultado: o novo estoque ou estoque insuficiente
+        var applied = results.stream().filter(Integer.class::isInstance).toList();
+        var rejected = results.stream().filter(result -> !(result instanceof Integer)).toList();
+        assertThat(applied).hasSize(batchSizes.stream().mapToInt(size -> Math.min(size, 5)).sum());
+        assertThat(rejected).allSatisfy(result -> assertThat((Throwable) result)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Insufficient stock. Available: 0"));
+    }
+
+    @Test
+    void shouldFailEveryCallerOfBatchWhenWriteFails() throws Exception {
+        coalescer = new StockWriteCoalescer(stockWriter, new StockCoalescingProperties(true, Duration.ofMillis(20), 1, Duration.ofSeconds(5)), meterRegistry);
+        var id = UUID.randomUUID();
+        when(stockWriter.adjustAll(eq(id), anyList())).thenThrow(new ResourceNotFoundException("Product", id));
+
+        var results = runConcurrently(3, () -> coalescer.adjust(id, 1));
+
+        assertThat(results).allMatch(ResourceNotFoundException.class::isInstance);
+        assertThat(meterRegistry.counter("catalog.stock.writes").count()).isZero();
+    }
+
+    @Test
+    void shouldRejectAdjustmentsOnceShutdownStarted() throws InterruptedException {
+        coalescer = new StockWriteCoalescer(stockWriter, new StockCoalescingProperties(true, Duration.ofMillis(20), 1, Duration.ofSeconds(5)), meterRegistry);
+        coalescer.shutdown();
+
+        assertThatThrownBy(() -> coalescer.adjust(UUID.randomUUID(), -1))
+            .isInstanceOf(StockWriteUnavailableException.class)
+            .hasMessageStartingWith("Stock coalescer is shutting down")
+            .hasMessageEndingWith("was not applied");
+        verifyNoInteractions(stockWriter);
+    }
+
+    @Test
+    void shouldStopWaitingAfterWindowPlusWriteTimeout() {
+        coalescer = new StockWriteCoalescer(stockWriter, new StockCoalescingProperties(true, Duration.ofMillis(20), 1, Duration.ofMillis(200)), meterRegistry);
+        var id = UUID.randomUUID();
+        var release = new CountDownLatch(1);
+        when(stockWriter.adjustAll(eq(id), anyList())).thenAnswer(invocation -> {
+            release.await();
+            return StockWriter.allocate(5, 0, invocation.getArgument(1));
+        });
+
+        try {
+            assertThatThrownBy(() -> coalescer.adjust(id, -1))
+                .isInstanceOf(StockWriteUnavailableException.class)
+                .hasMessageContaining("timed out while being written")
+                .hasMessageEndingWith("its outcome is unknown");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    // resultado (Integer) ou exceção de cada chamada, na ordem de submissão
+    private static List<Object> runConcurrently(int callers, Callable<Integer> call) throws Exception {
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Integer>>();
+        try (var executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            var results = new ArrayList<Object>();
+            for (var future : futures) {
+                try {
+                    results.add(future.get(10, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    results.add(e.getCause());
+                }
+            }
+            return results;
+        }
+    }
+}
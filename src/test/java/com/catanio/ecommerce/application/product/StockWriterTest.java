@@ -0,0 +1,157 @@
+package com.catanio.ecommerce.application.product;
+
+import com.catanio.ecommerce.domain.catalog.events.ProductChangedEvent;
+import com.catanio.ecommerce.domain.exception.ResourceNotFoundException;
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import com.catanio.ecommerce.infrastructure.persistence.ProductRepository;
+import com.catanio.ecommerce.infrastructure.persistence.StockLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockWriterTest {
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    ApplicationEventPublisher events;
+
+    @InjectMocks
+    StockWriter stockWriter;
+
+    UUID id = UUID.randomUUID();
+
+    @Test
+    void shouldAdjustStockWithSingleConditionalUpdate() {
+        when(productRepository.adjustStock(id, -3)).thenReturn(Optional.of(7));
+
+        assertThat(stockWriter.adjust(id, -3)).isEqualTo(7);
+
+        // sem carregar nem salvar a entidade
+        verify(productRepository, never()).findStockLevel(any());
+        verify(productRepository, never()).save(any());
+        // listagem lê de catalog_view: estoque alterado precisa chegar ao read model
+        verify(events).publishEvent(argThat((Object event) ->
+            event instanceof ProductChangedEvent changed && changed.productId().equals(id)));
+        verify(events).publishEvent(argThat((Object event) -> isMovement(event, -3)));
+    }
+
+    @Test
+    void shouldThrowWhenStockGoesBelowReserved() {
+        // 8 físicos, 3 reservados: só 5 podem sair
+        when(productRepository.adjustStock(id, -6)).thenReturn(Optional.empty());
+        when(productRepository.findStockLevel(id)).thenReturn(Optional.of(new StockLevel(8, 3)));
+
+        assertThatThrownBy(() -> stockWriter.adjust(id, -6))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Insufficient stock. Available: 5, Requested: 6");
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void shouldThrowNotFoundWhenAdjustingStockOfMissingProduct() {
+        when(productRepository.adjustStock(id, 1)).thenReturn(Optional.empty());
+        when(productRepository.findStockLevel(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> stockWriter.adjust(id, 1))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void shouldApplyWholeBatchWithOneUpdateWhenNetFits() {
+        // 10 em estoque: +5, -3, -4 → net -2 → 8
+        when(productRepository.adjustStock(id, -2)).thenReturn(Optional.of(8));
+
+        var outcomes = stockWriter.adjustAll(id, List.of(-3, 5, -4));
+
+        assertThat(outcomes).containsExactly(
+            new StockWriter.Outcome(true, 12),
+            new StockWriter.Outcome(true, 15),
+            new StockWriter.Outcome(true, 8)
+        );
+        verify(productRepository, times(1)).adjustStock(any(), anyInt());
+        verify(productRepository, never()).lockStock(any());
+        verify(events).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void shouldRejectOnlyAdjustmentsThatDoNotFitWhenNetDoesNot() {
+        // 5 em estoque: -3 cabe, -4 não, -2 cabe → grava -5
+        when(productRepository.adjustStock(id, -9)).thenReturn(Optional.empty());
+        when(productRepository.lockStock(id)).thenReturn(Optional.of(new StockLevel(5, 0)));
+        when(productRepository.adjustStock(id, -5)).thenReturn(Optional.of(0));
+
+        var outcomes = stockWriter.adjustAll(id, List.of(-3, -4, -2));
+
+        assertThat(outcomes).containsExactly(
+            new StockWriter.Outcome(true, 2),
+            new StockWriter.Outcome(false, 2),
+            new StockWriter.Outcome(true, 0)
+        );
+        verify(events).publishEvent(any(ProductChangedEvent.class));
+        // ledger recebe cada ajuste aceito, não a soma gravada
+        verify(events, times(2)).publishEvent(any(StockMovedEvent.class));
+        verify(events).publishEvent(argThat((Object event) -> isMovement(event, -3)));
+        verify(events).publishEvent(argThat((Object event) -> isMovement(event, -2)));
+    }
+
+    @Test
+    void shouldKeepReservedUnitsOutOfBatchDecrements() {
+        // 6 físicos, 4 reservados: das saídas só cabem 2 unidades; a entrada vem antes
+        when(productRepository.adjustStock(id, -4)).thenReturn(Optional.empty());
+        when(productRepository.lockStock(id)).thenReturn(Optional.of(new StockLevel(6, 4)));
+        when(productRepository.adjustStock(id, -1)).thenReturn(Optional.of(5));
+
+        var outcomes = stockWriter.adjustAll(id, List.of(-2, -3, 1));
+
+        assertThat(outcomes).containsExactly(
+            new StockWriter.Outcome(true, 5),
+            new StockWriter.Outcome(false, 1),
+            new StockWriter.Outcome(true, 7)
+        );
+    }
+
+    @Test
+    void shouldNotWriteWhenNoAdjustmentFits() {
+        when(productRepository.adjustStock(id, -2)).thenReturn(Optional.empty());
+        when(productRepository.lockStock(id)).thenReturn(Optional.of(new StockLevel(0, 0)));
+
+        var outcomes = stockWriter.adjustAll(id, List.of(-1, -1));
+
+        assertThat(outcomes).extracting(StockWriter.Outcome::applied).containsExactly(false, false);
+        verify(productRepository, times(1)).adjustStock(any(), anyInt());
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void shouldFailBatchForMissingProduct() {
+        when(productRepository.adjustStock(id, -1)).thenReturn(Optional.empty());
+        when(productRepository.lockStock(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> stockWriter.adjustAll(id, List.of(-1)))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private boolean isMovement(Object event, int delta) {
+        return event instanceof StockMovedEvent moved
+            && moved.productId().equals(id)
+            && moved.delta() == delta
+            && moved.reason() == StockMovementReason.ADJUSTMENT;
+    }
+}
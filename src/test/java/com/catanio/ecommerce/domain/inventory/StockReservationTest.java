@@ -0,0 +1,38 @@
+package com.catanio.ecommerce.domain.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StockReservationTest {
+
+    @Test
+    void shouldStartActive() {
+        var reservation = StockReservation.create(UUID.randomUUID(), null, 2, Instant.now());
+
+        assertThat(reservation.isActive()).isTrue();
+        assertThat(reservation.getReleasedAt()).isNull();
+    }
+
+    @Test
+    void shouldRejectNonPositiveQuantity() {
+        assertThatThrownBy(() -> StockReservation.create(UUID.randomUUID(), null, 0, Instant.now()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCloseOnlyOnce() {
+        var reservation = StockReservation.create(UUID.randomUUID(), null, 2, Instant.now());
+
+        reservation.confirm();
+
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        assertThat(reservation.getReleasedAt()).isNotNull();
+        assertThatThrownBy(reservation::expire)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Current: CONFIRMED");
+    }
+}
@@ -0,0 +1,60 @@
+package com.catanio.ecommerce.domain.order;
+
+import com.catanio.ecommerce.domain.shared.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Custo de precificar o carrinho de 1 a 99 linhas: totais correntes (Cart.totals) contra a
+// soma item a item que o carrinho fazia antes (legacyTotal).
+// Fora do build normal — roda com: make bench (perfil Maven -Dbenchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CartPricingBenchmark {
+
+    @Param({"1", "10", "50", "99"})
+    int lines;
+
+    Cart cart;
+    List<UUID> products;
+    int cursor;
+
+    @Setup
+    public void setUp() {
+        cart = Cart.create(UUID.randomUUID());
+        products = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            var productId = UUID.randomUUID();
+            products.add(productId);
+            cart.addOrUpdateItem(productId, "Product " + i, Money.of("19.90"), 1 + i % 5);
+        }
+    }
+
+    @Benchmark
+    public CartTotals totals() {
+        return cart.totals();
+    }
+
+    @Benchmark
+    public Money legacyTotal() {
+        return cart.getItems().stream()
+                .map(CartItem::subtotal)
+                .reduce(Money.zero(), Money::add);
+    }
+
+    // altera a quantidade de uma linha existente e lê o total, como no PUT do carrinho
+    @Benchmark
+    public void updateLineAndPrice(Blackhole blackhole) {
+        var productId = products.get(cursor++ % lines);
+        cart.addOrUpdateItem(productId, "Product", Money.of("19.90"), 1 + cursor % 5);
+        blackhole.consume(cart.totals());
+    }
+}
@@ -0,0 +1,85 @@
+package com.catanio.ecommerce.domain.order;
+
+import com.catanio.ecommerce.domain.shared.Money;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CartTest {
+
+    final UUID mouse = UUID.randomUUID();
+    final UUID keyboard = UUID.randomUUID();
+
+    @Test
+    void shouldKeepRunningTotalsAcrossChanges() {
+        var cart = Cart.create(UUID.randomUUID());
+
+        cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 2);
+        cart.addOrUpdateItem(keyboard, "Keyboard", Money.of("199.90"), 1);
+        assertThat(cart.totals()).isEqualTo(new CartTotals(2, 3, Money.of("399.70")));
+
+        cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 1);
+        assertThat(cart.totals()).isEqualTo(new CartTotals(2, 2, Money.of("299.80")));
+
+        cart.removeItem(keyboard);
+        assertThat(cart.totals()).isEqualTo(new CartTotals(1, 1, Money.of("99.90")));
+        assertThat(cart.calculateTotal()).isEqualTo(Money.of("99.90"));
+    }
+
+    @Test
+    void shouldUpdateQuantityOfExistingLineInsteadOfAddingAnother() {
+        var cart = Cart.create(UUID.randomUUID());
+
+        cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 2);
+        cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 5);
+
+        assertThat(cart.getItems()).singleElement()
+            .extracting(CartItem::getQuantity).isEqualTo(5);
+    }
+
+    @Test
+    void shouldIgnoreRemovalOfProductNotInCart() {
+        var cart = Cart.create(UUID.randomUUID());
+        cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 2);
+
+        cart.removeItem(keyboard);
+
+        assertThat(cart.totals()).isEqualTo(new CartTotals(1, 2, Money.of("199.80")));
+    }
+
+    @Test
+    void shouldRepriceLineAndAdjustTotal() {
+        var cart = Cart.create(UUID.randomUUID());
+        cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 2);
+        cart.addOrUpdateItem(keyboard, "Keyboard", Money.of("199.90"), 1);
+
+        assertThat(cart.reprice(mouse, Money.of("79.90"))).isTrue();
+        assertThat(cart.reprice(mouse, Money.of("79.90"))).isFalse();
+        assertThat(cart.reprice(UUID.randomUUID(), Money.of("1.00"))).isFalse();
+
+        assertThat(cart.totals()).isEqualTo(new CartTotals(2, 3, Money.of("359.70")));
+    }
+
+    @Test
+    void shouldResetTotalsOnClear() {
+        var cart = Cart.create(UUID.randomUUID());
+        cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 2);
+
+        cart.clear();
+
+        assertThat(cart.isEmpty()).isTrue();
+        assertThat(cart.totals()).isEqualTo(CartTotals.empty());
+    }
+
+    @Test
+    void shouldRejectQuantityOutOfRangeWithoutTouchingTotals() {
+        var cart = Cart.create(UUID.randomUUID());
+        cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 2);
+
+        assertThatThrownBy(() -> cart.addOrUpdateItem(mouse, "Mouse", Money.of("99.90"), 100))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(cart.totals().total()).isEqualTo(Money.of("199.80"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.catanio.ecommerce.domain.order;
 
 import com.catanio.ecommerce.domain.order.events.OrderCreatedEvent;
+import com.catanio.ecommerce.domain.order.events.OrderPaidEvent;
 import com.catanio.ecommerce.domain.shared.Money;
 import org.junit.jupiter.api.Test;
 
@@ -19,6 +20,20 @@ class OrderTest {
         assertThat(order.calculateTotal()).isEqualTo(Money.of("3199.79"));
     }
 
+    @Test
+    void shouldKeepTotalAndUnitCountAsItemsAreAdded() {
+        var order = Order.create(UUID.randomUUID());
+        assertThat(order.calculateTotal()).isEqualTo(Money.zero());
+
+        order.addItem(UUID.randomUUID(), "Notebook", Money.of("2999.99"), 1);
+        order.addItem(UUID.randomUUID(), "Mouse", Money.of("99.90"), 2);
+
+        assertThat(order.getItemCount()).isEqualTo(3);
+        assertThat(order.calculateTotal()).isEqualTo(order.getItems().stream()
+                .map(OrderItem::subtotal)
+                .reduce(Money.zero(), Money::add));
+    }
+
     @Test
     void shouldStartWithPendingStatus() {
         var order = Order.create(UUID.randomUUID());
@@ -52,9 +67,11 @@ class OrderTest {
         var order = Order.create(UUID.randomUUID());
         order.addItem(UUID.randomUUID(), "Notebook", Money.of("100.00"), 1);
         order.confirm();
+        order.pullDomainEvents();
         order.markAsPaid();
 
         assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(order.pullDomainEvents()).singleElement().isInstanceOf(OrderPaidEvent.class);
     }
 
     @Test
@@ -0,0 +1,106 @@
+package com.catanio.ecommerce.domain.shared;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+// Money em centavos contra o record BigDecimal anterior (LegacyMoney, copiado abaixo), no padrão de
+// uso do carrinho/pedido: soma de preço × quantidade por linha. Alocação por operação: rodar com -prof gc
+// (make bench BENCH="MoneyBenchmark -prof gc").
+// Fora do build normal — roda com: make bench (perfil Maven -Dbenchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    @Param({"1", "10", "99"})
+    int lines;
+
+    Money[] prices;
+    LegacyMoney[] legacyPrices;
+    BigDecimal[] columns;
+    int[] quantities;
+
+    @Setup
+    public void setUp() {
+        prices = new Money[lines];
+        legacyPrices = new LegacyMoney[lines];
+        columns = new BigDecimal[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            var amount = new BigDecimal("19.90").add(BigDecimal.valueOf(i, 2));
+            prices[i] = Money.of(amount);
+            legacyPrices[i] = new LegacyMoney(amount);
+            columns[i] = amount.setScale(2, RoundingMode.UNNECESSARY);
+            quantities[i] = 1 + i % 5;
+        }
+    }
+
+    @Benchmark
+    public Money total() {
+        var total = Money.zero();
+        for (int i = 0; i < lines; i++) {
+            total = total.add(prices[i].multiply(quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public LegacyMoney legacyTotal() {
+        var total = LegacyMoney.zero();
+        for (int i = 0; i < lines; i++) {
+            total = total.add(legacyPrices[i].multiply(quantities[i]));
+        }
+        return total;
+    }
+
+    // borda de persistência: coluna NUMERIC(19,2) → Money, como em Product.getPrice
+    @Benchmark
+    public long fromColumn() {
+        long sum = 0;
+        for (int i = 0; i < lines; i++) {
+            sum += Money.of(columns[i]).cents();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int legacyFromColumn() {
+        int sum = 0;
+        for (int i = 0; i < lines; i++) {
+            sum += new LegacyMoney(columns[i]).amount().scale();
+        }
+        return sum;
+    }
+
+    // implementação anterior do Money, só para comparação
+    public record LegacyMoney(BigDecimal amount) {
+
+        public LegacyMoney {
+            if (amount == null) {
+                throw new IllegalArgumentException("Amount cannot be null");
+            }
+            if (amount.compareTo(BigDecimal.ZERO) < 0) {
+                throw new IllegalArgumentException("Amount cannot be negative: " + amount);
+            }
+            amount = amount.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        static LegacyMoney zero() {
+            return new LegacyMoney(BigDecimal.ZERO);
+        }
+
+        LegacyMoney add(LegacyMoney other) {
+            return new LegacyMoney(this.amount.add(other.amount));
+        }
+
+        LegacyMoney multiply(int quantity) {
+            return new LegacyMoney(this.amount.multiply(BigDecimal.valueOf(quantity)));
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.catanio.ecommerce.domain.shared;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+
 import static org.assertj.core.api.Assertions.*;
 
 class MoneyTest {
@@ -38,4 +41,46 @@ class MoneyTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("null");
     }
+
+    @Test
+    void shouldRoundHalfUpToCents() {
+        assertThat(Money.of("10.995").cents()).isEqualTo(1100);
+        assertThat(Money.of("10.994").cents()).isEqualTo(1099);
+        assertThat(Money.of("10.995").amount()).isEqualTo(new BigDecimal("11.00"));
+    }
+
+    @Test
+    void shouldBeEqualRegardlessOfInputScale() {
+        assertThat(Money.of("10")).isEqualTo(Money.of("10.00")).hasSameHashCodeAs(Money.of("10.000"));
+        assertThat(Money.of("10.01").isGreaterThan(Money.of("10"))).isTrue();
+        assertThat(Money.of("0.00")).isSameAs(Money.zero());
+    }
+
+    @Test
+    void shouldRejectNegativeResultOfMultiplication() {
+        assertThatThrownBy(() -> Money.of("1.00").multiply(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("negative");
+    }
+
+    @Test
+    void shouldFailInsteadOfOverflowing() {
+        var huge = Money.ofCents(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> huge.add(Money.ofCents(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> huge.multiply(2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of("99999999999999999999.99"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("out of range");
+    }
+
+    @Test
+    void shouldKeepJsonShapeOfAmount() throws Exception {
+        var mapper = new ObjectMapper();
+
+        var json = mapper.writeValueAsString(Money.of("379.7"));
+
+        assertThat(json).isEqualTo("{\"amount\":379.70}");
+        assertThat(mapper.readValue(json, Money.class)).isEqualTo(Money.of("379.70"));
+    }
 }
@@ -0,0 +1,182 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.order.CartItem;
+import com.catanio.ecommerce.domain.order.CartTotals;
+import com.catanio.ecommerce.domain.shared.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CartRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    CartRepository cartRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    UUID alice;
+    UUID bob;
+    UUID mouse = UUID.randomUUID();
+    UUID keyboard = UUID.randomUUID();
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @BeforeEach
+    void setUp() {
+        alice = user("alice@example.com");
+        bob = user("bob@example.com");
+    }
+
+    @Test
+    void shouldInsertCartsWithItemsAndRebuildThem() {
+        cartRepository.writeAll(List.of(
+            cart(alice, item(mouse, "Mouse", "99.90", 2), item(keyboard, "Keyboard", "199.90", 1)),
+            cart(bob)
+        ));
+        entityManager.clear();
+
+        var rebuilt = cartRepository.findByUserIdWithItems(alice).orElseThrow();
+
+        assertThat(rebuilt.getExpiresAt()).isEqualTo(now.plus(7, ChronoUnit.DAYS));
+        assertThat(rebuilt.totals()).isEqualTo(new CartTotals(2, 3, Money.of("399.70")));
+        assertThat(rebuilt.getItems()).extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactlyInAnyOrder(tuple(mouse, 2), tuple(keyboard, 1));
+        assertThat(cartRepository.findByUserIdWithItems(bob).orElseThrow().getItems()).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceItemsOfExistingCart() {
+        cartRepository.writeAll(List.of(cart(alice, item(mouse, "Mouse", "99.90", 2), item(keyboard, "Keyboard", "199.90", 1))));
+        cartRepository.writeAll(List.of(cart(alice, item(mouse, "Mouse", "99.90", 5))));
+        entityManager.clear();
+
+        var rebuilt = cartRepository.findByUserIdWithItems(alice).orElseThrow();
+
+        assertThat(rebuilt.getItems()).extracting(CartItem::getProductId, CartItem::getQuantity)
+            .containsExactly(tuple(mouse, 5));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM carts WHERE user_id = ?", Long.class, alice))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectCartOfUnknownUser() {
+        assertThatThrownBy(() -> cartRepository.writeAll(List.of(cart(UUID.randomUUID()))))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldPurgeExpiredCartsWithTheirItemsInChunks() {
+        var carol = user("carol@example.com");
+        cartRepository.writeAll(List.of(
+            expiredCart(alice, item(mouse, "Mouse", "99.90", 2), item(keyboard, "Keyboard", "199.90", 1)),
+            expiredCart(bob, item(mouse, "Mouse", "99.90", 1)),
+            cart(carol, item(keyboard, "Keyboard", "199.90", 3))
+        ));
+
+        var result = cartRepository.purgeExpired(now, 1, Duration.ZERO);
+
+        assertThat(result).isEqualTo(new CartPurgeResult(true, 2, 3));
+        assertThat(jdbcTemplate.queryForList("SELECT user_id FROM carts", UUID.class)).containsExactly(carol);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM cart_items", Long.class)).isEqualTo(1);
+        assertThat(cartRepository.oldestExpiration()).contains(now.plus(7, ChronoUnit.DAYS));
+    }
+
+    @Test
+    void shouldSkipPurgeWhileAnotherInstanceHoldsTheLock() throws Exception {
+        cartRepository.writeAll(List.of(expiredCart(alice)));
+
+        try (var other = dataSource.getConnection(); var statement = other.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(hashtext('cart_purge'))");
+            try {
+                assertThat(cartRepository.purgeExpired(now, 100, Duration.ZERO)).isEqualTo(CartPurgeResult.skipped());
+            } finally {
+                statement.execute("SELECT pg_advisory_unlock(hashtext('cart_purge'))");
+            }
+        }
+
+        assertThat(cartRepository.oldestExpiration()).contains(now.minus(1, ChronoUnit.DAYS));
+        assertThat(cartRepository.purgeExpired(now, 100, Duration.ZERO).carts()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRepriceLinesOfOpenCartsOnly() {
+        cartRepository.writeAll(List.of(
+            cart(alice, item(mouse, "Mouse", "99.90", 2), item(keyboard, "Keyboard", "199.90", 1)),
+            expiredCart(bob, item(mouse, "Mouse", "99.90", 1))
+        ));
+
+        int lines = cartRepository.repriceItems(Map.of(mouse, new BigDecimal("89.90")));
+
+        assertThat(lines).isEqualTo(1);
+        assertThat(cartRepository.repriceItems(Map.of(mouse, new BigDecimal("89.90")))).isZero();
+        entityManager.clear();
+        assertThat(cartRepository.findByUserIdWithItems(alice).orElseThrow().totals())
+            .isEqualTo(new CartTotals(2, 3, Money.of("379.70")));
+        assertThat(jdbcTemplate.queryForObject("""
+            SELECT ci.unit_price FROM cart_items ci JOIN carts c ON c.id = ci.cart_id WHERE c.user_id = ?
+            """, BigDecimal.class, bob)).isEqualByComparingTo("99.90");
+    }
+
+    private CartSnapshot expiredCart(UUID userId, CartSnapshot.Item... items) {
+        return new CartSnapshot(userId, now.minus(8, ChronoUnit.DAYS), now.minus(1, ChronoUnit.DAYS), List.of(items), CartTotals.empty());
+    }
+
+    private CartSnapshot cart(UUID userId, CartSnapshot.Item... items) {
+        return new CartSnapshot(userId, now, now.plus(7, ChronoUnit.DAYS), List.of(items), CartTotals.empty());
+    }
+
+    private static CartSnapshot.Item item(UUID productId, String name, String price, int quantity) {
+        return new CartSnapshot.Item(productId, name, new BigDecimal(price), quantity);
+    }
+
+    private UUID user(String email) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO users (email, first_name, last_name, password_hash)
+            VALUES (?, 'Test', 'User', 'x')
+            RETURNING id
+            """, UUID.class, email);
+    }
+}
@@ -0,0 +1,281 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.catalog.CatalogEntry;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.catalog.Product;
+import com.catanio.ecommerce.domain.shared.Money;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.catanio.ecommerce.infrastructure.persistence.CatalogViewSpecifications.*;
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CatalogViewRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    CatalogViewRepository catalogViewRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Category electronics;
+    Category books;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        electronics = categoryRepository.save(Category.create("Electronics", null));
+        books = categoryRepository.save(Category.create("Books", null));
+    }
+
+    @Test
+    void shouldProjectActiveProductWithCategoryName() {
+        var product = publish(Product.create("Notebook", "Long description", Money.of("2999.99"), 0, electronics));
+
+        var entry = catalogViewRepository.findSlice(unrestricted(), PageRequest.of(0, 10)).getContent().getFirst();
+
+        assertThat(entry.getId()).isEqualTo(product.getId());
+        assertThat(entry.getName()).isEqualTo("Notebook");
+        assertThat(entry.getPrice()).isEqualByComparingTo("2999.99");
+        assertThat(entry.getCategoryId()).isEqualTo(electronics.getId());
+        assertThat(entry.getCategoryName()).isEqualTo("Electronics");
+        assertThat(entry.isAvailable()).isFalse();
+    }
+
+    @Test
+    void shouldUpdateRowWhenProductChanges() {
+        var product = publish(Product.create("Notebook", null, Money.of("2999.99"), 0, electronics));
+
+        product.adjustStock(5);
+        product.updateDetails("Notebook Pro", null, Money.of("3999.99"));
+        productRepository.save(product);
+        catalogViewRepository.upsertProduct(product.getId());
+        entityManager.clear();
+
+        var entry = catalogViewRepository.findSlice(unrestricted(), PageRequest.of(0, 10)).getContent().getFirst();
+
+        assertThat(entry.getName()).isEqualTo("Notebook Pro");
+        assertThat(entry.getStockQuantity()).isEqualTo(5);
+        assertThat(entry.isAvailable()).isTrue();
+    }
+
+    @Test
+    void shouldRemoveRowWhenProductIsSoftDeleted() {
+        var product = publish(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+        publish(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
+
+        product.softDelete();
+        productRepository.save(product);
+        catalogViewRepository.upsertProduct(product.getId());
+        int removed = catalogViewRepository.deleteIfInactive(product.getId());
+
+        assertThat(removed).isEqualTo(1);
+        assertThat(catalogViewRepository.findSlice(unrestricted(), PageRequest.of(0, 10)).getContent())
+            .extracting("name").containsExactly("Mouse");
+    }
+
+    @Test
+    void shouldRefreshCategoryNameOnlyForItsRows() {
+        publish(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+        publish(Product.create("Clean Code", null, Money.of("89.90"), 15, books));
+
+        electronics.update("Computers", null);
+        categoryRepository.save(electronics);
+        int rows = catalogViewRepository.refreshCategory(electronics.getId());
+        entityManager.clear();
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(catalogViewRepository.findSlice(unrestricted(), PageRequest.of(0, 10, Sort.by("name"))).getContent())
+            .extracting("categoryName").containsExactly("Books", "Computers");
+    }
+
+    @Test
+    void shouldFindByCategoryId() {
+        publish(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+        publish(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
+        publish(Product.create("Clean Code", null, Money.of("89.90"), 15, books));
+
+        var page = catalogViewRepository.findSlice(inCategory(electronics.getId()), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting("name")
+            .containsExactlyInAnyOrder("Notebook", "Mouse");
+    }
+
+    @Test
+    void shouldFindByNameContaining() {
+        publish(Product.create("Notebook Pro", null, Money.of("3999.99"), 5, electronics));
+        publish(Product.create("Notebook Air", null, Money.of("2999.99"), 5, electronics));
+        publish(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
+
+        var page = catalogViewRepository.findSlice(nameContains("notebook"), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(2);
+    }
+
+    @Test
+    void shouldFindByPriceRange() {
+        publish(Product.create("Budget Mouse", null, Money.of("49.90"), 30, electronics));
+        publish(Product.create("Mid Mouse", null, Money.of("149.90"), 20, electronics));
+        publish(Product.create("Pro Mouse", null, Money.of("499.90"), 10, electronics));
+
+        var page = catalogViewRepository.findSlice(
+            priceAtLeast(new BigDecimal("50.00")).and(priceAtMost(new BigDecimal("200.00"))),
+            PageRequest.of(0, 10)
+        );
+
+        assertThat(page.getContent()).extracting("name").containsExactly("Mid Mouse");
+    }
+
+    @Test
+    void shouldCombineNameCategoryAndSingleBoundPriceFilters() {
+        publish(Product.create("Notebook Pro", null, Money.of("3999.99"), 5, electronics));
+        publish(Product.create("Notebook Air", null, Money.of("2999.99"), 5, electronics));
+        publish(Product.create("Notebook Sketch", null, Money.of("39.90"), 5, books));
+
+        var spec = inCategory(electronics.getId())
+            .and(nameContains("notebook"))
+            .and(priceAtLeast(new BigDecimal("3000.00")));
+        var page = catalogViewRepository.findSlice(spec, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting("name").containsExactly("Notebook Pro");
+    }
+
+    @Test
+    void shouldReturnPageSortedByPrice() {
+        publish(Product.create("Expensive", null, Money.of("999.00"), 5, electronics));
+        publish(Product.create("Cheap", null, Money.of("49.00"), 5, electronics));
+        publish(Product.create("Mid", null, Money.of("299.00"), 5, electronics));
+
+        var page = catalogViewRepository.findSlice(unrestricted(), PageRequest.of(0, 10, Sort.by("price").ascending()));
+
+        assertThat(page.getContent()).extracting("name")
+            .containsExactly("Cheap", "Mid", "Expensive");
+    }
+
+    @Test
+    void shouldSeekThroughTiedSortKeysWithoutDuplicates() {
+        for (int i = 1; i <= 5; i++) {
+            publish(Product.create("Mouse " + i, null, Money.of("99.90"), 10, electronics));
+        }
+        var sort = Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "id"));
+        var pageable = PageRequest.of(0, 2, sort);
+
+        var seen = new ArrayList<String>();
+        var slice = catalogViewRepository.findSlice(unrestricted(), pageable);
+        seen.addAll(slice.getContent().stream().map(CatalogEntry::getName).toList());
+        while (slice.hasNext()) {
+            var last = slice.getContent().getLast();
+            slice = catalogViewRepository.findSlice(
+                seekAfter("price", Sort.Direction.ASC, last.getPrice(), last.getId()), pageable
+            );
+            seen.addAll(slice.getContent().stream().map(CatalogEntry::getName).toList());
+        }
+
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldNotFetchCountForSlices() {
+        publish(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+        publish(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
+
+        var slice = catalogViewRepository.findSlice(unrestricted(), PageRequest.of(0, 1));
+
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    void shouldRenderListingInSingleStatement() {
+        for (int i = 1; i <= 5; i++) {
+            var category = categoryRepository.save(Category.create("Category " + i, null));
+            publish(Product.create("Product " + i, "Item number " + i, Money.of("100.00"), 10, category));
+        }
+        entityManager.clear();
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // nome da categoria está na própria linha: nenhum SELECT extra por item
+        catalogViewRepository.findSlice(unrestricted(), PageRequest.of(0, 10)).getContent()
+            .forEach(CatalogEntry::getCategoryName);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountCategoryAndPriceBucketsInSingleQuery() {
+        publish(Product.create("Mouse", null, Money.of("49.90"), 10, electronics));
+        publish(Product.create("Keyboard", null, Money.of("149.90"), 10, electronics));
+        publish(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+        publish(Product.create("Clean Code", null, Money.of("89.90"), 10, books));
+        entityManager.flush();
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var rows = catalogViewRepository.countByCategoryAndPriceBucket(
+            unrestricted(), List.of(new BigDecimal("100"), new BigDecimal("1000"))
+        );
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rows).containsExactlyInAnyOrder(
+            new CatalogFacetRow(electronics.getId(), "Electronics", 0, 1),
+            new CatalogFacetRow(electronics.getId(), "Electronics", 1, 1),
+            new CatalogFacetRow(electronics.getId(), "Electronics", 2, 1),
+            new CatalogFacetRow(books.getId(), "Books", 0, 1)
+        );
+        assertThat(catalogViewRepository.countByCategoryAndPriceBucket(nameContains("o"), List.of()))
+            .extracting(CatalogFacetRow::bucket).containsOnly(0);
+    }
+
+    // grava o produto e projeta a linha como o CatalogViewProjector faria no mesmo commit
+    private Product publish(Product product) {
+        var saved = productRepository.save(product);
+        catalogViewRepository.upsertProduct(saved.getId());
+        return saved;
+    }
+
+    private static Specification<CatalogEntry> unrestricted() {
+        return Specification.unrestricted();
+    }
+}
@@ -0,0 +1,136 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.order.Order;
+import com.catanio.ecommerce.domain.order.OrderStatus;
+import com.catanio.ecommerce.domain.shared.Money;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    UUID alice;
+    UUID bob;
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+    @BeforeEach
+    void setUp() {
+        alice = user("alice@example.com");
+        bob = user("bob@example.com");
+    }
+
+    @Test
+    void shouldPersistTotalsSetWhileAddingItems() {
+        var order = Order.create(alice);
+        order.addItem(UUID.randomUUID(), "Mouse", Money.of("99.90"), 2);
+        order.addItem(UUID.randomUUID(), "Keyboard", Money.of("199.90"), 1);
+        orderRepository.save(order);
+        entityManager.flush();
+        entityManager.clear();
+
+        var summary = orderRepository.findHistory(alice, PageRequest.ofSize(10)).getContent().getFirst();
+
+        assertThat(summary.id()).isEqualTo(order.getId());
+        assertThat(summary.status()).isEqualTo(OrderStatus.PENDING);
+        assertThat(summary.totalAmount()).isEqualByComparingTo("399.70");
+        assertThat(summary.itemCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldSeekThroughHistoryNewestFirstAcrossTiedTimestamps() {
+        var placed = new ArrayList<UUID>();
+        for (int i = 0; i < 5; i++) {
+            placed.add(order(alice, now.minus(i / 2, ChronoUnit.MINUTES)));
+        }
+        order(bob, now);
+
+        var seen = new ArrayList<OrderSummary>();
+        var slice = orderRepository.findHistory(alice, PageRequest.ofSize(2));
+        seen.addAll(slice.getContent());
+        while (slice.hasNext()) {
+            var last = slice.getContent().getLast();
+            slice = orderRepository.findHistoryAfter(alice, last.createdAt(), last.id(), PageRequest.ofSize(2));
+            seen.addAll(slice.getContent());
+        }
+
+        assertThat(seen).extracting(OrderSummary::id).containsExactlyInAnyOrderElementsOf(placed);
+        assertThat(seen).extracting(OrderSummary::createdAt).isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @Test
+    void shouldReadHistoryPageWithoutLoadingItems() {
+        for (int i = 0; i < 3; i++) {
+            order(alice, now.minus(i, ChronoUnit.MINUTES));
+        }
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var page = orderRepository.findHistory(alice, PageRequest.ofSize(10)).getContent();
+
+        assertThat(page).hasSize(3).allSatisfy(summary -> assertThat(summary.itemCount()).isEqualTo(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private UUID order(UUID userId, Instant createdAt) {
+        var order = Order.create(userId);
+        order.addItem(UUID.randomUUID(), "Mouse", Money.of("99.90"), 2);
+        orderRepository.save(order);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", Timestamp.from(createdAt), order.getId());
+        entityManager.clear();
+        return order.getId();
+    }
+
+    private UUID user(String email) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO users (email, first_name, last_name, password_hash)
+            VALUES (?, 'Test', 'User', 'x')
+            RETURNING id
+            """, UUID.class, email);
+    }
+}
@@ -0,0 +1,141 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.outbox.OutboxMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+// linhas commitadas de verdade: SKIP LOCKED e NOTIFY só enxergam o que outra conexão vê
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    OutboxRepository outboxRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    UUID orderId = UUID.randomUUID();
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM outbox");
+    }
+
+    @Test
+    void shouldClaimOldestMessagesAndRemoveThem() {
+        append(message("{\"n\": 1}"), message("{\"n\": 2}"), message("{\"n\": 3}"));
+
+        var claimed = transactionTemplate.execute(status -> outboxRepository.claimBatch(2));
+
+        assertThat(claimed).extracting(OutboxMessage::getPayload)
+            .containsExactlyInAnyOrder("{\"n\": 1}", "{\"n\": 2}");
+        assertThat(claimed).allSatisfy(message -> {
+            assertThat(message.getAggregateId()).isEqualTo(orderId);
+            assertThat(message.getEventType()).isEqualTo("OrderCreatedEvent");
+            assertThat(message.getCreatedAt()).isNotNull();
+        });
+        assertThat(outboxRepository.findAll()).extracting(OutboxMessage::getPayload).containsExactly("{\"n\": 3}");
+    }
+
+    @Test
+    void shouldKeepMessagesWhenDeliveryRollsBack() {
+        append(message("{\"n\": 1}"));
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.claimBatch(10);
+            throw new IllegalStateException("sink down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(outboxRepository.count()).isEqualTo(1);
+        assertThat(outboxRepository.oldestCreatedAt()).isPresent();
+    }
+
+    @Test
+    void shouldSkipMessagesClaimedByAnotherRelay() throws Exception {
+        append(message("{\"n\": 1}"), message("{\"n\": 2}"));
+        long first = jdbcTemplate.queryForObject("SELECT min(id) FROM outbox", Long.class);
+
+        try (var other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (var statement = other.createStatement()) {
+                statement.execute("SELECT id FROM outbox WHERE id = " + first + " FOR UPDATE");
+            }
+
+            var claimed = transactionTemplate.execute(status -> outboxRepository.claimBatch(10));
+
+            assertThat(claimed).extracting(OutboxMessage::getPayload).containsExactly("{\"n\": 2}");
+            other.rollback();
+        }
+        assertThat(outboxRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotifyListenersOnceInsertCommits() throws Exception {
+        try (var listener = dataSource.getConnection()) {
+            try (var statement = listener.createStatement()) {
+                statement.execute("LISTEN outbox");
+            }
+            var pg = listener.unwrap(PGConnection.class);
+
+            append(message("{\"n\": 1}"), message("{\"n\": 2}"));
+
+            var notifications = pg.getNotifications(5000);
+            assertThat(notifications).hasSize(1);
+            assertThat(notifications[0].getName()).isEqualTo("outbox");
+            try (var statement = listener.createStatement()) {
+                statement.execute("UNLISTEN outbox");
+            }
+        }
+    }
+
+    private void append(NewOutboxMessage... messages) {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.append(List.of(messages)));
+    }
+
+    private NewOutboxMessage message(String payload) {
+        return new NewOutboxMessage("Order", orderId, "OrderCreatedEvent", payload);
+    }
+}
@@ -3,13 +3,16 @@ package com.catanio.ecommerce.infrastructure.persistence;
 import com.catanio.ecommerce.domain.catalog.Category;
 import com.catanio.ecommerce.domain.catalog.Product;
 import com.catanio.ecommerce.domain.shared.Money;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -17,10 +20,13 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Testcontainers
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class ProductRepositoryTest {
@@ -44,6 +50,9 @@ class ProductRepositoryTest {
     @Autowired
     CategoryRepository categoryRepository;
 
+    @Autowired
+    EntityManager entityManager;
+
     Category electronics;
     Category books;
 
@@ -80,90 +89,113 @@ class ProductRepositoryTest {
     }
 
     @Test
-    void shouldFindAllActiveWithPagination() {
-        productRepository.save(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
-        productRepository.save(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
-
-        var deletedProduct = Product.create("Deleted", null, Money.of("100.00"), 5, electronics);
-        deletedProduct.softDelete();
-        productRepository.save(deletedProduct);
+    void shouldReadVersionWithoutLoadingProduct() {
+        var product = productRepository.saveAndFlush(
+            Product.create("Notebook", null, Money.of("2999.99"), 10, electronics)
+        );
+        var deleted = Product.create("OldPhone", null, Money.of("500.00"), 5, electronics);
+        deleted.softDelete();
+        productRepository.saveAndFlush(deleted);
 
-        var pageable = PageRequest.of(0, 10);
-        var page = productRepository.findAllActive(pageable);
+        var version = productRepository.findActiveVersion(product.getId());
 
-        assertThat(page.getTotalElements()).isEqualTo(2);
-        assertThat(page.getContent()).extracting("name")
-            .containsExactlyInAnyOrder("Notebook", "Mouse");
+        assertThat(version).isPresent();
+        assertThat(version.get().categoryUpdatedAt()).isNotNull();
+        assertThat(productRepository.findActiveVersion(deleted.getId())).isEmpty();
     }
 
     @Test
-    void shouldFindByCategoryId() {
-        productRepository.save(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
-        productRepository.save(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
-        productRepository.save(Product.create("Clean Code", null, Money.of("89.90"), 15, books));
+    void shouldRankNameMatchesAboveDescriptionMatches() {
+        productRepository.save(Product.create("Bag", "Backpack that fits a notebook", Money.of("199.90"), 5, electronics));
+        productRepository.save(Product.create("Notebook Pro", null, Money.of("3999.99"), 5, electronics));
+        var deleted = Product.create("Notebook Old", null, Money.of("999.99"), 5, electronics);
+        deleted.softDelete();
+        productRepository.save(deleted);
+        productRepository.flush();
 
-        var pageable = PageRequest.of(0, 10);
-        var page = productRepository.findByCategoryId(electronics.getId(), pageable);
+        var slice = productRepository.searchActive("notebook", "%notebook%", PageRequest.of(0, 10));
 
-        assertThat(page.getTotalElements()).isEqualTo(2);
-        assertThat(page.getContent()).extracting("name")
-            .containsExactlyInAnyOrder("Notebook", "Mouse");
+        assertThat(slice.getContent()).extracting("name")
+            .containsExactly("Notebook Pro", "Bag");
     }
 
     @Test
-    void shouldFindByNameContaining() {
+    void shouldSearchBySubstringWhenNoWholeWordMatches() {
         productRepository.save(Product.create("Notebook Pro", null, Money.of("3999.99"), 5, electronics));
-        productRepository.save(Product.create("Notebook Air", null, Money.of("2999.99"), 5, electronics));
         productRepository.save(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
+        productRepository.flush();
 
-        var pageable = PageRequest.of(0, 10);
-        var page = productRepository.findByNameContaining("notebook", pageable);
+        var slice = productRepository.searchActive("noteb", "%noteb%", PageRequest.of(0, 10));
 
-        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(slice.getContent()).extracting("name").containsExactly("Notebook Pro");
     }
 
     @Test
-    void shouldFindByPriceRange() {
-        productRepository.save(Product.create("Budget Mouse", null, Money.of("49.90"), 30, electronics));
-        productRepository.save(Product.create("Mid Mouse", null, Money.of("149.90"), 20, electronics));
-        productRepository.save(Product.create("Pro Mouse", null, Money.of("499.90"), 10, electronics));
-
-        var pageable = PageRequest.of(0, 10);
-        var page = productRepository.findByPriceRange(
-            new BigDecimal("50.00"),
-            new BigDecimal("200.00"),
-            pageable
-        );
+    void shouldCountActiveByCategoryId() {
+        productRepository.save(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+        productRepository.save(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
+
+        var deleted = Product.create("Deleted", null, Money.of("100.00"), 5, electronics);
+        deleted.softDelete();
+        productRepository.save(deleted);
+
+        long count = productRepository.countActiveByCategoryId(electronics.getId());
 
-        assertThat(page.getTotalElements()).isEqualTo(1);
-        assertThat(page.getContent().getFirst().getName()).isEqualTo("Mid Mouse");
+        assertThat(count).isEqualTo(2);
     }
 
     @Test
-    void shouldReturnPageSortedByPrice() {
-        productRepository.save(Product.create("Expensive", null, Money.of("999.00"), 5, electronics));
-        productRepository.save(Product.create("Cheap", null, Money.of("49.00"), 5, electronics));
-        productRepository.save(Product.create("Mid", null, Money.of("299.00"), 5, electronics));
+    void shouldMaintainCategoryCountersOnInsertMoveAndSoftDelete() {
+        var notebook = productRepository.save(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+        productRepository.save(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
+        productRepository.save(Product.create("Clean Code", null, Money.of("89.90"), 15, books));
+        productRepository.flush();
+
+        assertThat(productRepository.countActiveFromCountersByCategoryId(electronics.getId())).isEqualTo(2);
+        assertThat(productRepository.countActiveFromCounters()).isEqualTo(3);
 
-        var pageable = PageRequest.of(0, 10, Sort.by("price").ascending());
-        var page = productRepository.findAllActive(pageable);
+        notebook.softDelete();
+        productRepository.saveAndFlush(notebook);
 
-        assertThat(page.getContent()).extracting("name")
-            .containsExactly("Cheap", "Mid", "Expensive");
+        assertThat(productRepository.countActiveFromCountersByCategoryId(electronics.getId())).isEqualTo(1);
+        assertThat(productRepository.countActiveFromCounters()).isEqualTo(2);
     }
 
     @Test
-    void shouldCountActiveByCategoryId() {
-        productRepository.save(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
-        productRepository.save(Product.create("Mouse", null, Money.of("99.90"), 20, electronics));
+    void shouldLoadSearchCategoriesInOneBatch() {
+        var price = Money.of("100.00");
+        for (int i = 1; i <= 5; i++) {
+            var category = categoryRepository.save(Category.create("Category " + i, null));
+            productRepository.save(Product.create("Product " + i, "Item number " + i, price, 10, category));
+        }
+
+        // busca nativa: resultado + 1 IN (...) para todas as categorias
+        assertThat(statementsToRender(() -> productRepository.searchActive("product", "%product%", PageRequest.of(0, 10)))).isEqualTo(2);
+    }
 
-        var deleted = Product.create("Deleted", null, Money.of("100.00"), 5, electronics);
+    @Test
+    void shouldStreamActiveProductsWithoutManagingEntities() {
+        productRepository.save(Product.create("Notebook", "15 inch", Money.of("2999.99"), 10, electronics));
+        productRepository.save(Product.create("Clean Code", null, Money.of("89.90"), 0, books));
+        var deleted = Product.create("OldPhone", null, Money.of("500.00"), 5, electronics);
         deleted.softDelete();
         productRepository.save(deleted);
-
-        long count = productRepository.countActiveByCategoryId(electronics.getId());
-
-        assertThat(count).isEqualTo(2);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ProductExportRow> rows;
+        try (var stream = productRepository.streamActiveForExport()) {
+            rows = stream.toList();
+        }
+
+        assertThat(rows).extracting(ProductExportRow::name).containsExactlyInAnyOrder("Notebook", "Clean Code");
+        assertThat(rows).filteredOn(row -> row.name().equals("Clean Code"))
+            .singleElement().satisfies(row -> {
+                assertThat(row.available()).isFalse();
+                assertThat(row.categoryName()).isEqualTo("Books");
+            });
+        // projeção: nada ficou no contexto de persistência
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
     }
 
     @Test
@@ -174,4 +206,69 @@ class ProductRepositoryTest {
         assertThat(productRepository.existsByNameIgnoreCaseAndCategoryId("notebook", electronics.getId())).isTrue();
         assertThat(productRepository.existsByNameIgnoreCaseAndCategoryId("Notebook", books.getId())).isFalse();
     }
+
+    @Test
+    void shouldListLowStockUsingCategoryOverrideOrGlobalThreshold() {
+        books.changeLowStockThreshold(30);
+        categoryRepository.save(books);
+        productRepository.save(Product.create("Notebook", null, Money.of("2999.99"), 3, electronics));
+        productRepository.save(Product.create("Mouse", null, Money.of("99.90"), 12, electronics));
+        productRepository.save(Product.create("Clean Code", null, Money.of("89.90"), 25, books));
+        productRepository.save(Product.create("Refactoring", null, Money.of("99.90"), 30, books));
+        var removed = Product.create("Old Keyboard", null, Money.of("49.90"), 1, electronics);
+        removed.softDelete();
+        productRepository.save(removed);
+
+        var all = productRepository.findLowStock(10, PageRequest.of(0, 10));
+        var inBooks = productRepository.findLowStockInCategory(books.getId(), 10, PageRequest.of(0, 10));
+
+        // global 10 para Electronics, override 30 para Books; menor estoque primeiro
+        assertThat(all.getContent()).extracting(LowStockRow::name, LowStockRow::threshold)
+            .containsExactly(tuple("Notebook", 10), tuple("Clean Code", 30));
+        assertThat(inBooks.getContent()).extracting(LowStockRow::name).containsExactly("Clean Code");
+    }
+
+    @Test
+    void shouldReadLowStockRuleOfProductCategory() {
+        electronics.changeLowStockThreshold(5);
+        categoryRepository.save(electronics);
+        var notebook = productRepository.save(Product.create("Notebook", null, Money.of("2999.99"), 3, electronics));
+        var book = productRepository.save(Product.create("Clean Code", null, Money.of("89.90"), 3, books));
+
+        assertThat(productRepository.findLowStockRule(notebook.getId()))
+            .contains(new LowStockRule(electronics.getId(), 5));
+        assertThat(productRepository.findLowStockRule(book.getId()))
+            .contains(new LowStockRule(books.getId(), null));
+    }
+
+    @Test
+    void shouldReserveOnlyProductsWithEnoughAvailableStock() {
+        var notebook = productRepository.saveAndFlush(Product.create("Notebook", null, Money.of("2999.99"), 10, electronics));
+        var mouse = productRepository.saveAndFlush(Product.create("Mouse", null, Money.of("99.90"), 1, electronics));
+        var deleted = Product.create("OldPhone", null, Money.of("500.00"), 5, electronics);
+        deleted.softDelete();
+        productRepository.saveAndFlush(deleted);
+
+        var rows = productRepository.reserveAll(Map.of(notebook.getId(), 3, mouse.getId(), 2, deleted.getId(), 1));
+
+        assertThat(rows).containsExactly(
+            new ReservedStock(notebook.getId(), "Notebook", new BigDecimal("2999.99"), 7)
+        );
+        entityManager.clear();
+        assertThat(productRepository.findStockLevel(notebook.getId())).contains(new StockLevel(10, 3));
+        assertThat(productRepository.findStockLevel(mouse.getId())).contains(new StockLevel(1, 0));
+    }
+
+    // conta os statements de uma busca até a categoria de cada item estar acessível,
+    // como ProductResponse.from faz na serialização
+    private long statementsToRender(Supplier<Slice<Product>> search) {
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        search.get().getContent().forEach(product -> product.getCategory().getName());
+
+        return statistics.getPrepareStatementCount();
+    }
 }
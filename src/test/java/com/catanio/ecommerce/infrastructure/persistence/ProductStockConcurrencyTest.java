@@ -0,0 +1,225 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.application.catalog.CatalogViewProjector;
+import com.catanio.ecommerce.application.product.StockCoalescingProperties;
+import com.catanio.ecommerce.application.product.StockWriteCoalescer;
+import com.catanio.ecommerce.application.product.StockWriter;
+import com.catanio.ecommerce.domain.catalog.Category;
+import com.catanio.ecommerce.domain.catalog.Product;
+import com.catanio.ecommerce.domain.shared.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Escritores concorrentes de verdade: cada ajuste commita na própria transação,
+// então o teste não roda dentro da transação (com rollback) do @DataJpaTest
+@DataJpaTest
+@Import({StockWriter.class, CatalogViewProjector.class})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockConcurrencyTest {
+
+    static final int WRITERS = 200;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired ProductRepository productRepository;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired CatalogViewRepository catalogViewRepository;
+    @Autowired StockWriter stockWriter;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    Category electronics;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        electronics = categoryRepository.save(Category.create("Electronics", null));
+    }
+
+    // dados commitados: limpa ao final (catalog_view sai junto, ON DELETE CASCADE)
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNotLoseUpdatesUnderParallelWriters() throws Exception {
+        var product = create(1000);
+
+        // metade repõe 3, metade baixa 5: 1000 + 100*3 - 100*5 = 800
+        var results = runWriters(product, i -> i % 2 == 0 ? 3 : -5);
+
+        assertThat(results).allMatch(Optional::isPresent);
+        assertThat(stockOf(product)).isEqualTo(800);
+        // read model atualizado na mesma transação de cada ajuste: termina com o mesmo valor
+        assertThat(catalogViewRepository.findAll(Specification.unrestricted()))
+            .singleElement()
+            .satisfies(entry -> assertThat(entry.getStockQuantity()).isEqualTo(800));
+    }
+
+    @Test
+    void shouldNeverOversellWhenWritersExceedStock() throws Exception {
+        var product = create(50);
+
+        var results = runWriters(product, i -> -1);
+
+        assertThat(results.stream().filter(Optional::isPresent)).hasSize(50);
+        assertThat(results.stream().flatMap(Optional::stream)).doesNotHaveDuplicates().allMatch(stock -> stock >= 0);
+        assertThat(stockOf(product)).isZero();
+    }
+
+    @Test
+    void shouldNeverReserveMoreThanAvailable() throws Exception {
+        var product = create(50);
+        var reserved = new AtomicInteger();
+
+        // reservas e reposições concorrentes na mesma linha: 100 × reservar 1, 100 × repor 1
+        runInParallel(new Runnable() {
+            final AtomicInteger next = new AtomicInteger();
+
+            @Override
+            public void run() {
+                if (next.getAndIncrement() % 2 == 0) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        if (!productRepository.reserveAll(Map.of(product.getId(), 1)).isEmpty()) {
+                            reserved.incrementAndGet();
+                        }
+                    });
+                } else {
+                    transactionTemplate.executeWithoutResult(status -> productRepository.adjustStock(product.getId(), 1));
+                }
+            }
+        });
+
+        var level = productRepository.findStockLevel(product.getId()).orElseThrow();
+        assertThat(level.onHand()).isEqualTo(150);
+        assertThat(level.reserved()).isEqualTo(reserved.get()).isBetween(50, 100);
+        assertThat(level.available()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void shouldCoalesceParallelWritersIntoFewerUpdates() throws Exception {
+        var product = create(50);
+        var meterRegistry = new SimpleMeterRegistry();
+        var coalescer = new StockWriteCoalescer(stockWriter, new StockCoalescingProperties(true, Duration.ofMillis(5), 4, Duration.ofSeconds(5)), meterRegistry);
+
+        var applied = new AtomicInteger();
+        var rejected = new AtomicInteger();
+        try {
+            runInParallel(() -> {
+                try {
+                    coalescer.adjust(product.getId(), -1);
+                    applied.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        } finally {
+            coalescer.shutdown();
+        }
+
+        assertThat(applied).hasValue(50);
+        assertThat(rejected).hasValue(WRITERS - 50);
+        assertThat(stockOf(product)).isZero();
+        assertThat(catalogViewRepository.findAll(Specification.unrestricted()))
+            .singleElement()
+            .satisfies(entry -> assertThat(entry.getStockQuantity()).isZero());
+        assertThat(meterRegistry.counter("catalog.stock.writes").count()).isLessThan(WRITERS);
+    }
+
+    private Product create(int stock) {
+        var product = productRepository.save(Product.create("Notebook", null, Money.of("2999.99"), stock, electronics));
+        transactionTemplate.executeWithoutResult(status -> catalogViewRepository.upsertProduct(product.getId()));
+        return product;
+    }
+
+    // WRITERS threads liberadas ao mesmo tempo, cada uma com o seu ajuste numa transação própria
+    // (o mesmo que ProductService.adjustStock + CatalogViewProjector)
+    private List<Optional<Integer>> runWriters(Product product, IntUnaryOperator delta) throws Exception {
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Optional<Integer>>>();
+        try (var executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (int i = 0; i < WRITERS; i++) {
+                int change = delta.applyAsInt(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status -> {
+                        var newStock = productRepository.adjustStock(product.getId(), change);
+                        newStock.ifPresent(stock -> catalogViewRepository.upsertProduct(product.getId()));
+                        return newStock;
+                    });
+                }));
+            }
+            start.countDown();
+            var results = new ArrayList<Optional<Integer>>();
+            for (var future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        }
+    }
+
+    private void runInParallel(Runnable writer) throws Exception {
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<?>>();
+        try (var executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (int i = 0; i < WRITERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    writer.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private int stockOf(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+    }
+}
@@ -0,0 +1,169 @@
+package com.catanio.ecommerce.infrastructure.persistence;
+
+import com.catanio.ecommerce.domain.inventory.StockMovement;
+import com.catanio.ecommerce.domain.inventory.StockMovementReason;
+import com.catanio.ecommerce.domain.inventory.events.StockMovedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StockMovementRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("ecommerce_test")
+        .withUsername("ecommerce")
+        .withPassword("ecommerce123");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    StockMovementRepository movementRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    UUID productId = UUID.randomUUID();
+    // depois do snapshot de base da migração
+    Instant start = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(60);
+
+    @Test
+    void shouldReconstructStockFromMovements() {
+        movementRepository.insertAll(List.of(
+            movement(10, StockMovementReason.INITIAL, 0),
+            movement(-3, StockMovementReason.ADJUSTMENT, 10),
+            movement(5, StockMovementReason.ADJUSTMENT, 20)
+        ));
+
+        assertThat(movementRepository.stockAt(productId, at(0))).contains(10);
+        assertThat(movementRepository.stockAt(productId, at(15))).contains(7);
+        assertThat(movementRepository.stockAt(productId, at(20))).contains(12);
+        assertThat(movementRepository.stockAt(productId, at(-1))).isEmpty();
+    }
+
+    @Test
+    void shouldStartFromLatestSnapshotBeforeInstant() {
+        movementRepository.insertAll(List.of(
+            movement(10, StockMovementReason.INITIAL, 0),
+            movement(-4, StockMovementReason.ADJUSTMENT, 10)
+        ));
+
+        assertThat(movementRepository.takeSnapshot(at(15))).isEqualTo(1);
+        // movimentos antes do snapshot não são mais somados: trocar o valor do snapshot muda a resposta
+        jdbcTemplate.update("UPDATE stock_snapshots SET stock_quantity = 100 WHERE product_id = ?", productId);
+        movementRepository.insertAll(List.of(movement(-1, StockMovementReason.ADJUSTMENT, 20)));
+
+        assertThat(movementRepository.stockAt(productId, at(12))).contains(6);
+        assertThat(movementRepository.stockAt(productId, at(15))).contains(100);
+        assertThat(movementRepository.stockAt(productId, at(25))).contains(99);
+    }
+
+    @Test
+    void shouldSnapshotOnlyProductsThatMovedSinceLastSnapshot() {
+        var other = UUID.randomUUID();
+        movementRepository.insertAll(List.of(
+            movement(10, StockMovementReason.INITIAL, 0),
+            new StockMovedEvent(other, 3, 3, StockMovementReason.INITIAL, null, at(0))
+        ));
+        movementRepository.takeSnapshot(at(5));
+
+        movementRepository.insertAll(List.of(movement(-2, StockMovementReason.ADJUSTMENT, 10)));
+
+        assertThat(movementRepository.takeSnapshot(at(15))).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT stock_quantity FROM stock_snapshots WHERE product_id = ? ORDER BY taken_at DESC LIMIT 1",
+            Integer.class, productId
+        )).isEqualTo(8);
+        assertThat(movementRepository.stockAt(other, at(15))).contains(3);
+    }
+
+    // cada chamada na sua transação: recorded_at (NOW() da transação) avança entre as gravações
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldCountMovementRecordedAfterSnapshotInTheNextOne() {
+        try {
+            movementRepository.insertAll(List.of(movement(10, StockMovementReason.INITIAL, 0)));
+            movementRepository.takeSnapshot(at(5));
+            // ocorreu antes do snapshot, gravado depois da sua marca
+            movementRepository.insertAll(List.of(movement(-3, StockMovementReason.ADJUSTMENT, 2)));
+
+            assertThat(movementRepository.stockAt(productId, at(5))).contains(7);
+            assertThat(movementRepository.takeSnapshot(at(15))).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM stock_snapshots WHERE product_id = ? ORDER BY taken_at DESC LIMIT 1",
+                Integer.class, productId
+            )).isEqualTo(7);
+            assertThat(movementRepository.stockAt(productId, at(15))).contains(7);
+        } finally {
+            jdbcTemplate.update("DELETE FROM stock_snapshots WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM stock_movements WHERE product_id = ?", productId);
+        }
+    }
+
+    @Test
+    void shouldListHistoryNewestFirst() {
+        var reservationId = UUID.randomUUID();
+        movementRepository.insertAll(List.of(
+            movement(10, StockMovementReason.INITIAL, 0),
+            new StockMovedEvent(productId, -2, 8, StockMovementReason.RESERVATION_CONFIRMED, reservationId, at(10)),
+            movement(4, StockMovementReason.ADJUSTMENT, 20)
+        ));
+
+        var history = movementRepository.findHistory(productId, at(10), PageRequest.of(0, 1));
+
+        assertThat(history.getContent()).extracting(StockMovement::getDelta).containsExactly(-2);
+        assertThat(history.getContent().getFirst().getReference()).isEqualTo(reservationId);
+        assertThat(history.hasNext()).isTrue();
+    }
+
+    @Test
+    void shouldRouteMovementsToMonthlyPartition() {
+        var month = YearMonth.now(ZoneOffset.UTC).plusMonths(6);
+        movementRepository.createMonthlyPartition(month);
+        movementRepository.createMonthlyPartition(month);
+
+        var occurredAt = month.atDay(15).atStartOfDay().toInstant(ZoneOffset.UTC);
+        movementRepository.insertAll(List.of(new StockMovedEvent(productId, 1, 1, StockMovementReason.ADJUSTMENT, null, occurredAt)));
+
+        var partition = jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM stock_movements WHERE product_id = ?", String.class, productId
+        );
+        assertThat(partition).isEqualTo("stock_movements_%d_%02d".formatted(month.getYear(), month.getMonthValue()));
+    }
+
+    private StockMovedEvent movement(int delta, StockMovementReason reason, int second) {
+        // stockAfter não vai para o ledger
+        return new StockMovedEvent(productId, delta, 0, reason, null, at(second));
+    }
+
+    private Instant at(int second) {
+        return start.plusSeconds(second);
+    }
+}